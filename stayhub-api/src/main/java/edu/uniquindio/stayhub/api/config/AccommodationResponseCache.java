@@ -0,0 +1,179 @@
+package edu.uniquindio.stayhub.api.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bounded, time-limited cache of serialized accommodation responses, keyed by accommodation ID and
+ * the ETag of the version they were built from.
+ * <p>
+ * Each entry keeps the JSON bytes of one accommodation, and a gzipped copy when the JSON is at least
+ * {@code app.accommodations.response-cache.gzip-min-bytes} long. A hot read is a version lookup and a
+ * copy of those bytes: no entity load, mapping or serialization. A new version misses and replaces the
+ * entries of older ones, so changes that bypass the accommodation service, like rating updates, are
+ * never served stale; writes through the service also evict the entries. Hit and miss counts are
+ * published as {@code cache.*} metrics with the tag {@code cache=accommodation-responses}.
+ */
+@Component
+public class AccommodationResponseCache {
+
+    private final Cache<Key, SerializedResponse> cache;
+    private final ObjectMapper objectMapper;
+    private final int gzipMinBytes;
+
+    public AccommodationResponseCache(ObjectMapper objectMapper,
+                                      @Value("${app.accommodations.response-cache.ttl:PT10M}") Duration ttl,
+                                      @Value("${app.accommodations.response-cache.max-size:500}") long maxSize,
+                                      @Value("${app.accommodations.response-cache.gzip-min-bytes:512}") int gzipMinBytes,
+                                      MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.gzipMinBytes = gzipMinBytes;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "accommodation-responses");
+    }
+
+    /**
+     * Returns the serialized response of an accommodation, building it on a miss or when the cached
+     * one belongs to another version.
+     *
+     * @param id The ID of the accommodation.
+     * @param etag The ETag of the current version, or null if unknown, in which case nothing is cached.
+     * @param loader Loads the response DTO; may throw if the accommodation does not exist.
+     * @return The serialized response.
+     */
+    public SerializedResponse get(Long id, String etag, Supplier<?> loader) {
+        if (etag == null) {
+            return serialize(loader.get());
+        }
+        Key key = new Key(id, etag);
+        SerializedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        SerializedResponse response = serialize(loader.get());
+        removeVersions(id);
+        cache.put(key, response);
+        return response;
+    }
+
+    /**
+     * Evicts the response of an accommodation. When called inside a transaction, the entry is evicted
+     * again after commit, so a request running concurrently cannot keep the state from before the change.
+     *
+     * @param id The ID of the accommodation.
+     */
+    public void invalidate(Long id) {
+        removeVersions(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeVersions(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the number of cached responses.
+     *
+     * @return The approximate number of entries.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Checks whether an {@code Accept-Encoding} header allows gzip. An explicit {@code gzip} entry
+     * decides on its own; otherwise {@code *} does. Either allows gzip unless it has {@code q=0}.
+     *
+     * @param acceptEncoding The header value, or null.
+     * @return Whether a gzipped body may be sent.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip")) {
+                return !rejected(parts);
+            }
+            if (name.equals("*") && wildcard == null) {
+                wildcard = !rejected(parts);
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    /**
+     * Checks whether the parameters of an {@code Accept-Encoding} entry give it a quality of zero.
+     */
+    private static boolean rejected(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.regionMatches(true, 0, "q=", 0, 2) && param.substring(2).matches("0(\\.0*)?")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void removeVersions(Long id) {
+        // Scans the whole cache, which only holds the few hundred hottest accommodations
+        cache.asMap().keySet().removeIf(key -> key.id().equals(id));
+    }
+
+    private SerializedResponse serialize(Object body) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el alojamiento", e);
+        }
+        return new SerializedResponse(json, json.length >= gzipMinBytes ? gzip(json) : null);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Key(Long id, String etag) {
+    }
+
+    /**
+     * A serialized response.
+     *
+     * @param json The JSON bytes.
+     * @param gzip The gzipped JSON bytes, or null if the JSON is too short to be worth compressing.
+     */
+    public record SerializedResponse(byte[] json, byte[] gzip) {
+    }
+}
@@ -0,0 +1,120 @@
+package edu.uniquindio.stayhub.api.config;
+
+import edu.uniquindio.stayhub.api.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password encoder that runs the hashing of a delegate encoder on a dedicated, bounded executor.
+ * <p>
+ * BCrypt is deliberately slow, so letting every request thread hash at once lets a login storm take
+ * every CPU and starve cheap reads. Here at most {@code threads} hashes run at a time, at most
+ * {@code queueCapacity} wait, and any request beyond that is rejected immediately with a
+ * {@link TooManyRequestsException}. The calling thread still blocks until its hash completes, and keeps
+ * any transaction and database connection it holds while the hash waits in the queue; what is bounded
+ * is the CPU spent hashing and the number of callers waiting. The metrics are:
+ * <ul>
+ * <li>{@code stayhub.password.hashing} times each hash, tagged by operation.</li>
+ * <li>{@code stayhub.password.hashing.queue} reports the queue depth.</li>
+ * <li>{@code stayhub.password.hashing.active} reports the hashes running.</li>
+ * <li>{@code stayhub.password.hashing.rejected} counts the rejections.</li>
+ * </ul>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * Constructs the BoundedPasswordEncoder.
+     *
+     * @param delegate The encoder that performs the hashing.
+     * @param threads The number of hashing threads, or 0 to use half of the available processors.
+     * @param queueCapacity The number of hashes that may wait for a thread before new ones are rejected.
+     * @param meterRegistry The registry where the hashing metrics are published.
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.encodeTimer = Timer.builder("stayhub.password.hashing")
+                .description("Time spent hashing passwords, excluding the time queued")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("stayhub.password.hashing")
+                .description("Time spent hashing passwords, excluding the time queued")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("stayhub.password.hashing.rejected")
+                .description("Password hashes rejected because the hashing queue was full")
+                .register(meterRegistry);
+        Gauge.builder("stayhub.password.hashing.queue", executor, e -> e.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("stayhub.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes currently running")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Stops the hashing threads once the hashes already submitted complete.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Timer timer, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(timer.wrap(task));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new TooManyRequestsException("El servidor está ocupado. Intente de nuevo en unos segundos.");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
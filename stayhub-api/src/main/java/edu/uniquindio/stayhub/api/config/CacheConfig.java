@@ -0,0 +1,66 @@
+package edu.uniquindio.stayhub.api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Spring Cache configuration for reference data that is read on every page but changes a few
+ * times a month: the active amenities and the cities with accommodations.
+ * <p>
+ * Each cache is a Caffeine cache sized by {@link ReferenceCacheProperties}. The manager is
+ * transaction-aware, so evictions made by a write run after its transaction commits and a
+ * concurrent read cannot put the old value back. Hit, miss and eviction counts are published as
+ * {@code cache.*} metrics tagged with the cache name.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(ReferenceCacheProperties.class)
+public class CacheConfig {
+
+    /**
+     * The active amenities, under a single key.
+     */
+    public static final String AMENITIES = "amenities";
+
+    /**
+     * Active amenities by ID.
+     */
+    public static final String AMENITY = "amenity";
+
+    /**
+     * The cities with non-deleted accommodations, under a single key.
+     */
+    public static final String CITIES = "cities";
+
+    private static final List<String> CACHE_NAMES = List.of(AMENITIES, AMENITY, CITIES);
+
+    @Bean
+    public CacheManager cacheManager(ReferenceCacheProperties properties, MeterRegistry meterRegistry) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the caches below exist; a misspelled name fails instead of creating an unbounded cache
+        cacheManager.setCacheNames(List.of());
+        for (String name : CACHE_NAMES) {
+            ReferenceCacheProperties.Spec spec = properties.getCaches()
+                    .getOrDefault(name, new ReferenceCacheProperties.Spec());
+            Cache<Object, Object> cache = Caffeine.newBuilder()
+                    .maximumSize(spec.getMaxSize())
+                    .expireAfterWrite(spec.getTtl())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+            cacheManager.registerCustomCache(name, cache);
+        }
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
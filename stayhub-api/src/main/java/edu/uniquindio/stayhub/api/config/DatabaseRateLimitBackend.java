@@ -0,0 +1,220 @@
+package edu.uniquindio.stayhub.api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.uniquindio.stayhub.api.model.RateLimitBucket;
+import edu.uniquindio.stayhub.api.repository.RateLimitBucketRepository;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate limiting backend that keeps the token buckets in the shared database, so limits hold
+ * across every API instance.
+ * <p>
+ * Buckets are rows of {@link RateLimitBucket}, refilled lazily and updated with a compare-and-swap
+ * on their version, retried up to {@code app.rate-limit.database.max-attempts} times. To keep most
+ * checks off the database, each instance takes a lease of {@code lease-fraction} of the capacity at
+ * once and hands those tokens out locally for up to {@code lease-ttl}. Leased tokens are taken from
+ * the shared bucket, so the cluster never admits more than the limit; unused ones simply expire.
+ * If the database fails, requests are let through rather than rejected. A bucket still contended
+ * after the last attempt is being hit by a burst, so the request is rejected instead, with a wait of
+ * one refill interval.
+ * <p>
+ * Metrics: {@code stayhub.rate_limit.checks} counts the checks by {@code source} (lease or database),
+ * {@code stayhub.rate_limit.database.errors} counts the checks let through because of a failure and
+ * {@code stayhub.rate_limit.database.contended} the checks rejected because of contention.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "database")
+public class DatabaseRateLimitBackend implements RateLimitBackend {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseRateLimitBackend.class);
+
+    private final RateLimitBucketRepository bucketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RateLimitProperties.Database settings;
+    private final Cache<String, Lease> leases;
+    private final Counter leaseCounter;
+    private final Counter databaseCounter;
+    private final Counter errorCounter;
+    private final Counter contendedCounter;
+
+    public DatabaseRateLimitBackend(RateLimitBucketRepository bucketRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    RateLimitProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.bucketRepository = bucketRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settings = properties.getDatabase();
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterWrite(settings.getLeaseTtl())
+                .build();
+        this.leaseCounter = Counter.builder("stayhub.rate_limit.checks")
+                .description("Rate limit checks, by where the token came from")
+                .tag("source", "lease")
+                .register(meterRegistry);
+        this.databaseCounter = Counter.builder("stayhub.rate_limit.checks")
+                .description("Rate limit checks, by where the token came from")
+                .tag("source", "database")
+                .register(meterRegistry);
+        this.errorCounter = Counter.builder("stayhub.rate_limit.database.errors")
+                .description("Rate limit checks let through because the database could not be updated")
+                .register(meterRegistry);
+        this.contendedCounter = Counter.builder("stayhub.rate_limit.database.contended")
+                .description("Rate limit checks rejected because the bucket stayed contended")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ConsumptionProbe tryConsume(String policyName, RateLimitProperties.Policy policy, String key) {
+        String bucketKey = policyName + ':' + key;
+        Lease lease = leases.getIfPresent(bucketKey);
+        if (lease != null) {
+            long remaining = lease.take();
+            if (remaining >= 0) {
+                leaseCounter.increment();
+                return ConsumptionProbe.consumed(remaining, 0);
+            }
+        }
+
+        databaseCounter.increment();
+        long leaseSize = Math.max(1, (long) (policy.getCapacity() * settings.getLeaseFraction()));
+        Grant grant;
+        try {
+            grant = acquire(bucketKey, policy, leaseSize);
+        } catch (DataAccessException e) {
+            LOGGER.warn("Rate limit bucket {} could not be updated, letting the request through", bucketKey, e);
+            errorCounter.increment();
+            return ConsumptionProbe.consumed(0, 0);
+        }
+        if (grant == null) {
+            LOGGER.warn("Rate limit bucket {} still contended after {} attempts, rejecting the request",
+                    bucketKey, settings.getMaxAttempts());
+            contendedCounter.increment();
+            long nanosToWait = TimeUnit.MILLISECONDS.toNanos(
+                    Math.max(1, Math.ceilDiv(policy.getPeriod().toMillis(), policy.getCapacity())));
+            return ConsumptionProbe.rejected(0, nanosToWait, nanosToWait);
+        }
+        if (grant.tokens() == 0) {
+            return ConsumptionProbe.rejected(0, grant.nanosToWait(), grant.nanosToWait());
+        }
+        if (grant.tokens() > 1) {
+            leases.put(bucketKey, new Lease(grant.tokens() - 1));
+        } else {
+            leases.invalidate(bucketKey);
+        }
+        return ConsumptionProbe.consumed(grant.tokens() - 1, 0);
+    }
+
+    /**
+     * Deletes the buckets that have refilled completely, so the table only holds active keys.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.database.purge-interval-ms:600000}")
+    public void purgeFullBuckets() {
+        Integer deleted = transactionTemplate.execute(status ->
+                bucketRepository.deleteFullBuckets(System.currentTimeMillis()));
+        if (deleted != null && deleted > 0) {
+            LOGGER.debug("Deleted {} full rate limit buckets", deleted);
+        }
+    }
+
+    private Grant acquire(String bucketKey, RateLimitProperties.Policy policy, long wanted) {
+        for (int attempt = 0; attempt < settings.getMaxAttempts(); attempt++) {
+            try {
+                Grant grant = transactionTemplate.execute(status -> tryAcquire(bucketKey, policy, wanted));
+                if (grant != null) {
+                    return grant;
+                }
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created the bucket first; read it on the next attempt
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes up to {@code wanted} tokens from a bucket.
+     *
+     * @return The tokens taken, or null if the bucket changed since it was read.
+     */
+    private Grant tryAcquire(String bucketKey, RateLimitProperties.Policy policy, long wanted) {
+        long now = System.currentTimeMillis();
+        long capacity = policy.getCapacity();
+        long periodMs = policy.getPeriod().toMillis();
+        Optional<RateLimitBucket> existing = bucketRepository.findById(bucketKey);
+        if (existing.isEmpty()) {
+            long taken = Math.min(wanted, capacity);
+            long tokens = capacity - taken;
+            bucketRepository.insert(bucketKey, tokens, now, fullAt(now, tokens, capacity, periodMs));
+            return new Grant(taken, 0);
+        }
+
+        RateLimitBucket bucket = existing.get();
+        long tokens = bucket.getTokens();
+        long refilledAt = bucket.getRefilledAt();
+        long refill = Math.max(0, now - refilledAt) * capacity / periodMs;
+        if (refill > 0) {
+            tokens = Math.min(capacity, tokens + refill);
+            refilledAt = tokens == capacity ? now : refilledAt + refill * periodMs / capacity;
+        }
+        if (tokens == 0) {
+            long nextTokenAt = refilledAt + Math.ceilDiv(periodMs, capacity);
+            return new Grant(0, TimeUnit.MILLISECONDS.toNanos(Math.max(1, nextTokenAt - now)));
+        }
+
+        long taken = Math.min(wanted, tokens);
+        long left = tokens - taken;
+        int updated = bucketRepository.compareAndSet(bucketKey, bucket.getVersion(), left, refilledAt,
+                fullAt(refilledAt, left, capacity, periodMs));
+        return updated == 1 ? new Grant(taken, 0) : null;
+    }
+
+    private static long fullAt(long refilledAt, long tokens, long capacity, long periodMs) {
+        return refilledAt + Math.ceilDiv((capacity - tokens) * periodMs, capacity);
+    }
+
+    /**
+     * Tokens taken from the database at once.
+     *
+     * @param tokens The number of tokens taken, or 0 if the bucket was empty.
+     * @param nanosToWait When empty, the time until the next token.
+     */
+    private record Grant(long tokens, long nanosToWait) {
+    }
+
+    /**
+     * Tokens leased from the database and not yet handed out.
+     */
+    private static final class Lease {
+
+        private final AtomicLong remaining;
+
+        private Lease(long tokens) {
+            this.remaining = new AtomicLong(tokens);
+        }
+
+        /**
+         * Takes one token.
+         *
+         * @return The tokens left after taking one, or -1 if none was left.
+         */
+        private long take() {
+            return remaining.getAndUpdate(current -> current > 0 ? current - 1 : current) - 1;
+        }
+    }
+}
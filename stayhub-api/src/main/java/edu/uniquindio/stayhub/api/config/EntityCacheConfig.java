@@ -0,0 +1,80 @@
+package edu.uniquindio.stayhub.api.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache for reference entities, currently amenities. Lookups by ID
+ * ({@code findById}, lazy loads) are served from memory; queries still reach the database.
+ * <p>
+ * The cache is JCache backed by Caffeine, held in a cache manager of its own, with read-write
+ * concurrency, so a transaction never reads an entity another one is changing. Each region is created
+ * here with the size and lifetime from {@link EntityCacheProperties}, and its hit, miss, put and
+ * eviction counts are published as {@code cache.*} metrics tagged with the region name.
+ * <p>
+ * The cache is local to each node: a change made on one node is only seen by the others once their
+ * entry expires. Only entities that change rarely and can be briefly stale belong here. Accommodations
+ * and users are deliberately left out: prices, roles, password hashes and token versions must be read
+ * fresh on every node, and the rating and ranking bulk updates would empty their region on every review.
+ */
+@Configuration
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class EntityCacheConfig {
+
+    static final List<String> REGIONS = List.of(
+            "entity.amenity"
+    );
+
+    static final URI CACHE_MANAGER_URI = URI.create("stayhub-entity-cache");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties, MeterRegistry meterRegistry) {
+        // A manager of its own, so closing it with the context leaves the provider's default one alone
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(CACHE_MANAGER_URI, provider.getDefaultClassLoader());
+        for (String region : REGIONS) {
+            ReferenceCacheProperties.Spec spec = properties.getRegions()
+                    .getOrDefault(region, new ReferenceCacheProperties.Spec());
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(spec.getMaxSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(spec.getTtl().toNanos()));
+            configuration.setStatisticsEnabled(true);
+            if (cacheManager.getCache(region) != null) {
+                cacheManager.destroyCache(region);
+            }
+            Cache<Object, Object> cache = cacheManager.createCache(region, configuration);
+            JCacheMetrics.monitor(meterRegistry, cache);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager,
+                                                               EntityCacheProperties properties) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, properties.isEnabled());
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, false);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            // Every region above is sized; a region missing from the list is created unbounded, with a warning
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.CREATE_WARN.getExternalRepresentation());
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package edu.uniquindio.stayhub.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hibernate second-level cache settings, bound from {@code app.entity-cache.*}.
+ * <p>
+ * Each region is sized like a reference cache: up to {@code max-size} entities or collections,
+ * each kept for at most {@code ttl}. Regions not configured here use the defaults of
+ * {@link ReferenceCacheProperties.Spec}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.entity-cache")
+public class EntityCacheProperties {
+
+    /**
+     * Whether Hibernate uses the second-level cache at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The size and lifetime of each region, by region name.
+     */
+    private Map<String, ReferenceCacheProperties.Spec> regions = new LinkedHashMap<>();
+}
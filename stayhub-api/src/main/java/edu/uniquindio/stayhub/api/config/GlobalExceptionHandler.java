@@ -4,6 +4,7 @@ import edu.uniquindio.stayhub.api.dto.auth.Error;
 import edu.uniquindio.stayhub.api.exception.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -57,6 +58,14 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Error> handleTooManyRequestsException(TooManyRequestsException e) {
+        LOGGER.warn("Request rejected, too many requests: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new Error(e.getMessage(), HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<Error> handleIllegalStateException(IllegalStateException e) {
         LOGGER.error("Illegal state: {}", e.getMessage());
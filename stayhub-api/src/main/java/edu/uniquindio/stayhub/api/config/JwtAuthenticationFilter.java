@@ -1,6 +1,8 @@
 package edu.uniquindio.stayhub.api.config;
 
 import edu.uniquindio.stayhub.api.service.JwtService;
+import edu.uniquindio.stayhub.api.service.TokenRevocationService;
+import edu.uniquindio.stayhub.api.service.TokenVersionService;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -11,13 +13,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.function.Supplier;
 
 /**
  * Filter for validating JWT tokens in incoming HTTP requests for the StayHub application.
@@ -25,23 +33,55 @@ import java.io.IOException;
  * It is responsible for extracting the JWT token from the Authorization header, validating it
  * using {@link JwtService}, and setting the authentication in the {@link SecurityContextHolder}
  * if the token is valid. It also handles common JWT exceptions like token expiration.
+ * <p>
+ * On the public routes matched by the lazy authentication matcher, the token is not touched while the
+ * request is filtered: the security context is deferred, and the token is only resolved if a handler
+ * reads the principal. Anonymous browsing of the catalog therefore pays no token parsing or user lookup,
+ * and a bad token on those routes leaves the request anonymous instead of failing it.
+ * <p>
+ * Tokens without a {@code userId} claim are refused, since their token version cannot be checked
+ * and logging out everywhere could never revoke them.
  */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    /**
+     * Request attribute holding the ID of the authenticated user, for the filters that run after this one.
+     */
+    public static final String USER_ID_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".userId";
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final TokenRevocationService tokenRevocationService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final boolean statelessAuth;
+    private final RequestMatcher lazyAuthenticationMatcher;
+    private final SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
 
     /**
      * Constructs a JwtAuthenticationFilter with the required dependencies.
      *
      * @param jwtService The service for handling JWT token validation and creation.
      * @param userDetailsService The service for loading user details based on a username.
+     * @param tokenVersionService The service that tells whether all tokens of a user have been revoked.
+     * @param tokenRevocationService The service that tells whether a single token has been revoked.
+     * @param verifiedTokenCache The cache of already verified tokens.
+     * @param statelessAuth Whether to build the principal from the token claims instead of loading the user.
+     * @param lazyAuthenticationMatcher The public routes where the token is only resolved when a handler needs it.
      */
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService,
+                                   TokenVersionService tokenVersionService, TokenRevocationService tokenRevocationService,
+                                   VerifiedTokenCache verifiedTokenCache, boolean statelessAuth,
+                                   RequestMatcher lazyAuthenticationMatcher) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionService = tokenVersionService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.statelessAuth = statelessAuth;
+        this.lazyAuthenticationMatcher = lazyAuthenticationMatcher;
     }
 
     /**
@@ -50,8 +90,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * The process is as follows:
      * <ol>
      * <li>Checks for the presence of the "Authorization" header and if it starts with "Bearer".</li>
-     * <li>Extracts the token and attempts to get the username from it.</li>
-     * <li>If the username is valid and no authentication has been set in the security context, it loads the user details.</li>
+     * <li>On public routes, defers the rest of the process until the security context is read.</li>
+     * <li>Extracts the token and resolves its verified claims, verifying the signature only the first time the token is seen.</li>
+     * <li>Rejects the token if its version is older than the user's current token version, or if the token
+     * itself was revoked on logout.</li>
+     * <li>If the username is valid and no authentication has been set in the security context, it builds the principal
+     * from the token claims (stateless mode) or loads the user details.</li>
      * <li>Validates the token against the user details.</li>
      * <li>If the token is valid, it creates a new {@link UsernamePasswordAuthenticationToken} and sets it in the security context.</li>
      * <li>Handles {@link ExpiredJwtException} and other {@link JwtException}s by logging the error and setting the HTTP status to 401 Unauthorized.</li>
@@ -76,9 +120,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = header.substring(7);
+        if (lazyAuthenticationMatcher.matches(request)) {
+            Supplier<SecurityContext> previous = securityContextHolderStrategy.getDeferredContext();
+            securityContextHolderStrategy.setDeferredContext(
+                    SingletonSupplier.of(() -> resolveLazily(token, request, previous)));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         try {
-            String username = jwtService.extractUsername(token);
-            Long jwtUserId = jwtService.extractUserId(token);
+            // The signature is verified once per token, not per request; every check below reads from the parsed token
+            JwtService.ParsedToken parsedToken = verifiedTokenCache.get(token, jwtService::parse);
+            String username = parsedToken.username();
+            Long jwtUserId = parsedToken.userId();
+            if (jwtUserId == null) {
+                // Without the user ID the token version cannot be checked, so "log out everywhere" could not revoke it
+                LOGGER.warn("JWT token without userId for user: {} for request: {}", username, request.getRequestURI());
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.getWriter().write("Invalid token");
+                return;
+            }
             if (request.getRequestURI().contains("/profile")) {
                 if (userIdHeader == null) {
                     LOGGER.error("Missing X-User-Id header for request: {}", request.getRequestURI());
@@ -102,14 +163,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 }
             }
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                if (jwtService.isTokenValid(token, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    LOGGER.info("Successfully authenticated user: {} for request: {}", username, request.getRequestURI());
+            if (!tokenVersionService.isCurrent(jwtUserId, parsedToken.tokenVersion())
+                    || tokenRevocationService.isRevoked(parsedToken.tokenId())) {
+                LOGGER.warn("Revoked JWT token for user: {} for request: {}", username, request.getRequestURI());
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.getWriter().write("Token has been revoked");
+                return;
+            }
+
+            if (username != null && securityContextHolderStrategy.getContext().getAuthentication() == null) {
+                Authentication authentication = authenticate(parsedToken, request);
+                if (authentication != null) {
+                    securityContextHolderStrategy.getContext().setAuthentication(authentication);
                 } else {
                     LOGGER.warn("Invalid JWT token for user: {} for request: {}", username, request.getRequestURI());
                 }
@@ -127,4 +192,63 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Resolves the security context of a public route the first time it is read. The token is checked
+     * like on protected routes, but any problem leaves the request anonymous, since the route allows it.
+     *
+     * @param token The raw JWT token.
+     * @param request The HTTP request.
+     * @param previous The context deferred by the filters that ran before this one.
+     * @return The context, authenticated if the token is valid.
+     */
+    private SecurityContext resolveLazily(String token, HttpServletRequest request, Supplier<SecurityContext> previous) {
+        SecurityContext context = previous.get();
+        if (context.getAuthentication() != null) {
+            return context;
+        }
+        try {
+            JwtService.ParsedToken parsedToken = verifiedTokenCache.get(token, jwtService::parse);
+            if (parsedToken.userId() == null
+                    || !tokenVersionService.isCurrent(parsedToken.userId(), parsedToken.tokenVersion())
+                    || tokenRevocationService.isRevoked(parsedToken.tokenId())) {
+                LOGGER.debug("Ignoring revoked JWT token on public request: {}", request.getRequestURI());
+                return context;
+            }
+            Authentication authentication = parsedToken.username() == null ? null : authenticate(parsedToken, request);
+            if (authentication != null) {
+                context = securityContextHolderStrategy.createEmptyContext();
+                context.setAuthentication(authentication);
+            }
+        } catch (JwtException e) {
+            LOGGER.debug("Ignoring invalid JWT token on public request: {}", request.getRequestURI());
+        }
+        return context;
+    }
+
+    /**
+     * Builds the authentication of a verified, non-revoked token, from its claims (stateless mode)
+     * or from the loaded user details.
+     *
+     * @param parsedToken The verified token.
+     * @param request The HTTP request, which receives the authentication details and the user ID attribute.
+     * @return The authentication, or null if the token does not match the user.
+     */
+    private Authentication authenticate(JwtService.ParsedToken parsedToken, HttpServletRequest request) {
+        UserDetails userDetails = statelessAuth ? jwtService.toPrincipal(parsedToken) : null;
+        if (userDetails == null) {
+            userDetails = userDetailsService.loadUserByUsername(parsedToken.username());
+        }
+        if (!jwtService.isTokenValid(parsedToken, userDetails)) {
+            return null;
+        }
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        if (parsedToken.userId() != null) {
+            request.setAttribute(USER_ID_ATTRIBUTE, parsedToken.userId());
+        }
+        LOGGER.debug("Successfully authenticated user: {} for request: {}", parsedToken.username(), request.getRequestURI());
+        return authToken;
+    }
+}
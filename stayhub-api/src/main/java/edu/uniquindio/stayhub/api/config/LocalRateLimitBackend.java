@@ -0,0 +1,86 @@
+package edu.uniquindio.stayhub.api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Rate limiting backend that holds the token buckets in memory, one per policy and key.
+ * Each instance counts separately, so it is only exact when a single instance runs.
+ * <p>
+ * Buckets live in a size-capped cache, so the keys submitted by clients cannot grow the heap without
+ * bound. A bucket left untouched for a whole period has refilled completely, so it expires then:
+ * dropping it loses no state. Under pressure the least used buckets are evicted first. Hit and miss
+ * counts are published as {@code cache.*} metrics with the tag {@code cache=rate-limit-buckets}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimitBackend implements RateLimitBackend {
+
+    private final Cache<String, PolicyBucket> buckets;
+
+    public LocalRateLimitBackend(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfter(new ExpireAfterPeriod())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate-limit-buckets");
+    }
+
+    @Override
+    public ConsumptionProbe tryConsume(String policyName, RateLimitProperties.Policy policy, String key) {
+        PolicyBucket bucket = buckets.get(policyName + ':' + key, k -> newBucket(policy));
+        return bucket.bucket().tryConsumeAndReturnRemaining(1);
+    }
+
+    /**
+     * Returns the number of buckets held.
+     *
+     * @return The approximate number of buckets.
+     */
+    public long size() {
+        return buckets.estimatedSize();
+    }
+
+    private PolicyBucket newBucket(RateLimitProperties.Policy policy) {
+        Bandwidth limit = Bandwidth.builder()
+                .capacity(policy.getCapacity())
+                .refillGreedy(policy.getCapacity(), policy.getPeriod())
+                .build();
+        return new PolicyBucket(Bucket.builder().addLimit(limit).build(), policy.getPeriod());
+    }
+
+    private record PolicyBucket(Bucket bucket, Duration period) {
+    }
+
+    /**
+     * Expires each bucket one period after it was last used.
+     */
+    private static final class ExpireAfterPeriod implements Expiry<String, PolicyBucket> {
+
+        @Override
+        public long expireAfterCreate(String key, PolicyBucket bucket, long currentTime) {
+            return bucket.period().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, PolicyBucket bucket, long currentTime, long currentDuration) {
+            return bucket.period().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, PolicyBucket bucket, long currentTime, long currentDuration) {
+            return bucket.period().toNanos();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package edu.uniquindio.stayhub.api.config;
+
+import io.github.bucket4j.ConsumptionProbe;
+
+/**
+ * Storage of the token buckets used by {@link RateLimitFilter}, selected with {@code app.rate-limit.backend}.
+ * <p>
+ * {@link LocalRateLimitBackend} counts in memory, so with several instances each one applies the
+ * limits separately. {@link DatabaseRateLimitBackend} counts in the shared database, so limits hold
+ * across the cluster.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Consumes one token from the bucket of a key under a policy.
+     *
+     * @param policyName The name of the policy.
+     * @param policy The policy.
+     * @param key The value the requests are counted by.
+     * @return The result of the consumption, including the time until a token is available when rejected.
+     */
+    ConsumptionProbe tryConsume(String policyName, RateLimitProperties.Policy policy, String key);
+}
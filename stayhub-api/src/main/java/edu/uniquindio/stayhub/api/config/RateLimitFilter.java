@@ -0,0 +1,265 @@
+package edu.uniquindio.stayhub.api.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.uniquindio.stayhub.api.dto.auth.Error;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter that applies the rate limiting policies of {@link RateLimitProperties} before a request
+ * reaches its controller.
+ * <p>
+ * Every policy matching the request consumes a token from the bucket of its key; if any bucket is
+ * empty the request is rejected with 429 Too Many Requests and a {@code Retry-After} header. To read
+ * the {@code email} key the body is buffered and replayed to the controller; bodies larger than
+ * {@code app.rate-limit.max-body-bytes} are rejected with 413 Payload Too Large, so padding a body
+ * cannot hide its email. Requests without a readable {@code email} are limited by the policy under
+ * their IP address instead. User policies skip anonymous requests, which are rejected downstream anyway.
+ * IP keys are the request's remote address; behind a proxy it is only the client's address when the
+ * server resolves forwarded headers ({@code server.forward-headers-strategy=native}), otherwise every
+ * client shares the proxy's bucket.
+ * Rejections are counted by {@code stayhub.rate_limit.rejected}, tagged by policy.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final RateLimitBackend rateLimitBackend;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * Constructs a RateLimitFilter with the required dependencies.
+     *
+     * @param rateLimitBackend The storage of the token buckets.
+     * @param properties The rate limiting policies.
+     * @param objectMapper The mapper used to read the request body and write the rejection.
+     * @param meterRegistry The registry where the rejections are counted.
+     */
+    public RateLimitFilter(RateLimitBackend rateLimitBackend, RateLimitProperties properties,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.rateLimitBackend = rateLimitBackend;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || properties.getPolicies().isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        List<Map.Entry<String, RateLimitProperties.Policy>> matching = matchingPolicies(request);
+        if (matching.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest chainRequest = request;
+        String email = null;
+        if (matching.stream().anyMatch(entry -> entry.getValue().getKey() == RateLimitProperties.KeyType.EMAIL)) {
+            CachedBodyRequest cachedBodyRequest = CachedBodyRequest.of(request, properties.getMaxBodyBytes());
+            if (cachedBodyRequest == null) {
+                rejectTooLarge(request, response);
+                return;
+            }
+            chainRequest = cachedBodyRequest;
+            email = readEmail(cachedBodyRequest.getCachedBody());
+        }
+
+        for (Map.Entry<String, RateLimitProperties.Policy> entry : matching) {
+            String key = resolveKey(entry.getValue().getKey(), request, email);
+            if (key == null) {
+                continue;
+            }
+            ConsumptionProbe probe = rateLimitBackend.tryConsume(entry.getKey(), entry.getValue(), key);
+            if (!probe.isConsumed()) {
+                reject(entry.getKey(), probe, request, response);
+                return;
+            }
+        }
+        filterChain.doFilter(chainRequest, response);
+    }
+
+    private List<Map.Entry<String, RateLimitProperties.Policy>> matchingPolicies(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        List<Map.Entry<String, RateLimitProperties.Policy>> matching = new ArrayList<>();
+        for (Map.Entry<String, RateLimitProperties.Policy> entry : properties.getPolicies().entrySet()) {
+            RateLimitProperties.Policy policy = entry.getValue();
+            if ((policy.getMethod() == null || policy.getMethod().equalsIgnoreCase(request.getMethod()))
+                    && policy.getPath() != null && pathMatcher.match(policy.getPath(), path)) {
+                matching.add(entry);
+            }
+        }
+        return matching;
+    }
+
+    private String resolveKey(RateLimitProperties.KeyType keyType, HttpServletRequest request, String email) {
+        return switch (keyType) {
+            case IP -> request.getRemoteAddr();
+            // Without an email the policy still holds, keyed by the caller's address
+            case EMAIL -> email != null ? email : "ip:" + request.getRemoteAddr();
+            case USER_ID -> {
+                Object userId = request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+                yield userId == null ? null : userId.toString();
+            }
+        };
+    }
+
+    private String readEmail(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            // Malformed bodies are rejected by the controller
+            return null;
+        }
+    }
+
+    private void reject(String policyName, ConsumptionProbe probe, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill() + 999_999_999L));
+        LOGGER.warn("Rate limit {} exceeded for request: {} {}", policyName, request.getMethod(), request.getRequestURI());
+        Counter.builder("stayhub.rate_limit.rejected")
+                .description("Requests rejected by a rate limiting policy")
+                .tag("policy", policyName)
+                .register(meterRegistry)
+                .increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new Error(
+                "Demasiadas solicitudes. Intente de nuevo más tarde.", HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+
+    private void rejectTooLarge(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        LOGGER.warn("Request body too large for rate limiting: {} {}", request.getMethod(), request.getRequestURI());
+        response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new Error(
+                "El cuerpo de la solicitud es demasiado grande.", HttpStatus.PAYLOAD_TOO_LARGE.value()));
+    }
+
+    /**
+     * Request wrapper that reads the whole body up front and replays it to the rest of the chain.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] cachedBody;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] cachedBody) {
+            super(request);
+            this.cachedBody = cachedBody;
+        }
+
+        /**
+         * Buffers the body of a request.
+         *
+         * @return The wrapped request, or null if the body is larger than {@code maxBytes}.
+         */
+        private static CachedBodyRequest of(HttpServletRequest request, int maxBytes) throws IOException {
+            if (request.getContentLengthLong() > maxBytes) {
+                return null;
+            }
+            byte[] body = request.getInputStream().readNBytes(maxBytes + 1);
+            return body.length > maxBytes ? null : new CachedBodyRequest(request, body);
+        }
+
+        private byte[] getCachedBody() {
+            return cachedBody;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            InputStream replay = new ByteArrayInputStream(cachedBody);
+            return new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public int read() throws IOException {
+                    int read = replay.read();
+                    finished = read == -1;
+                    return read;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int read = replay.read(b, off, len);
+                    finished = read == -1;
+                    return read;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    if (!isAsyncStarted()) {
+                        throw new IllegalStateException("The request is not in asynchronous mode");
+                    }
+                    // The whole body is already in memory, so it is all available at once
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
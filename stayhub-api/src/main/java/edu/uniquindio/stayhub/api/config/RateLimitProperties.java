@@ -0,0 +1,110 @@
+package edu.uniquindio.stayhub.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rate limiting settings, bound from {@code app.rate-limit.*}.
+ * <p>
+ * Each named policy limits the requests matching a method and path to {@code capacity} per
+ * {@code period}, counted separately for each key: the client IP, the {@code email} field of the
+ * JSON body, or the ID of the authenticated user. A request may match several policies and is
+ * rejected if any of them is exhausted.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Whether rate limiting is applied at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Where the buckets are kept.
+     */
+    private Backend backend = Backend.LOCAL;
+
+    /**
+     * Maximum number of buckets (or, with the database backend, leases) kept in memory, across all policies.
+     */
+    private long maxBuckets = 100_000;
+
+    /**
+     * Maximum body size, in bytes, of requests matching an {@link KeyType#EMAIL} policy; larger ones are rejected.
+     */
+    private int maxBodyBytes = 16 * 1024;
+
+    /**
+     * The policies, by name.
+     */
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    private Database database = new Database();
+
+    public enum Backend {
+        LOCAL,
+        DATABASE
+    }
+
+    /**
+     * The value requests are counted by.
+     */
+    public enum KeyType {
+        IP,
+        EMAIL,
+        USER_ID
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+
+        /**
+         * HTTP method of the requests to limit, or null for any method.
+         */
+        private String method;
+
+        /**
+         * Ant-style path pattern of the requests to limit.
+         */
+        private String path;
+
+        private KeyType key = KeyType.IP;
+
+        /**
+         * Requests allowed per period; also the burst size.
+         */
+        private long capacity;
+
+        private Duration period = Duration.ofMinutes(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Database {
+
+        /**
+         * Fraction of a policy's capacity each instance takes from the database at once and then
+         * hands out locally. At least one token is taken, so small policies are checked every time.
+         */
+        private double leaseFraction = 0.1;
+
+        /**
+         * How long an instance may keep leased tokens. Unused tokens are not returned, so a shorter
+         * lease wastes fewer tokens when traffic moves to another instance.
+         */
+        private Duration leaseTtl = Duration.ofSeconds(5);
+
+        /**
+         * Attempts to update a bucket under contention before the request is rejected.
+         */
+        private int maxAttempts = 5;
+    }
+}
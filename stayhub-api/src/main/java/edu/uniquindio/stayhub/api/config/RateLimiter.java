@@ -1,26 +0,0 @@
-package edu.uniquindio.stayhub.api.config;
-
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import org.springframework.stereotype.Component;
-
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
-@Component
-public class RateLimiter {
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
-
-    public Bucket resolveBucket(String key) {
-        return buckets.computeIfAbsent(key, this::newBucket);
-    }
-
-    private Bucket newBucket(String key) {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(5)
-                .refillGreedy(5, Duration.ofMinutes(1))
-                .build();
-        return Bucket.builder().addLimit(limit).build();
-    }
-}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package edu.uniquindio.stayhub.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reference data cache settings, bound from {@code app.cache.*}.
+ * <p>
+ * Each named cache keeps up to {@code max-size} entries, each for at most {@code ttl} after it
+ * was loaded. Caches not configured here use the defaults of {@link Spec}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache")
+public class ReferenceCacheProperties {
+
+    /**
+     * The size and lifetime of each cache, by cache name.
+     */
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Spec {
+
+        /**
+         * Maximum number of entries.
+         */
+        private long maxSize = 1_000;
+
+        /**
+         * How long an entry is kept after it was loaded. Bounds how stale an entry can get
+         * if an eviction is missed, e.g. after a write made on another instance.
+         */
+        private Duration ttl = Duration.ofHours(1);
+    }
+}
@@ -1,9 +1,17 @@
 package edu.uniquindio.stayhub.api.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.uniquindio.stayhub.api.service.JwtService;
+import edu.uniquindio.stayhub.api.service.TokenRevocationService;
+import edu.uniquindio.stayhub.api.service.TokenVersionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -13,6 +21,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -27,10 +38,35 @@ import java.util.List;
  */
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
+    /**
+     * High-volume read endpoints open to everyone: the catalog, its comments, the amenities and the pings.
+     * They are permitted without authentication and the JWT filter only resolves a token on them when
+     * a handler reads the principal.
+     */
+    public static final RequestMatcher PUBLIC_READ_ENDPOINTS = new OrRequestMatcher(
+            get("/api/v1/accommodations"),
+            get("/api/v1/accommodations/search"),
+            get("/api/v1/accommodations/cities"),
+            get("/api/v1/accommodations/{id}"),
+            get("/api/v1/accommodations/{id}/detail"),
+            get("/api/v1/amenities"),
+            get("/api/v1/amenities/**"),
+            get("/api/v1/comments/accommodation/{accommodationId}"),
+            get("/api/v1/comments/accommodation/{accommodationId}/paged"),
+            get("/api/v1/comments/accommodation/{accommodationId}/average-rating"),
+            get("/api/v1/comments/accommodation/{accommodationId}/count"),
+            get("/api/v1/*/ping")
+    );
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final TokenRevocationService tokenRevocationService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final boolean statelessAuth;
 
     /**
      * Constructs a {@code SecurityConfig} with the required services.
@@ -38,20 +74,37 @@ public class SecurityConfig {
      *
      * @param jwtService The service for handling JWT token operations.
      * @param userDetailsService The service for loading user-specific data.
+     * @param tokenVersionService The service that tracks the tokens revoked per user.
+     * @param tokenRevocationService The service that tracks the tokens revoked individually.
+     * @param verifiedTokenCache The cache of already verified tokens.
+     * @param statelessAuth Whether authenticated requests are resolved from the token claims alone.
      */
-    public SecurityConfig(JwtService jwtService, @Lazy UserDetailsService userDetailsService) {
+    public SecurityConfig(JwtService jwtService, @Lazy UserDetailsService userDetailsService,
+                          TokenVersionService tokenVersionService, TokenRevocationService tokenRevocationService,
+                          VerifiedTokenCache verifiedTokenCache,
+                          @Value("${app.security.stateless-auth:false}") boolean statelessAuth) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionService = tokenVersionService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.statelessAuth = statelessAuth;
     }
 
     /**
-     * Provides a BCrypt password encoder bean.
+     * Provides a BCrypt password encoder bean. Hashing runs on a dedicated, bounded executor,
+     * so a login storm cannot take the request threads or the CPU from the rest of the API.
      *
-     * @return An instance of {@link BCryptPasswordEncoder}.
+     * @param meterRegistry The registry where the hashing metrics are published.
+     * @param threads The number of hashing threads, or 0 to use half of the available processors.
+     * @param queueCapacity The number of hashes that may wait before new ones are rejected.
+     * @return A {@link BoundedPasswordEncoder} delegating to a {@link BCryptPasswordEncoder}.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${app.security.password-hashing.threads:0}") int threads,
+                                           @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity, meterRegistry);
     }
 
     /**
@@ -61,23 +114,37 @@ public class SecurityConfig {
      * <ul>
      * <li>Disables CSRF protection as the application is stateless and uses JWTs.</li>
      * <li>Configures CORS using the {@link #corsConfigurationSource()} bean.</li>
-     * <li>Authorizes requests, allowing access to Swagger UI, login, and registration endpoints without authentication.</li>
+     * <li>Authorizes requests, allowing access to the {@link #PUBLIC_READ_ENDPOINTS}, Swagger UI, login, and registration
+     * endpoints without authentication.</li>
      * <li>Requires authentication for all other endpoints.</li>
      * <li>Adds the {@link JwtAuthenticationFilter} before the default Spring Security filter.</li>
+     * <li>Adds the {@link RateLimitFilter} right after it, so policies can be keyed by the authenticated user.</li>
      * </ul>
      *
      * @param http The {@link HttpSecurity} object to configure.
+     * @param rateLimitBackend The storage of the rate limiting buckets.
+     * @param rateLimitProperties The rate limiting policies.
+     * @param objectMapper The mapper used by the rate limiting filter.
+     * @param meterRegistry The registry where rate limiting rejections are counted.
      * @return The configured {@link SecurityFilterChain}.
      * @throws Exception if an error occurs during configuration.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, RateLimitBackend rateLimitBackend,
+                                                   RateLimitProperties rateLimitProperties, ObjectMapper objectMapper,
+                                                   MeterRegistry meterRegistry) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(authorizeRequests ->
                         authorizeRequests
+                                // === ASYNC DISPATCHES (notification streams) ===
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
+                                // === PUBLIC READ ENDPOINTS (no eager token processing) ===
+                                .requestMatchers(PUBLIC_READ_ENDPOINTS).permitAll()
+
                                 // === PUBLIC ENDPOINTS ===
                                 .requestMatchers(
                                         "/swagger-ui/**",
@@ -161,14 +228,18 @@ public class SecurityConfig {
                                         "/api/v1/accommodations/ping",
                                         "/api/v1/reservations/ping",
                                         "/api/v1/comments/ping",
-                                        "/api/v1/amenities/ping"
+                                        "/api/v1/amenities/ping",
+                                        "/api/v1/notifications/ping"
                                 ).permitAll()
 
 
                                 // ==== DEFAULT RULE ====
                                 .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class)
+                // Not a bean, so it only runs inside the security chain, once the user is known
+                .addFilterAfter(new RateLimitFilter(rateLimitBackend, rateLimitProperties, objectMapper, meterRegistry),
+                        JwtAuthenticationFilter.class);
         return http.build();
     }
 
@@ -197,11 +268,16 @@ public class SecurityConfig {
      */
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtService, userDetailsService);
+        return new JwtAuthenticationFilter(jwtService, userDetailsService, tokenVersionService, tokenRevocationService,
+                verifiedTokenCache, statelessAuth, PUBLIC_READ_ENDPOINTS);
     }
 
     @Bean
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
-}
\ No newline at end of file
+
+    private static RequestMatcher get(String pattern) {
+        return PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, pattern);
+    }
+}
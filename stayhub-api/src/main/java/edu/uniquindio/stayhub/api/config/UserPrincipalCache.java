@@ -0,0 +1,94 @@
+package edu.uniquindio.stayhub.api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.uniquindio.stayhub.api.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited cache of the principals resolved for authenticated requests, keyed by email.
+ * <p>
+ * Only the fields needed to build a {@link UserDetails} are kept, and a new instance is built on every
+ * lookup, so callers never share a mutable principal. Entries are evicted after
+ * {@code app.security.principal-cache.ttl}, and must be invalidated by any change to a user's
+ * password, role or account status. Hit and miss counts are published as {@code cache.*} metrics
+ * with the tag {@code cache=user-principals}.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final Cache<String, CachedPrincipal> cache;
+
+    public UserPrincipalCache(@Value("${app.security.principal-cache.ttl:PT5M}") Duration ttl,
+                              @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user-principals");
+    }
+
+    /**
+     * Returns the principal of a user, loading it on a miss.
+     *
+     * @param email The email of the user.
+     * @param loader Loads the user by email, returning null if it does not exist. Missing users are not cached.
+     * @return The principal, or null if the user does not exist.
+     */
+    public UserDetails get(String email, Function<String, User> loader) {
+        CachedPrincipal principal = cache.get(email, key -> {
+            User user = loader.apply(key);
+            return user == null ? null : new CachedPrincipal(user.getEmail(), user.getPassword(), user.getRole().name());
+        });
+        return principal == null ? null : principal.toUserDetails();
+    }
+
+    /**
+     * Evicts the principal of a user. When called inside a transaction, the entry is evicted again
+     * after commit, so a request running concurrently cannot cache the state from before the change.
+     *
+     * @param email The email of the user.
+     */
+    public void invalidate(String email) {
+        cache.invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(email);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the number of cached principals.
+     *
+     * @return The approximate number of entries.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private record CachedPrincipal(String email, String password, String role) {
+
+        private UserDetails toUserDetails() {
+            return org.springframework.security.core.userdetails.User.builder()
+                    .username(email)
+                    .password(password)
+                    .authorities("ROLE_" + role)
+                    .build();
+        }
+    }
+}
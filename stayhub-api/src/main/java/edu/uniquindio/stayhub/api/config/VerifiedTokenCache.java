@@ -0,0 +1,97 @@
+package edu.uniquindio.stayhub.api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import edu.uniquindio.stayhub.api.service.JwtService.ParsedToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of verified JWT claims, so a bearer token reused across requests is only
+ * verified and decoded the first time it is seen.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token, so raw tokens are never kept in memory,
+ * and each entry expires at the {@code exp} of its token. Invalid tokens are never cached. Revocation
+ * is unaffected, since token versions are checked on every request after the claims are resolved.
+ * Hit and miss counts are published as {@code cache.*} metrics with the tag {@code cache=verified-tokens}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, ParsedToken> cache;
+
+    public VerifiedTokenCache(@Value("${app.security.token-cache.max-size:50000}") long maxSize,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpireAtTokenExpiration())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verified-tokens");
+    }
+
+    /**
+     * Returns the verified claims of a token, verifying it on a miss.
+     *
+     * @param token The raw JWT token.
+     * @param verifier Verifies and decodes the token; its exceptions are propagated and nothing is cached.
+     * @return The verified claims.
+     */
+    public ParsedToken get(String token, Function<String, ParsedToken> verifier) {
+        return cache.get(digest(token), key -> verifier.apply(token));
+    }
+
+    /**
+     * Returns the number of cached tokens.
+     *
+     * @return The approximate number of entries.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Expires each entry when its token expires.
+     */
+    private static final class ExpireAtTokenExpiration implements Expiry<String, ParsedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, ParsedToken token, long currentTime) {
+            if (token.expiration() == null) {
+                return 0;
+            }
+            long remainingMs = token.expiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, ParsedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, ParsedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
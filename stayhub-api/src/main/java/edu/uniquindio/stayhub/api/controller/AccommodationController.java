@@ -1,11 +1,17 @@
 package edu.uniquindio.stayhub.api.controller;
 
+import edu.uniquindio.stayhub.api.config.AccommodationResponseCache;
+import edu.uniquindio.stayhub.api.config.AccommodationResponseCache.SerializedResponse;
 import edu.uniquindio.stayhub.api.dto.responses.SearchResponseDTO;
+import edu.uniquindio.stayhub.api.dto.accommodation.AccommodationDetailDTO;
 import edu.uniquindio.stayhub.api.dto.accommodation.AccommodationRequestDTO;
 import edu.uniquindio.stayhub.api.dto.accommodation.AccommodationResponseDTO;
 import edu.uniquindio.stayhub.api.dto.accommodation.AccommodationUpdateDTO;
 import edu.uniquindio.stayhub.api.dto.responses.SuccessResponseDTO;
+import edu.uniquindio.stayhub.api.service.AccommodationDetailService;
 import edu.uniquindio.stayhub.api.service.AccommodationService;
+import edu.uniquindio.stayhub.api.service.ResourceVersionService;
+import edu.uniquindio.stayhub.api.service.ResourceVersionService.ResourceVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,6 +23,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.mail.MessagingException;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -24,12 +31,17 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 @Tag(name = "Accommodation Management", description = "Endpoints for managing accommodations in StayHub")
 @RestController
@@ -38,7 +50,16 @@ import java.util.List;
 public class AccommodationController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AccommodationController.class);
+
+    /**
+     * Listing order: best ranking score first, by the index on (deleted, ranking_score), with the ID
+     * breaking ties so pages do not overlap.
+     */
+    private static final Sort BY_RANKING = Sort.by(Sort.Order.desc("rankingScore"), Sort.Order.desc("id"));
     private final AccommodationService accommodationService;
+    private final AccommodationDetailService accommodationDetailService;
+    private final ResourceVersionService resourceVersionService;
+    private final AccommodationResponseCache accommodationResponseCache;
 
     @Operation(summary = "Create a new accommodation", description = "Allows a host to create a new accommodation listing")
     @SecurityRequirement(name = "bearerAuth")
@@ -71,17 +92,60 @@ public class AccommodationController {
             @ApiResponse(responseCode = "200", description = "Accommodation retrieved successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccommodationResponseDTO.class),
                             examples = @ExampleObject(value = "{\"id\": 1, \"title\": \"Modern Apartment\", \"description\": \"Spacious apartment in the city center\", \"capacity\": 4, \"mainImage\": \"https://example.com/images/main.jpg\", \"longitude\": -75.5668, \"latitude\": 6.2442, \"locationDescription\": \"Near El Poblado Park\", \"city\": \"Medellin\", \"pricePerNight\": 150.00, \"images\": [\"https://example.com/images/1.jpg\", \"https://example.com/images/2.jpg\"]}"))),
+            @ApiResponse(responseCode = "304", description = "Accommodation not modified since the given ETag or date"),
             @ApiResponse(responseCode = "404", description = "Accommodation not found",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = edu.uniquindio.stayhub.api.dto.auth.Error.class),
                             examples = @ExampleObject(value = "{\"message\": \"El alojamiento no existe\", \"code\": 404}")))
     })
     @GetMapping("/{id}")
-    public ResponseEntity<AccommodationResponseDTO> getAccommodation(
-            @PathVariable @Parameter(description = "Accommodation ID", required = true) Long id) {
-        LOGGER.info("Retrieving accommodation with ID: {}", id);
-        AccommodationResponseDTO response = accommodationService.getAccommodation(id);
-        LOGGER.debug("Accommodation retrieved successfully with ID: {}", id);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public ResponseEntity<byte[]> getAccommodation(
+            @PathVariable @Parameter(description = "Accommodation ID", required = true) Long id,
+            WebRequest request) {
+        Optional<ResourceVersion> version = resourceVersionService.getAccommodationVersion(id);
+        Optional<ResponseEntity<byte[]>> notModified =
+                ConditionalRequests.notModified(request, version, ConditionalRequests.PUBLIC, HttpHeaders.ACCEPT_ENCODING);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+        LOGGER.debug("Retrieving accommodation with ID: {}", id);
+        // Hot accommodations are served as cached JSON bytes, gzipped when the client accepts it
+        SerializedResponse response = accommodationResponseCache.get(id, version.map(ResourceVersion::etag).orElse(null),
+                () -> accommodationService.getAccommodation(id));
+        ResponseEntity.BodyBuilder builder = ConditionalRequests.ok(version, ConditionalRequests.PUBLIC)
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (response.gzip() != null && AccommodationResponseCache.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzip());
+        }
+        return builder.body(response.json());
+    }
+
+    @Operation(summary = "Get an accommodation page", description = "Retrieves the accommodation with its rating summary, host card, first page of comments and amenities in a single call. Parts that cannot be loaded in time are null and listed in unavailableParts")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Accommodation page retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccommodationDetailDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Accommodation page not modified since the given ETag or date"),
+            @ApiResponse(responseCode = "404", description = "Accommodation not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = edu.uniquindio.stayhub.api.dto.auth.Error.class),
+                            examples = @ExampleObject(value = "{\"message\": \"El alojamiento no existe\", \"code\": 404}")))
+    })
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<AccommodationDetailDTO> getAccommodationDetail(
+            @PathVariable @Parameter(description = "Accommodation ID", required = true) Long id,
+            @RequestParam(defaultValue = "10") @Positive @Max(50) @Parameter(description = "Number of comments in the first page") int commentsSize,
+            WebRequest request) {
+        Optional<ResourceVersion> version = resourceVersionService.getAccommodationDetailVersion(id);
+        Optional<ResponseEntity<AccommodationDetailDTO>> notModified =
+                ConditionalRequests.notModified(request, version, ConditionalRequests.PUBLIC);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+        LOGGER.debug("Retrieving accommodation page with ID: {}", id);
+        AccommodationDetailDTO detail = accommodationDetailService.getDetail(id, commentsSize);
+        // A page with missing parts must not be revalidated as if it were complete
+        return detail.getUnavailableParts().isEmpty()
+                ? ConditionalRequests.ok(version, ConditionalRequests.PUBLIC).body(detail)
+                : new ResponseEntity<>(detail, HttpStatus.OK);
     }
 
     @Operation(summary = "Update an accommodation", description = "Allows a host to update an existing accommodation")
@@ -111,13 +175,25 @@ public class AccommodationController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
-    @Operation(summary = "Search accommodations with filters", description = "Searches accommodations by city, capacity, price range, and amenities with pagination")
+    @Operation(summary = "List cities", description = "Retrieves the cities that have active accommodations, in alphabetical order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cities retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            examples = @ExampleObject(value = "[\"Armenia\", \"Medellin\", \"Pereira\"]")))
+    })
+    @GetMapping("/cities")
+    public ResponseEntity<List<String>> getCities() {
+        return ResponseEntity.ok(accommodationService.getCities());
+    }
+
+    @Operation(summary = "Search accommodations with filters", description = "Searches accommodations by city, capacity, price range, and amenities with pagination, best ranked first")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Accommodations retrieved successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = SearchResponseDTO.class),
                             examples = @ExampleObject(value = "{\"content\": [{\"id\": 1, \"title\": \"Modern Apartment\", \"description\": \"Spacious apartment\", \"capacity\": 4, \"mainImage\": \"https://example.com/images/main.jpg\", \"longitude\": -75.5668, \"latitude\": 6.2442, \"locationDescription\": \"Near El Poblado Park\", \"city\": \"Medellin\", \"pricePerNight\": 150.00, \"images\": [\"https://example.com/images/1.jpg\"]}], \"page\": 0, \"size\": 10, \"totalElements\": 1}"))),
             @ApiResponse(responseCode = "204", description = "No accommodations found",
-                    content = @Content(mediaType = "application/json"))
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "304", description = "No accommodation modified since the given ETag or date")
     })
     @GetMapping("/search")
     public ResponseEntity<SearchResponseDTO<AccommodationResponseDTO>> searchAccommodations(
@@ -126,15 +202,22 @@ public class AccommodationController {
             @RequestParam(required = false) @Parameter(description = "Maximum price per night", example = "200.00") @Positive BigDecimal maxPrice,
             @RequestParam(required = false) @Parameter(description = "List of amenity IDs to filter", example = "[1, 2]") List<Long> amenityIds,
             @RequestParam(defaultValue = "0") @Parameter(description = "Page number (0-indexed)", example = "0") int page,
-            @RequestParam(defaultValue = "10") @Parameter(description = "Number of items per page", example = "10") @Positive int size) {
+            @RequestParam(defaultValue = "10") @Parameter(description = "Number of items per page", example = "10") @Positive int size,
+            WebRequest request) {
+        Optional<ResourceVersion> version = resourceVersionService.getListingVersion();
+        Optional<ResponseEntity<SearchResponseDTO<AccommodationResponseDTO>>> notModified =
+                ConditionalRequests.notModified(request, version, ConditionalRequests.PUBLIC);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
         LOGGER.info("Searching accommodations with filters: city={}, minCapacity={}, maxPrice={}, amenityIds={}", city, minCapacity, maxPrice, amenityIds);
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageRequest.of(page, size, BY_RANKING);
         Page<AccommodationResponseDTO> result = accommodationService.searchAccommodations(city, minCapacity, maxPrice, amenityIds, pageable);
         SearchResponseDTO<AccommodationResponseDTO> response = new SearchResponseDTO<>(result.getContent(), result.getNumber(), result.getSize(), result.getTotalElements());
         LOGGER.debug("Found {} accommodations in search", result.getTotalElements());
         return result.isEmpty()
                 ? new ResponseEntity<>(HttpStatus.NO_CONTENT)
-                : new ResponseEntity<>(response, HttpStatus.OK);
+                : ConditionalRequests.ok(version, ConditionalRequests.PUBLIC).body(response);
     }
 
     @Operation(summary = "Delete an accommodation", description = "Soft deletes an accommodation by setting isDeleted to true")
@@ -160,19 +243,27 @@ public class AccommodationController {
         return new ResponseEntity<>(new SuccessResponseDTO("Accommodation deleted successfully"), HttpStatus.OK);
     }
 
-    @Operation(summary = "List all accommodations", description = "Retrieves a paginated list of all active accommodations")
+    @Operation(summary = "List all accommodations", description = "Retrieves a paginated list of all active accommodations, best ranked first")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Accommodations retrieved successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = SearchResponseDTO.class),
                             examples = @ExampleObject(value = "[{\"id\": 1, \"title\": \"Modern Apartment\", \"description\": \"Spacious apartment in the city center\", \"capacity\": 4, \"mainImage\": \"https://example.com/images/main.jpg\", \"longitude\": -75.5668, \"latitude\": 6.2442, \"locationDescription\": \"Near El Poblado Park\", \"city\": \"Medellin\", \"pricePerNight\": 150.00, \"images\": [\"https://example.com/images/1.jpg\", \"https://example.com/images/2.jpg\"]}]"))),
             @ApiResponse(responseCode = "204", description = "No accommodations found",
-                    content = @Content(mediaType = "application/json"))
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "304", description = "No accommodation modified since the given ETag or date")
     })
     @GetMapping
     public ResponseEntity<SearchResponseDTO<AccommodationResponseDTO>> listAccommodations(@RequestParam(defaultValue = "0") int page,
-                                                                                @RequestParam(defaultValue = "10") int size) {
+                                                                                @RequestParam(defaultValue = "10") int size,
+                                                                                WebRequest request) {
+        Optional<ResourceVersion> version = resourceVersionService.getListingVersion();
+        Optional<ResponseEntity<SearchResponseDTO<AccommodationResponseDTO>>> notModified =
+                ConditionalRequests.notModified(request, version, ConditionalRequests.PUBLIC);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
         LOGGER.info("Retrieving all active accommodations");
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageRequest.of(page, size, BY_RANKING);
         Page<AccommodationResponseDTO> result = accommodationService.listAccommodations(pageable);
         SearchResponseDTO<AccommodationResponseDTO> response = new SearchResponseDTO<>(
                 result.getContent(),
@@ -181,7 +272,9 @@ public class AccommodationController {
                 result.getTotalElements()
         );
         LOGGER.debug("Retrieved {} active accommodations", result.getTotalElements());
-        return result.isEmpty() ? new ResponseEntity<>(HttpStatus.NO_CONTENT) : new ResponseEntity<>(response, HttpStatus.OK);
+        return result.isEmpty()
+                ? new ResponseEntity<>(HttpStatus.NO_CONTENT)
+                : ConditionalRequests.ok(version, ConditionalRequests.PUBLIC).body(response);
     }
 
     @Operation(summary = "Get my accommodations", description = "Retrieves all accommodations owned by the authenticated host")
@@ -1,10 +1,15 @@
 package edu.uniquindio.stayhub.api.controller;
 
+import edu.uniquindio.stayhub.api.dto.comment.CommentModerationDTO;
+import edu.uniquindio.stayhub.api.dto.comment.CommentModerationResultDTO;
 import edu.uniquindio.stayhub.api.dto.comment.CommentReplyDTO;
 import edu.uniquindio.stayhub.api.dto.comment.CommentRequestDTO;
 import edu.uniquindio.stayhub.api.dto.comment.CommentResponseDTO;
 import edu.uniquindio.stayhub.api.dto.comment.CommentUpdateDTO;
+import edu.uniquindio.stayhub.api.dto.responses.CursorPageDTO;
 import edu.uniquindio.stayhub.api.service.CommentService;
+import edu.uniquindio.stayhub.api.service.ResourceVersionService;
+import edu.uniquindio.stayhub.api.service.ResourceVersionService.ResourceVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,6 +18,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
@@ -24,9 +31,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
 
-import java.util.List;
 
 /**
  * REST Controller for managing comments/reviews in the StayHub application.
@@ -39,9 +49,11 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class CommentController {
     private final CommentService commentService;
+    private final ResourceVersionService resourceVersionService;
 
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService, ResourceVersionService resourceVersionService) {
         this.commentService = commentService;
+        this.resourceVersionService = resourceVersionService;
     }
 
     @Operation(summary = "Create a new comment", description = "Allows an authenticated guest to create a comment/review for an accommodation")
@@ -59,43 +71,73 @@ public class CommentController {
         return ResponseEntity.status(201).body(createdComment);
     }
 
-    @Operation(summary = "Get comments by accommodation", description = "Retrieves all non-deleted comments for a specific accommodation, ordered by creation date")
+    @Operation(summary = "Get comments by accommodation", description = "Retrieves a page of the non-deleted comments for a specific accommodation, newest first. The next page is requested with the returned nextCursor")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Comments retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Comments not modified since the given ETag or date"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
             @ApiResponse(responseCode = "404", description = "Accommodation not found")
     })
     @GetMapping("/accommodation/{accommodationId}")
-    public ResponseEntity<List<CommentResponseDTO>> getCommentsByAccommodation(
-            @Parameter(description = "ID of the accommodation") @PathVariable Long accommodationId) {
-        List<CommentResponseDTO> comments = commentService.getCommentsByAccommodation(accommodationId);
-        return ResponseEntity.ok(comments);
+    public ResponseEntity<CursorPageDTO<CommentResponseDTO>> getCommentsByAccommodation(
+            @Parameter(description = "ID of the accommodation") @PathVariable Long accommodationId,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of comments per page") @RequestParam(defaultValue = "20") @Positive @Max(100) int size,
+            WebRequest request) {
+        Optional<ResourceVersion> version = resourceVersionService.getAccommodationCommentsVersion(accommodationId);
+        Optional<ResponseEntity<CursorPageDTO<CommentResponseDTO>>> notModified =
+                ConditionalRequests.notModified(request, version, ConditionalRequests.PUBLIC);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+        CursorPageDTO<CommentResponseDTO> comments = commentService.getCommentsByAccommodation(accommodationId, cursor, size);
+        return ConditionalRequests.ok(version, ConditionalRequests.PUBLIC).body(comments);
     }
 
     @Operation(summary = "Get paginated comments by accommodation", description = "Retrieves paginated non-deleted comments for a specific accommodation, ordered by creation date")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Comments retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Comments not modified since the given ETag or date"),
             @ApiResponse(responseCode = "404", description = "Accommodation not found")
     })
     @GetMapping("/accommodation/{accommodationId}/paged")
     public ResponseEntity<Page<CommentResponseDTO>> getCommentsByAccommodationPaginated(
             @Parameter(description = "ID of the accommodation") @PathVariable Long accommodationId,
-            @Parameter(description = "Pagination parameters (page, size, sort)") Pageable pageable) {
+            @Parameter(description = "Pagination parameters (page, size, sort)") Pageable pageable,
+            WebRequest request) {
+        Optional<ResourceVersion> version = resourceVersionService.getAccommodationCommentsVersion(accommodationId);
+        Optional<ResponseEntity<Page<CommentResponseDTO>>> notModified =
+                ConditionalRequests.notModified(request, version, ConditionalRequests.PUBLIC);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
         Page<CommentResponseDTO> comments = commentService.getCommentsByAccommodationPaginated(accommodationId, pageable);
-        return ResponseEntity.ok(comments);
+        return ConditionalRequests.ok(version, ConditionalRequests.PUBLIC).body(comments);
     }
 
-    @Operation(summary = "Get comments by user", description = "Retrieves all non-deleted comments made by a specific user")
+    @Operation(summary = "Get comments by user", description = "Retrieves a page of the non-deleted comments made by a specific user, newest first. The next page is requested with the returned nextCursor")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Comments retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Comments not modified since the given ETag or date"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "404", description = "User not found")
     })
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<CommentResponseDTO>> getCommentsByUser(
+    public ResponseEntity<CursorPageDTO<CommentResponseDTO>> getCommentsByUser(
             @Parameter(description = "ID of the user") @PathVariable Long userId,
-            Authentication authentication) {
-        List<CommentResponseDTO> comments = commentService.getCommentsByUser(userId, authentication.getName());
-        return ResponseEntity.ok(comments);
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of comments per page") @RequestParam(defaultValue = "20") @Positive @Max(100) int size,
+            Authentication authentication,
+            WebRequest request) {
+        // Empty unless the requester is the user, so the check below never bypasses authorization
+        Optional<ResourceVersion> version = resourceVersionService.getUserCommentsVersion(userId, authentication.getName());
+        Optional<ResponseEntity<CursorPageDTO<CommentResponseDTO>>> notModified =
+                ConditionalRequests.notModified(request, version, ConditionalRequests.PRIVATE);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+        CursorPageDTO<CommentResponseDTO> comments = commentService.getCommentsByUser(userId, cursor, size, authentication.getName());
+        return ConditionalRequests.ok(version, ConditionalRequests.PRIVATE).body(comments);
     }
 
     @Operation(summary = "Get average rating for an accommodation", description = "Calculates the average rating of non-deleted comments for a specific accommodation")
@@ -170,6 +212,21 @@ public class CommentController {
         return ResponseEntity.status(201).body(commented);
     }
 
+    @Operation(summary = "Moderate comments in bulk", description = "Allows a host or an administrator to delete or restore many comments at once, by ID, by user, or by accommodation and date window. Hosts can only moderate the comments of their own accommodations")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Comments moderated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid selection"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "User is not a host or an administrator")
+    })
+    @PostMapping("/moderation")
+    public ResponseEntity<CommentModerationResultDTO> moderateComments(
+            @Valid @RequestBody CommentModerationDTO moderationDTO,
+            Authentication authentication) {
+        CommentModerationResultDTO result = commentService.moderateComments(moderationDTO, authentication.getName());
+        return ResponseEntity.ok(result);
+    }
+
     @Operation(summary = "Ping endpoint for health checks", description = "Returns PONG if the controller is alive")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Controller is alive", content = @Content(mediaType = "text/plain"))
@@ -0,0 +1,88 @@
+package edu.uniquindio.stayhub.api.controller;
+
+import edu.uniquindio.stayhub.api.service.ResourceVersionService.ResourceVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+
+/**
+ * Conditional GET handling shared by the read endpoints.
+ * <p>
+ * The version of a resource is looked up first and compared with {@code If-None-Match}, or with
+ * {@code If-Modified-Since} when no tag is sent; a match is answered with 304 before the resource is
+ * loaded. Responses carry {@code Cache-Control: no-cache}, so clients and shared caches may store them
+ * but must revalidate each time; without it Spring Security marks every response {@code no-store}.
+ * Public data may be kept by shared caches, per-user data only by the client.
+ */
+final class ConditionalRequests {
+
+    static final CacheControl PUBLIC = CacheControl.noCache().cachePublic();
+    static final CacheControl PRIVATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Checks whether the client already has the current version of a resource.
+     *
+     * @param request The current request.
+     * @param version The version of the resource, or empty if it does not exist.
+     * @param cacheControl The caching allowed for the resource.
+     * @param varyBy The request headers the 200 response varies by, repeated in the 304 so shared
+     *               caches key both the same way.
+     * @return A 304 response if the client already has this version, otherwise empty.
+     */
+    static <T> Optional<ResponseEntity<T>> notModified(WebRequest request, Optional<ResourceVersion> version,
+                                                       CacheControl cacheControl, String... varyBy) {
+        if (version.isEmpty() || !matches(request, version.get())) {
+            return Optional.empty();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(cacheControl)
+                .eTag(version.get().etag())
+                .lastModified(version.get().lastModified());
+        if (varyBy.length > 0) {
+            builder.varyBy(varyBy);
+        }
+        return Optional.of(builder.build());
+    }
+
+    /**
+     * Starts a 200 response carrying the validators of a resource.
+     *
+     * @param version The version of the resource, or empty if it was not found.
+     * @param cacheControl The caching allowed for the resource.
+     * @return The response builder.
+     */
+    static ResponseEntity.BodyBuilder ok(Optional<ResourceVersion> version, CacheControl cacheControl) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(cacheControl);
+        version.ifPresent(v -> builder.eTag(v.etag()).lastModified(v.lastModified()));
+        return builder;
+    }
+
+    private static boolean matches(WebRequest request, ResourceVersion version) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            ETag current = ETag.create(version.etag());
+            return ETag.parse(ifNoneMatch).stream()
+                    .anyMatch(tag -> tag.isWildcard() || tag.compare(current, false));
+        }
+        String ifModifiedSince = request.getHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        if (ifModifiedSince == null) {
+            return false;
+        }
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, ifModifiedSince);
+            // HTTP dates have a one-second precision
+            return version.lastModified() / 1000 <= headers.getIfModifiedSince() / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package edu.uniquindio.stayhub.api.controller;
+
+import edu.uniquindio.stayhub.api.service.NotificationStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Tag(name = "Notification Management", description = "Endpoints for receiving notifications in StayHub")
+@RestController
+@RequestMapping("/api/v1/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationController.class);
+    private final NotificationStreamService notificationStreamService;
+
+    @Operation(summary = "Stream notifications", description = "Opens a Server-Sent Events stream that pushes new notifications of the authenticated user as they are created. " +
+            "Reconnecting clients send the Last-Event-ID header to receive the notifications they missed.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(
+            Authentication authentication,
+            @RequestHeader(value = "Last-Event-ID", required = false) @Parameter(description = "ID of the last notification received") Long lastEventId) {
+        LOGGER.debug("Opening notification stream for user: {}", authentication.getName());
+        return notificationStreamService.subscribe(authentication.getName(), lastEventId);
+    }
+
+    @Operation(summary = "Ping endpoint for health checks", description = "Returns PONG if the controller is alive")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Controller is alive", content = @Content(mediaType = "text/plain"))
+    })
+    @GetMapping("/ping")
+    public ResponseEntity<String> ping() {
+        return ResponseEntity.ok("PONG");
+    }
+}
@@ -1,6 +1,5 @@
 package edu.uniquindio.stayhub.api.controller;
 
-import edu.uniquindio.stayhub.api.config.RateLimiter;
 import edu.uniquindio.stayhub.api.dto.auth.TokenResponseDTO;
 import edu.uniquindio.stayhub.api.dto.auth.passwordReset.PasswordResetRequestDTO;
 import edu.uniquindio.stayhub.api.dto.auth.passwordReset.ResetPasswordDTO;
@@ -9,8 +8,9 @@ import edu.uniquindio.stayhub.api.dto.user.UpdateProfileDTO;
 import edu.uniquindio.stayhub.api.dto.user.UserLoginDTO;
 import edu.uniquindio.stayhub.api.dto.user.UserRegistrationDTO;
 import edu.uniquindio.stayhub.api.dto.user.UserResponseDTO;
+import edu.uniquindio.stayhub.api.service.ResourceVersionService;
+import edu.uniquindio.stayhub.api.service.ResourceVersionService.ResourceVersion;
 import edu.uniquindio.stayhub.api.service.UserService;
-import io.github.bucket4j.Bucket;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -20,13 +20,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
 
 @Tag(name = "User Management", description = "Endpoints for user registration, authentication, and profile management")
 @RestController
@@ -36,7 +42,7 @@ public class UserController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UserController.class);
     private final UserService userService;
-    private final RateLimiter rateLimiter;
+    private final ResourceVersionService resourceVersionService;
 
     @Operation(summary = "Register a new user", description = "Creates a new user account (guest or host) with the provided details")
     @ApiResponses(value = {
@@ -69,13 +75,17 @@ public class UserController {
                             examples = @ExampleObject(value = "{\"message\": \"Invalid email format\", \"code\": 400}"))),
             @ApiResponse(responseCode = "401", description = "Invalid credentials",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = edu.uniquindio.stayhub.api.dto.auth.Error.class),
-                            examples = @ExampleObject(value = "{\"message\": \"Incorrect email or password\", \"code\": 401}")))
+                            examples = @ExampleObject(value = "{\"message\": \"Incorrect email or password\", \"code\": 401}"))),
+            @ApiResponse(responseCode = "429", description = "Too many failed attempts for the account or client",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = edu.uniquindio.stayhub.api.dto.auth.Error.class),
+                            examples = @ExampleObject(value = "{\"message\": \"Too many failed attempts\", \"code\": 429}")))
     })
     @PostMapping("/login")
     public ResponseEntity<TokenResponseDTO> loginUser(
-            @Valid @RequestBody @Parameter(description = "User login credentials") UserLoginDTO loginDTO) {
+            @Valid @RequestBody @Parameter(description = "User login credentials") UserLoginDTO loginDTO,
+            HttpServletRequest request) {
         LOGGER.info("Processing login for email: {}", loginDTO.getEmail());
-        TokenResponseDTO token = userService.loginUser(loginDTO);
+        TokenResponseDTO token = userService.loginUser(loginDTO, request.getRemoteAddr());
         LOGGER.debug("User logged in successfully: {}", loginDTO.getEmail());
         return new ResponseEntity<>(token, HttpStatus.OK);
     }
@@ -121,11 +131,6 @@ public class UserController {
     public ResponseEntity<Void> requestPasswordReset(
             @Valid @RequestBody @Parameter(description = "User email") PasswordResetRequestDTO requestDTO) {
         LOGGER.info("Processing password reset request for email: {}", requestDTO.getEmail());
-        Bucket bucket = rateLimiter.resolveBucket(requestDTO.getEmail());
-        if (!bucket.tryConsume(1)) {
-            LOGGER.warn("Rate limit exceeded for email: {}", requestDTO.getEmail());
-            throw new IllegalStateException("Demasiadas solicitudes de restablecimiento de contraseña");
-        }
         userService.requestPasswordReset(requestDTO);
         LOGGER.debug("Password reset request processed successfully for email: {}", requestDTO.getEmail());
         return new ResponseEntity<>(HttpStatus.OK);
@@ -151,23 +156,62 @@ public class UserController {
         return new ResponseEntity<>(new SuccessResponseDTO("Password reset successfully"), HttpStatus.OK);
     }
 
+    @Operation(summary = "Log out", description = "Revokes the token used for this request; other sessions of the user stay open")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Session revoked",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = edu.uniquindio.stayhub.api.dto.auth.Error.class)))
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<SuccessResponseDTO> logout(Authentication authentication,
+                                                     @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        LOGGER.info("Revoking current session for user: {}", authentication.getName());
+        userService.logout(authorization.substring("Bearer ".length()));
+        return new ResponseEntity<>(new SuccessResponseDTO("Session revoked"), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Log out from all devices", description = "Revokes every token issued to the authenticated user, including the one used for this request")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "All sessions revoked",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = edu.uniquindio.stayhub.api.dto.auth.Error.class)))
+    })
+    @PostMapping("/logout-all")
+    public ResponseEntity<SuccessResponseDTO> logoutAll(Authentication authentication) {
+        LOGGER.info("Revoking all sessions for user: {}", authentication.getName());
+        userService.logoutAll(authentication.getName());
+        return new ResponseEntity<>(new SuccessResponseDTO("All sessions revoked"), HttpStatus.OK);
+    }
+
     @Operation(summary = "Get user profile", description = "Retrieves the profile information of the authenticated user")
     @SecurityRequirement(name = "bearerAuth")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Profile retrieved successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserResponseDTO.class),
                             examples = @ExampleObject(value = "{\"id\": 1, \"email\": \"user@example.com\", \"name\": \"Juan Perez\", \"phoneNumber\": \"+573001234567\", \"birthDate\": \"1990-05-15\", \"role\": \"GUEST\", \"profilePicture\": \"https://example.com/photo.jpg\", \"description\": null, \"legalDocuments\": null}"))),
+            @ApiResponse(responseCode = "304", description = "Profile not modified since the given ETag or date"),
             @ApiResponse(responseCode = "404", description = "User not found",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = edu.uniquindio.stayhub.api.dto.auth.Error.class),
                             examples = @ExampleObject(value = "{\"message\": \"User not found\", \"code\": 404}")))
     })
     @GetMapping("/profile")
     public ResponseEntity<UserResponseDTO> getProfile(
-            @RequestHeader("X-User-Id") @Parameter(description = "User ID", required = true) Long userId) {
+            @RequestHeader("X-User-Id") @Parameter(description = "User ID", required = true) Long userId,
+            WebRequest request) {
+        Optional<ResourceVersion> version = resourceVersionService.getProfileVersion(userId);
+        Optional<ResponseEntity<UserResponseDTO>> notModified =
+                ConditionalRequests.notModified(request, version, ConditionalRequests.PRIVATE);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
         LOGGER.info("Fetching profile for user ID: {}", userId);
         UserResponseDTO response = userService.getProfile(userId);
         LOGGER.debug("Profile fetched successfully for user ID: {}", userId);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        return ConditionalRequests.ok(version, ConditionalRequests.PRIVATE).body(response);
     }
 
     @Operation(summary = "Get user by ID", description = "Retrieves user information by ID")
@@ -175,16 +219,24 @@ public class UserController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User retrieved successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "User not modified since the given ETag or date"),
             @ApiResponse(responseCode = "404", description = "User not found",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = edu.uniquindio.stayhub.api.dto.auth.Error.class)))
     })
     @GetMapping("/{id}")
     public ResponseEntity<UserResponseDTO> getUserById(
-            @PathVariable("id") @Parameter(description = "User ID", required = true) Long id) {
+            @PathVariable("id") @Parameter(description = "User ID", required = true) Long id,
+            WebRequest request) {
+        Optional<ResourceVersion> version = resourceVersionService.getProfileVersion(id);
+        Optional<ResponseEntity<UserResponseDTO>> notModified =
+                ConditionalRequests.notModified(request, version, ConditionalRequests.PRIVATE);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
         LOGGER.info("Fetching info for user ID: {}", id);
         UserResponseDTO response = userService.getProfile(id);
         LOGGER.debug("Info fetched successfully for user ID: {}", id);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        return ConditionalRequests.ok(version, ConditionalRequests.PRIVATE).body(response);
     }
 
     @Operation(summary = "Ping endpoint for health checks", description = "Returns PONG if the controller is alive")
@@ -0,0 +1,55 @@
+package edu.uniquindio.stayhub.api.dto.accommodation;
+
+import edu.uniquindio.stayhub.api.dto.amenity.AmenityResponseDTO;
+import edu.uniquindio.stayhub.api.dto.comment.CommentResponseDTO;
+import edu.uniquindio.stayhub.api.dto.host.HostCardDTO;
+import edu.uniquindio.stayhub.api.dto.responses.SearchResponseDTO;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object with everything an accommodation page shows, returned in a single call.
+ * Parts that could not be loaded in time are null and listed in {@code unavailableParts}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Everything an accommodation page shows, returned in a single call")
+public class AccommodationDetailDTO {
+
+    /**
+     * The accommodation, including its rating summary.
+     */
+    @Schema(description = "The accommodation, including its rating summary")
+    private AccommodationResponseDTO accommodation;
+
+    /**
+     * The host of the accommodation.
+     */
+    @Schema(description = "The host of the accommodation")
+    private HostCardDTO host;
+
+    /**
+     * The first page of comments, most helpful first.
+     */
+    @Schema(description = "The first page of comments, most helpful first")
+    private SearchResponseDTO<CommentResponseDTO> comments;
+
+    /**
+     * The amenities of the accommodation.
+     */
+    @Schema(description = "The amenities of the accommodation")
+    private List<AmenityResponseDTO> amenities;
+
+    /**
+     * The parts that could not be loaded in time and are left null.
+     */
+    @Schema(description = "The parts that could not be loaded in time and are left null", example = "[\"comments\"]")
+    private List<String> unavailableParts;
+}
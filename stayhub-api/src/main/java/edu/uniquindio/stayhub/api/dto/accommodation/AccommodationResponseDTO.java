@@ -85,4 +85,22 @@ public class AccommodationResponseDTO {
      */
     @Schema(description = "A list of URLs for additional images of the accommodation")
     private List<String> images;
-}
\ No newline at end of file
+
+    /**
+     * The average rating of the accommodation, or 0.0 if it has no ratings.
+     */
+    @Schema(description = "The average rating of the accommodation, or 0.0 if it has no ratings", example = "4.6")
+    private Double averageRating;
+
+    /**
+     * The number of ratings of the accommodation.
+     */
+    @Schema(description = "The number of ratings of the accommodation", example = "25")
+    private Long ratingCount;
+
+    /**
+     * The number of ratings of each value, from 1 to 5 stars.
+     */
+    @Schema(description = "The number of ratings of each value, from 1 to 5 stars", example = "[0, 1, 1, 5, 18]")
+    private List<Long> ratingHistogram;
+}
@@ -0,0 +1,71 @@
+package edu.uniquindio.stayhub.api.dto.comment;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Data Transfer Object for deleting or restoring many comments at once.
+ * Exactly one of the comment IDs, the user or the accommodation selects the comments;
+ * the date window optionally narrows the selection.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "DTO for deleting or restoring many comments at once")
+public class CommentModerationDTO {
+
+    /**
+     * What to do with the selected comments.
+     */
+    public enum Action {
+        DELETE,
+        RESTORE
+    }
+
+    /**
+     * What to do with the selected comments.
+     */
+    @NotNull(message = "Action is required")
+    @Schema(description = "What to do with the selected comments", example = "DELETE")
+    private Action action;
+
+    /**
+     * The IDs of the comments to moderate.
+     */
+    @Size(max = 1000, message = "At most 1000 comment IDs can be moderated at once")
+    @Schema(description = "The IDs of the comments to moderate", example = "[12, 13, 14]")
+    private Set<Long> commentIds;
+
+    /**
+     * The ID of the user whose comments are moderated.
+     */
+    @Schema(description = "The ID of the user whose comments are moderated", example = "7")
+    private Long userId;
+
+    /**
+     * The ID of the accommodation whose comments are moderated.
+     */
+    @Schema(description = "The ID of the accommodation whose comments are moderated", example = "101")
+    private Long accommodationId;
+
+    /**
+     * Only comments created at or after this date are moderated.
+     */
+    @Schema(description = "Only comments created at or after this date are moderated", example = "2025-06-01T00:00:00")
+    private LocalDateTime from;
+
+    /**
+     * Only comments created before this date are moderated.
+     */
+    @Schema(description = "Only comments created before this date are moderated", example = "2025-06-02T00:00:00")
+    private LocalDateTime to;
+}
@@ -0,0 +1,30 @@
+package edu.uniquindio.stayhub.api.dto.comment;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object with the outcome of a bulk comment moderation.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Outcome of a bulk comment moderation")
+public class CommentModerationResultDTO {
+
+    /**
+     * The number of comments deleted or restored.
+     */
+    @Schema(description = "The number of comments deleted or restored", example = "250")
+    private int updated;
+
+    /**
+     * The number of accommodations whose ratings changed.
+     */
+    @Schema(description = "The number of accommodations whose ratings changed", example = "3")
+    private int accommodations;
+}
@@ -0,0 +1,50 @@
+package edu.uniquindio.stayhub.api.dto.host;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object with the public summary of a host shown on an accommodation page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Public summary of a host shown on an accommodation page")
+public class HostCardDTO {
+
+    /**
+     * The unique identifier of the host.
+     */
+    @Schema(description = "The unique identifier of the host", example = "2")
+    private Long id;
+
+    /**
+     * The name of the host.
+     */
+    @Schema(description = "The name of the host", example = "María Gómez")
+    private String name;
+
+    /**
+     * The URL of the profile picture of the host.
+     */
+    @Schema(description = "The URL of the profile picture of the host", example = "https://example.com/images/maria.jpg")
+    private String profilePicture;
+
+    /**
+     * The description of the host profile, if any.
+     */
+    @Schema(description = "The description of the host profile", example = "I love sharing my city with travelers.")
+    private String description;
+
+    /**
+     * When the host joined StayHub.
+     */
+    @Schema(description = "When the host joined StayHub", example = "2024-03-10T12:00:00")
+    private LocalDateTime memberSince;
+}
@@ -0,0 +1,26 @@
+package edu.uniquindio.stayhub.api.dto.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * DTO for a page of a feed read with a cursor instead of a page number. The next page is requested
+ * with {@code nextCursor}; it is null on the last page.
+ */
+@Getter
+@AllArgsConstructor
+@Schema(description = "DTO for a page of a feed read with a cursor, newest items first")
+public class CursorPageDTO<T> {
+
+    @Schema(description = "The items of the page")
+    private List<T> content;
+
+    @Schema(description = "The cursor of the next page, or null if this is the last page", example = "MjAyNC0wNS0xNVQxMDozMDowMHw1MA")
+    private String nextCursor;
+
+    @Schema(description = "The maximum number of items per page", example = "20")
+    private int size;
+}
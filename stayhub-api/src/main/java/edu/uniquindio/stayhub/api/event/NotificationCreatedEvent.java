@@ -0,0 +1,13 @@
+package edu.uniquindio.stayhub.api.event;
+
+import edu.uniquindio.stayhub.api.dto.notification.NotificationResponseDTO;
+
+/**
+ * Application event published when a notification has been persisted.
+ * Listeners receive it after the surrounding transaction commits, so the
+ * notification is guaranteed to be visible to any follow-up query.
+ *
+ * @param notification The notification that was created.
+ */
+public record NotificationCreatedEvent(NotificationResponseDTO notification) {
+}
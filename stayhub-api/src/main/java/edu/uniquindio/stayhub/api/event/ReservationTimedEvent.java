@@ -0,0 +1,13 @@
+package edu.uniquindio.stayhub.api.event;
+
+import edu.uniquindio.stayhub.api.model.ScheduledEventType;
+
+/**
+ * Application event published when a timed event of a reservation becomes due.
+ * It is published once per scheduled event across all nodes.
+ *
+ * @param reservationId The ID of the reservation.
+ * @param type The kind of event that became due.
+ */
+public record ReservationTimedEvent(Long reservationId, ScheduledEventType type) {
+}
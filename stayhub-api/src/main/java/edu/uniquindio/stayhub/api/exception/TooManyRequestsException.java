@@ -0,0 +1,25 @@
+package edu.uniquindio.stayhub.api.exception;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+
+/**
+ * Exception thrown when a request is rejected because the server is saturated
+ * or the client has made too many attempts.
+ */
+@Getter
+@Schema(description = "Exception thrown when a request is rejected because the server is saturated or the client has made too many attempts.")
+public class TooManyRequestsException extends RuntimeException {
+
+    /**
+     * Seconds the client should wait before retrying.
+     */
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message) { this(message, 1); }
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
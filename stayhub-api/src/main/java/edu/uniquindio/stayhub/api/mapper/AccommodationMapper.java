@@ -25,9 +25,12 @@ public interface AccommodationMapper {
      * <li>{@code amenities}</li>
      * <li>{@code reservations}</li>
      * <li>{@code comments}</li>
+     * <li>{@code ratingSummary}</li>
+     * <li>{@code rankingScore}</li>
      * <li>{@code deleted}</li>
      * <li>{@code createdAt}</li>
      * <li>{@code updatedAt}</li>
+     * <li>{@code contentUpdatedAt}</li>
      * </ul>
      *
      * @param dto The DTO containing the data to convert.
@@ -38,9 +41,12 @@ public interface AccommodationMapper {
     @Mapping(target = "amenities", ignore = true)
     @Mapping(target = "reservations", ignore = true)
     @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "ratingSummary", ignore = true)
+    @Mapping(target = "rankingScore", ignore = true)
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "contentUpdatedAt", ignore = true)
     Accommodation toEntity(AccommodationRequestDTO dto);
 
     /**
@@ -60,6 +66,9 @@ public interface AccommodationMapper {
     @Mapping(source = "city", target = "city")
     @Mapping(source = "pricePerNight", target = "pricePerNight")
     @Mapping(source = "images", target = "images")
+    @Mapping(source = "ratingSummary.average", target = "averageRating")
+    @Mapping(source = "ratingSummary.ratingCount", target = "ratingCount")
+    @Mapping(source = "ratingSummary.histogram", target = "ratingHistogram")
     AccommodationResponseDTO toResponseDTO(Accommodation accommodation);
 
     /**
@@ -72,9 +81,12 @@ public interface AccommodationMapper {
      * <li>{@code amenities}</li>
      * <li>{@code reservations}</li>
      * <li>{@code comments}</li>
+     * <li>{@code ratingSummary}</li>
+     * <li>{@code rankingScore}</li>
      * <li>{@code deleted}</li>
      * <li>{@code createdAt}</li>
      * <li>{@code updatedAt}</li>
+     * <li>{@code contentUpdatedAt}</li>
      * </ul>
      *
      * @param dto The DTO containing the updated data.
@@ -85,8 +97,11 @@ public interface AccommodationMapper {
     @Mapping(target = "amenities", ignore = true)
     @Mapping(target = "reservations", ignore = true)
     @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "ratingSummary", ignore = true)
+    @Mapping(target = "rankingScore", ignore = true)
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "contentUpdatedAt", ignore = true)
     void updateEntity(AccommodationUpdateDTO dto, @MappingTarget Accommodation accommodation);
 }
\ No newline at end of file
@@ -25,6 +25,8 @@ public interface CommentMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "helpfulnessScore", ignore = true)
+    @Mapping(target = "reviewSlot", ignore = true)
     Comment toEntity(CommentRequestDTO dto);
 
     /**
@@ -36,6 +38,8 @@ public interface CommentMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "helpfulnessScore", ignore = true)
+    @Mapping(target = "reviewSlot", ignore = true)
     Comment toEntity(CommentUpdateDTO dto);
 
     /**
@@ -47,6 +51,8 @@ public interface CommentMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "helpfulnessScore", ignore = true)
+    @Mapping(target = "reviewSlot", ignore = true)
     void updateEntity(CommentUpdateDTO dto, @MappingTarget Comment comment);
 
     /**
@@ -36,6 +36,8 @@ public interface ReservationMapper {
     @Mapping(target = "accommodation", ignore = true)
     @Mapping(target = "totalPrice", ignore = true)
     @Mapping(target = "status", ignore = true)
+    @Mapping(target = "checkInGuestReminderSentAt", ignore = true)
+    @Mapping(target = "checkInHostReminderSentAt", ignore = true)
     Reservation toEntity(ReservationRequestDTO dto);
 
     default ReservationResponseDTO toResponseDTO(Reservation reservation) {
@@ -75,6 +77,8 @@ public interface ReservationMapper {
     @Mapping(target = "numberOfGuests", ignore = true)
     @Mapping(target = "totalPrice", ignore = true)
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "checkInGuestReminderSentAt", ignore = true)
+    @Mapping(target = "checkInHostReminderSentAt", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     void updateEntity(ReservationUpdateDTO dto, @MappingTarget Reservation reservation);
@@ -34,6 +34,7 @@ public interface UserMapper {
     @Mapping(target = "birthDate", source = "birthDate")
     @Mapping(target = "profilePicture", source = "profilePicture")
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     User toEntity(UpdateProfileDTO dto);
 
     @Mapping(target = "email", source = "email")
@@ -42,6 +43,7 @@ public interface UserMapper {
     @Mapping(target = "birthDate", source = "birthDate")
     @Mapping(target = "role", source = "role")
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     User toEntity(UserRegistrationDTO dto);
 
     /**
@@ -59,6 +61,7 @@ public interface UserMapper {
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "hostProfile", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     void updateUser(@Valid UpdateProfileDTO dto, @MappingTarget User user);
 
     @Named("setHostProfile")
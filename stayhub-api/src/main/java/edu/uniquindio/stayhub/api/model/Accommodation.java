@@ -3,6 +3,7 @@ package edu.uniquindio.stayhub.api.model;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -40,7 +41,9 @@ import java.util.List;
 @Entity
 @Table(name = "accommodations", indexes = {
         @Index(name = "idx_host_id", columnList = "host_id"),
-        @Index(name = "idx_deleted", columnList = "deleted")
+        @Index(name = "idx_deleted", columnList = "deleted"),
+        @Index(name = "idx_accommodations_ranking", columnList = "deleted, ranking_score"),
+        @Index(name = "idx_accommodations_content_updated_at", columnList = "content_updated_at")
 })
 @Getter
 @Setter
@@ -169,6 +172,22 @@ public class Accommodation {
     @OneToMany(mappedBy = "accommodation")
     private List<Comment> comments;
 
+    /**
+     * The summary of the ratings of the accommodation, kept up to date as comments change,
+     * so listings can show ratings without querying the comments.
+     */
+    @Embedded
+    @Builder.Default
+    private RatingSummary ratingSummary = new RatingSummary();
+
+    /**
+     * The Bayesian average rating of the accommodation against the prior of its city, used to rank
+     * listings. Never written through the entity; 0 until the accommodation is first scored.
+     */
+    @Column(name = "ranking_score", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "DOUBLE PRECISION DEFAULT 0")
+    private double rankingScore;
+
     /**
      * A soft-delete flag. If true, the accommodation is considered deleted.
      */
@@ -192,6 +211,16 @@ public class Accommodation {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * The timestamp of the last change to anything shown in the responses of the accommodation,
+     * including its images, rating summary and ranking score. It versions those responses for
+     * conditional requests, and is also moved by the bulk rating and ranking updates, which leave
+     * {@code updatedAt} alone. Managed by Hibernate's @UpdateTimestamp on entity updates.
+     */
+    @UpdateTimestamp
+    @Column(name = "content_updated_at", nullable = false)
+    private LocalDateTime contentUpdatedAt;
+
     public Accommodation(String title, User host) {
         this.title = title;
         this.host = host;
@@ -8,6 +8,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entity representing an amenity (service or feature) of accommodation.
@@ -15,6 +17,7 @@ import lombok.experimental.SuperBuilder;
  */
 @Entity
 @Table(name = "amenities")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "entity.amenity")
 @Getter @Setter @SuperBuilder @NoArgsConstructor @AllArgsConstructor
 public class Amenity extends Auditable{
     /**
@@ -0,0 +1,86 @@
+package edu.uniquindio.stayhub.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a notification moved out of the 'notifications' table by the retention job.
+ * This class maps to the 'notifications_archive' table, which keeps old read or deleted notifications
+ * for auditing without slowing down the inbox queries. Rows keep the ID and timestamps they had.
+ */
+@Entity
+@Table(name = "notifications_archive", indexes = {
+        @Index(name = "idx_notifications_archive_user_id", columnList = "user_id"),
+        @Index(name = "idx_notifications_archive_archived_at", columnList = "archived_at")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ArchivedNotification {
+
+    /**
+     * The identifier the notification had in the 'notifications' table.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * The ID of the user the notification was sent to.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * The type of the notification, defined by the {@link NotificationType} enum.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    /**
+     * The content of the notification message.
+     */
+    @Column(nullable = false)
+    private String message;
+
+    /**
+     * The status the notification had when it was archived.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationStatus status;
+
+    /**
+     * Whether the notification had been soft-deleted when it was archived.
+     */
+    @Column(nullable = false)
+    private boolean deleted;
+
+    /**
+     * The date and time the notification was created.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * The date and time the notification was last modified.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * The date and time the notification was archived.
+     */
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
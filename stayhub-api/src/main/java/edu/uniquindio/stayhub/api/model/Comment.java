@@ -20,11 +20,21 @@ import java.time.LocalDateTime;
 @Table(name = "comments", indexes = {
         @Index(name = "idx_user_id", columnList = "user_id"),
         @Index(name = "idx_accommodation_id", columnList = "accommodation_id"),
-        @Index(name = "idx_deleted", columnList = "deleted")
+        @Index(name = "idx_deleted", columnList = "deleted"),
+        @Index(name = "idx_comments_accommodation_feed", columnList = "accommodation_id, deleted, created_at"),
+        @Index(name = "idx_comments_user_feed", columnList = "user_id, deleted, created_at"),
+        @Index(name = "idx_comments_helpfulness", columnList = "accommodation_id, deleted, helpfulness_score")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = Comment.REVIEW_SLOT_CONSTRAINT, columnNames = {"accommodation_id", "review_slot"})
 })
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @SuperBuilder
 public class Comment extends Auditable{
 
+    /**
+     * The unique constraint that allows one non-deleted comment per user and accommodation.
+     */
+    public static final String REVIEW_SLOT_CONSTRAINT = "uk_comments_review_slot";
+
     /**
      * The unique identifier for the comment.
      */
@@ -69,6 +79,21 @@ public class Comment extends Auditable{
 
     private LocalDateTime replyDate;
 
+    /**
+     * The ID of the author while the comment is not deleted, null once it is. Unique per accommodation,
+     * so the database itself allows only one non-deleted comment per user and accommodation, the way
+     * a partial unique index would, while deleted comments never conflict.
+     */
+    @Column(name = "review_slot")
+    private Long reviewSlot;
+
+    /**
+     * The score used to show the most helpful comments first, from its recency and whether the host
+     * replied. 0 until the comment is first scored.
+     */
+    @Column(name = "helpfulness_score", nullable = false, columnDefinition = "DOUBLE PRECISION DEFAULT 0")
+    private double helpfulnessScore;
+
     /**
      * A flag indicating whether the comment has been soft-deleted.
      */
@@ -27,7 +27,8 @@ import lombok.experimental.SuperBuilder;
 @Entity
 @Table(name = "notifications", indexes = {
         @Index(name = "idx_user_id", columnList = "user_id"),
-        @Index(name = "idx_deleted", columnList = "deleted")
+        @Index(name = "idx_deleted", columnList = "deleted"),
+        @Index(name = "idx_notifications_created_at", columnList = "created_at")
 })
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 @SuperBuilder
@@ -0,0 +1,56 @@
+package edu.uniquindio.stayhub.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entity representing a rate limiting token bucket shared by every API instance.
+ * This class maps to the 'rate_limit_buckets' table. Rows are only changed with a compare-and-swap
+ * on {@code version}, so concurrent instances never lose each other's consumption. Times are
+ * epoch milliseconds, so the refill arithmetic does not depend on the database time zone.
+ */
+@Entity
+@Table(name = "rate_limit_buckets", indexes = {
+        @Index(name = "idx_rate_limit_buckets_full_at", columnList = "full_at")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class RateLimitBucket {
+
+    /**
+     * The policy name and key the bucket counts, as {@code policy:key}.
+     */
+    @Id
+    @Column(name = "bucket_key", length = 320)
+    private String bucketKey;
+
+    /**
+     * The tokens left as of {@link #refilledAt}.
+     */
+    @Column(nullable = false)
+    private long tokens;
+
+    /**
+     * The time up to which refilled tokens have been added.
+     */
+    @Column(name = "refilled_at", nullable = false)
+    private long refilledAt;
+
+    /**
+     * The time at which the bucket will be full again; after it the row can be deleted without losing state.
+     */
+    @Column(name = "full_at", nullable = false)
+    private long fullAt;
+
+    /**
+     * Incremented on every update, for the compare-and-swap.
+     */
+    @Column(nullable = false)
+    private long version;
+}
@@ -0,0 +1,67 @@
+package edu.uniquindio.stayhub.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Denormalized summary of the ratings of the non-deleted comments of an accommodation:
+ * how many there are, their sum, and how many of each value from 1 to 5.
+ * <p>
+ * The columns are never written through the entity; they are changed by atomic deltas
+ * ({@code AccommodationRepository#applyRatingDelta}) when comments are created, updated or
+ * deleted, so concurrent reviews and edits of the accommodation cannot overwrite each other.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingSummary {
+
+    /**
+     * The number of non-deleted comments.
+     */
+    @Column(name = "rating_count", nullable = false, updatable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long ratingCount;
+
+    /**
+     * The sum of the ratings of the non-deleted comments.
+     */
+    @Column(name = "rating_sum", nullable = false, updatable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long ratingSum;
+
+    @Column(name = "rating_1", nullable = false, updatable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long rating1;
+
+    @Column(name = "rating_2", nullable = false, updatable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long rating2;
+
+    @Column(name = "rating_3", nullable = false, updatable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long rating3;
+
+    @Column(name = "rating_4", nullable = false, updatable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long rating4;
+
+    @Column(name = "rating_5", nullable = false, updatable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long rating5;
+
+    /**
+     * Returns the average rating, or 0.0 if there are no ratings.
+     */
+    public double getAverage() {
+        return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+    }
+
+    /**
+     * Returns the number of ratings of each value, from 1 to 5.
+     */
+    public List<Long> getHistogram() {
+        return List.of(rating1, rating2, rating3, rating4, rating5);
+    }
+}
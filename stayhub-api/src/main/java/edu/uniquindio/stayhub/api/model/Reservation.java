@@ -104,6 +104,21 @@ public class Reservation extends Auditable{
     @Builder.Default
     private boolean deleted = false;
 
+    /**
+     * The date and time when the check-in reminder was sent to the guest of this reservation.
+     * Null while it has not been sent, which keeps reminder runs idempotent. The column keeps the
+     * name it had when a single mark covered both emails.
+     */
+    @Column(name = "check_in_reminder_sent_at")
+    private LocalDateTime checkInGuestReminderSentAt;
+
+    /**
+     * The date and time when the check-in reminder was sent to the host of this reservation.
+     * Null while it has not been sent.
+     */
+    @Column(name = "check_in_host_reminder_sent_at")
+    private LocalDateTime checkInHostReminderSentAt;
+
     @AssertTrue(message = "La fecha de check-out debe ser posterior al check-in")
     public boolean isCheckOutAfterCheckIn() {
         if (checkInDate == null || checkOutDate == null) {
@@ -0,0 +1,52 @@
+package edu.uniquindio.stayhub.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a single JWT token revoked before its expiration, for example on logout.
+ * This class maps to the 'revoked_tokens' table. Rows are only needed until the token expires,
+ * after which the token is rejected anyway and the row is deleted.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class RevokedToken {
+
+    /**
+     * The unique ID (jti claim) of the revoked token.
+     */
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    /**
+     * The ID of the user the token was issued to, if known.
+     */
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * The expiration date of the token.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * The date and time the token was revoked.
+     */
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
@@ -11,5 +11,10 @@ public enum Role {
     /**
      * A user who can list and manage their own accommodations.
      */
-    HOST
+    HOST,
+    /**
+     * A user who moderates the content of the whole application. Cannot be registered through the API.
+     * Schemas created before this role keep a {@code users_role_check} constraint without it.
+     */
+    ADMIN
 }
\ No newline at end of file
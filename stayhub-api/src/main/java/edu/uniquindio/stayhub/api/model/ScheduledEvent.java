@@ -0,0 +1,62 @@
+package edu.uniquindio.stayhub.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a pending timed event of a reservation.
+ * This class maps to the 'scheduled_events' table, which makes the in-memory
+ * timing wheel durable: a row exists until its event fires or is cancelled.
+ */
+@Entity
+@Table(name = "scheduled_events", indexes = {
+        @Index(name = "idx_scheduled_events_due_at", columnList = "due_at"),
+        @Index(name = "idx_scheduled_events_reservation_id", columnList = "reservation_id")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @SuperBuilder
+public class ScheduledEvent extends Auditable {
+
+    /**
+     * The unique identifier for the scheduled event.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The ID of the reservation the event belongs to.
+     */
+    @Column(name = "reservation_id", nullable = false)
+    @NotNull(message = "La reserva es obligatoria")
+    private Long reservationId;
+
+    /**
+     * The kind of event, defined by the {@link ScheduledEventType} enum.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @NotNull(message = "El tipo de evento es obligatorio")
+    private ScheduledEventType type;
+
+    /**
+     * The date and time when the event is due.
+     */
+    @Column(name = "due_at", nullable = false)
+    @NotNull(message = "La fecha del evento es obligatoria")
+    private LocalDateTime dueAt;
+}
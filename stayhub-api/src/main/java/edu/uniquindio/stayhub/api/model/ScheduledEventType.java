@@ -0,0 +1,19 @@
+package edu.uniquindio.stayhub.api.model;
+
+/**
+ * Enum to represent the kinds of timed events scheduled for a reservation.
+ */
+public enum ScheduledEventType {
+    /**
+     * Remind the guest and host that the check-in is coming up.
+     */
+    CHECK_IN_REMINDER,
+    /**
+     * Cancel the reservation if the host has not confirmed it in time.
+     */
+    PENDING_HOLD_EXPIRY,
+    /**
+     * Invite the guest to review the accommodation after the stay.
+     */
+    REVIEW_PROMPT
+}
@@ -64,7 +64,7 @@ public class User extends Auditable{
     private String password;
 
     /**
-     * The user's role within the application (e.g., GUEST, HOST).
+     * The user's role within the application (e.g., GUEST, HOST, ADMIN).
      */
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -98,6 +98,14 @@ public class User extends Auditable{
     @Builder.Default
     private boolean deleted = false;
 
+    /**
+     * The version of the user's tokens. It is embedded in every issued JWT and incremented
+     * to revoke all of the user's tokens at once (password reset, logout from all devices).
+     */
+    @Column(name = "token_version", nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    @Builder.Default
+    private int tokenVersion = 0;
+
     /**
      * An optional URL for the user's profile picture.
      */
@@ -2,14 +2,18 @@ package edu.uniquindio.stayhub.api.repository;
 
 import edu.uniquindio.stayhub.api.model.Accommodation;
 import edu.uniquindio.stayhub.api.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -107,4 +111,112 @@ public interface AccommodationRepository extends JpaRepository<Accommodation, Lo
             Pageable pageable);
 
     Page<Accommodation> findByHostAndDeletedFalse(User host, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Atomically adds deltas to the rating summary of an accommodation and moves the version of its content.
+     * @param id The ID of the accommodation.
+     * @param count The change in the number of ratings.
+     * @param sum The change in the sum of the ratings.
+     * @param rating1 The change in the number of 1-star ratings.
+     * @param rating2 The change in the number of 2-star ratings.
+     * @param rating3 The change in the number of 3-star ratings.
+     * @param rating4 The change in the number of 4-star ratings.
+     * @param rating5 The change in the number of 5-star ratings.
+     * @param now The new content modification date.
+     * @return The number of rows updated.
+     */
+    @Modifying
+    @Query("UPDATE Accommodation a SET " +
+            "a.ratingSummary.ratingCount = a.ratingSummary.ratingCount + :count, " +
+            "a.ratingSummary.ratingSum = a.ratingSummary.ratingSum + :sum, " +
+            "a.ratingSummary.rating1 = a.ratingSummary.rating1 + :rating1, " +
+            "a.ratingSummary.rating2 = a.ratingSummary.rating2 + :rating2, " +
+            "a.ratingSummary.rating3 = a.ratingSummary.rating3 + :rating3, " +
+            "a.ratingSummary.rating4 = a.ratingSummary.rating4 + :rating4, " +
+            "a.ratingSummary.rating5 = a.ratingSummary.rating5 + :rating5, " +
+            "a.contentUpdatedAt = :now " +
+            "WHERE a.id = :id")
+    int applyRatingDelta(@Param("id") Long id, @Param("count") long count, @Param("sum") long sum,
+                         @Param("rating1") long rating1, @Param("rating2") long rating2, @Param("rating3") long rating3,
+                         @Param("rating4") long rating4, @Param("rating5") long rating5, @Param("now") LocalDateTime now);
+
+    /**
+     * Retrieves and locks the IDs, cities and stored rating summaries of a page of accommodations, by ascending ID.
+     * The rows stay locked until the end of the transaction, so no rating delta can be applied to them meanwhile.
+     * @param afterId The ID after which the page starts.
+     * @param pageable The page size.
+     * @return Rows of [id, city, ratingSummary].
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a.id, a.city, a.ratingSummary FROM Accommodation a WHERE a.id > :afterId ORDER BY a.id")
+    List<Object[]> findRatingSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Sums the ratings of the non-deleted accommodations of each city, used to compute the city priors.
+     * @return Rows of [city, ratingSum, ratingCount].
+     */
+    @Query("SELECT a.city, SUM(a.ratingSummary.ratingSum), SUM(a.ratingSummary.ratingCount) " +
+            "FROM Accommodation a WHERE a.deleted = false GROUP BY a.city")
+    List<Object[]> sumRatingsByCity();
+
+    /**
+     * Sets the ranking score of an accommodation to the Bayesian average of its rating summary.
+     * @param id The ID of the accommodation.
+     * @param prior The prior rating.
+     * @param weight The number of virtual ratings at the prior.
+     * @return The number of rows updated.
+     */
+    @Modifying
+    @Query("UPDATE Accommodation a SET a.rankingScore = " +
+            "(:weight * :prior + a.ratingSummary.ratingSum) / (:weight + a.ratingSummary.ratingCount) " +
+            "WHERE a.id = :id")
+    int updateRankingScore(@Param("id") Long id, @Param("prior") double prior, @Param("weight") double weight);
+
+    /**
+     * Sets the ranking score of the accommodations of a city to the Bayesian average of their rating summaries,
+     * moving the version of their content since their place in the listings may change.
+     * @param city The city.
+     * @param prior The prior rating of the city.
+     * @param weight The number of virtual ratings at the prior.
+     * @param onlyUnscored Whether to update only the accommodations never scored.
+     * @param now The new content modification date.
+     * @return The number of rows updated.
+     */
+    @Modifying
+    @Query("UPDATE Accommodation a SET a.rankingScore = " +
+            "(:weight * :prior + a.ratingSummary.ratingSum) / (:weight + a.ratingSummary.ratingCount), " +
+            "a.contentUpdatedAt = :now " +
+            "WHERE a.city = :city AND (:onlyUnscored = false OR a.rankingScore = 0)")
+    int updateRankingScores(@Param("city") String city, @Param("prior") double prior, @Param("weight") double weight,
+                            @Param("onlyUnscored") boolean onlyUnscored, @Param("now") LocalDateTime now);
+
+    /**
+     * Retrieves the content modification date of a non-deleted accommodation.
+     * @param id The ID of the accommodation.
+     * @return The content modification date, or empty if the accommodation does not exist or was deleted.
+     */
+    @Query("SELECT a.contentUpdatedAt FROM Accommodation a WHERE a.id = :id AND a.deleted = false")
+    Optional<LocalDateTime> findContentUpdatedAtById(@Param("id") Long id);
+
+    /**
+     * Retrieves the last modification dates of everything shown on the page of a non-deleted
+     * accommodation: the accommodation, its host and host profile, its comments and its amenities.
+     * @param id The ID of the accommodation.
+     * @return At most one row of [accommodationContentUpdatedAt, hostUpdatedAt, hostProfileUpdatedAt,
+     * lastCommentUpdatedAt, lastAmenityUpdatedAt]; the last three may be null.
+     */
+    @Query("SELECT a.contentUpdatedAt, h.updatedAt, hp.updatedAt, " +
+            "(SELECT MAX(c.updatedAt) FROM Comment c WHERE c.accommodation = a), " +
+            "(SELECT MAX(am.updatedAt) FROM Accommodation a2 JOIN a2.amenities am WHERE a2 = a) " +
+            "FROM Accommodation a JOIN a.host h LEFT JOIN h.hostProfile hp " +
+            "WHERE a.id = :id AND a.deleted = false")
+    List<Object[]> findDetailUpdatedAtById(@Param("id") Long id);
+
+    /**
+     * Retrieves the latest content modification date of any accommodation, deleted ones included, so
+     * that deleting an accommodation also changes it.
+     * @return The latest content modification date, or null if there are no accommodations.
+     */
+    @Query("SELECT MAX(a.contentUpdatedAt) FROM Accommodation a")
+    LocalDateTime findLastContentUpdatedAt();
+}
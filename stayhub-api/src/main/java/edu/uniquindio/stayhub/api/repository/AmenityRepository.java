@@ -2,6 +2,8 @@ package edu.uniquindio.stayhub.api.repository;
 
 import edu.uniquindio.stayhub.api.model.Amenity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -27,4 +29,7 @@ public interface AmenityRepository extends JpaRepository<Amenity, Long> {
      * @return true if an amenity with the name exists, false otherwise.
      */
     boolean existsByName(String name);
+
+    @Query("SELECT am FROM Accommodation a JOIN a.amenities am WHERE a.id = :accommodationId ORDER BY am.name")
+    List<Amenity> findByAccommodationId(@Param("accommodationId") Long accommodationId);
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package edu.uniquindio.stayhub.api.repository;
+
+import edu.uniquindio.stayhub.api.model.ArchivedNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Repository interface for managing ArchivedNotification entities.
+ */
+@Repository
+public interface ArchivedNotificationRepository extends JpaRepository<ArchivedNotification, Long> {
+
+    /**
+     * Copies the given notifications into the archive with a single INSERT ... SELECT,
+     * without loading them into the persistence context.
+     *
+     * @param ids The IDs of the notifications to archive.
+     * @param archivedAt The date and time of the archival.
+     * @return The number of notifications copied.
+     */
+    @Modifying
+    @Query("INSERT INTO ArchivedNotification (id, userId, type, message, status, deleted, createdAt, updatedAt, archivedAt) " +
+            "SELECT n.id, n.user.id, n.type, n.message, n.status, n.deleted, n.createdAt, n.updatedAt, :archivedAt " +
+            "FROM Notification n WHERE n.id IN :ids")
+    int archive(Collection<Long> ids, LocalDateTime archivedAt);
+}
@@ -1,13 +1,18 @@
 package edu.uniquindio.stayhub.api.repository;
 
+import edu.uniquindio.stayhub.api.dto.comment.CommentResponseDTO;
 import edu.uniquindio.stayhub.api.model.Comment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,13 +24,29 @@ import java.util.List;
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     /**
-     * Retrieves a list of non-deleted comments for a specific accommodation,
-     * ordered by creation date in descending order.
-     *
-     * @param accommodationId The ID of the accommodation.
-     * @return A list of Comment entities.
+     * Selects the comments of a bulk moderation: comments in the given deleted state matching every
+     * non-null filter, limited to the accommodations of the host when one is given. Restored comments
+     * are skipped when their author already has a non-deleted comment on the same accommodation, and
+     * when several deleted comments of one author on one accommodation match, only the latest is
+     * restored. The guards are evaluated before the update, so they compare the matching comments
+     * with each other rather than with the ones the update revives.
      */
-    List<Comment> findByAccommodationIdAndDeletedFalseOrderByCreatedAtDesc(Long accommodationId);
+    String MODERATION_FILTER = "c.deleted = :deleted " +
+            "AND (:ids IS NULL OR c.id IN :ids) " +
+            "AND (:userId IS NULL OR c.user.id = :userId) " +
+            "AND (:accommodationId IS NULL OR c.accommodation.id = :accommodationId) " +
+            "AND (:from IS NULL OR c.createdAt >= :from) " +
+            "AND (:to IS NULL OR c.createdAt < :to) " +
+            "AND (:hostId IS NULL OR c.accommodation.id IN " +
+            "(SELECT a.id FROM Accommodation a WHERE a.host.id = :hostId)) " +
+            "AND (:deleted = false OR NOT EXISTS (SELECT o.id FROM Comment o " +
+            "WHERE o.user.id = c.user.id AND o.accommodation.id = c.accommodation.id AND o.deleted = false)) " +
+            "AND (:deleted = false OR NOT EXISTS (SELECT n.id FROM Comment n " +
+            "WHERE n.user.id = c.user.id AND n.accommodation.id = c.accommodation.id AND n.deleted = true " +
+            "AND (n.createdAt > c.createdAt OR (n.createdAt = c.createdAt AND n.id > c.id)) " +
+            "AND (:ids IS NULL OR n.id IN :ids) " +
+            "AND (:from IS NULL OR n.createdAt >= :from) " +
+            "AND (:to IS NULL OR n.createdAt < :to)))";
 
     /**
      * Retrieves a paginated list of non-deleted comments for a specific accommodation,
@@ -38,36 +59,179 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     Page<Comment> findByAccommodationIdAndDeletedFalseOrderByCreatedAtDesc(Long accommodationId, Pageable pageable);
 
     /**
-     * Finds all non-deleted comments made by a specific user.
+     * Reads the most helpful non-deleted comments of an accommodation as DTOs, without loading the
+     * user or the accommodation and without counting the rest.
      *
-     * @param userId The ID of the user.
-     * @return A list of Comment entities.
+     * @param accommodationId The ID of the accommodation.
+     * @param limit The maximum number of comments.
+     * @return The comments, most helpful first.
      */
-    List<Comment> findByUserIdAndDeletedFalse(Long userId);
+    @Query("SELECT new edu.uniquindio.stayhub.api.dto.comment.CommentResponseDTO(" +
+            "c.id, c.user.id, c.accommodation.id, c.text, c.rating, c.createdAt) FROM Comment c " +
+            "WHERE c.accommodation.id = :accommodationId AND c.deleted = false " +
+            "ORDER BY c.helpfulnessScore DESC, c.id DESC")
+    List<CommentResponseDTO> findMostHelpfulByAccommodationId(@Param("accommodationId") Long accommodationId, Limit limit);
 
     /**
-     * Checks if a non-deleted comment exists from a specific user for a given accommodation.
+     * Reads the first page of the comment feed of an accommodation, newest first, as DTOs
+     * without loading the user or the accommodation.
      *
-     * @param userId The ID of the user.
      * @param accommodationId The ID of the accommodation.
-     * @return true if a comment exists, false otherwise.
+     * @param limit The maximum number of comments.
+     * @return The comments.
      */
-    boolean existsByUserIdAndAccommodationIdAndDeletedFalse(Long userId, Long accommodationId);
+    @Query("SELECT new edu.uniquindio.stayhub.api.dto.comment.CommentResponseDTO(" +
+            "c.id, c.user.id, c.accommodation.id, c.text, c.rating, c.createdAt) FROM Comment c " +
+            "WHERE c.accommodation.id = :accommodationId AND c.deleted = false " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentResponseDTO> findFeedByAccommodationId(@Param("accommodationId") Long accommodationId, Limit limit);
 
     /**
-     * Calculates the average rating of all non-deleted comments for a specific accommodation.
+     * Reads the comment feed of an accommodation after a cursor, newest first.
      *
      * @param accommodationId The ID of the accommodation.
-     * @return The average rating as a Double.
+     * @param createdAt The creation date of the last comment already read.
+     * @param id The ID of the last comment already read.
+     * @param limit The maximum number of comments.
+     * @return The comments.
+     */
+    @Query("SELECT new edu.uniquindio.stayhub.api.dto.comment.CommentResponseDTO(" +
+            "c.id, c.user.id, c.accommodation.id, c.text, c.rating, c.createdAt) FROM Comment c " +
+            "WHERE c.accommodation.id = :accommodationId AND c.deleted = false " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentResponseDTO> findFeedByAccommodationIdAfter(@Param("accommodationId") Long accommodationId,
+                                                            @Param("createdAt") LocalDateTime createdAt,
+                                                            @Param("id") Long id, Limit limit);
+
+    /**
+     * Reads the first page of the comment feed of a user, newest first.
+     *
+     * @param userId The ID of the user.
+     * @param limit The maximum number of comments.
+     * @return The comments.
      */
-    @Query("SELECT AVG(c.rating) FROM Comment c WHERE c.accommodation.id = :accommodationId AND c.deleted = false")
-    Double findAverageRatingByAccommodationId(@Param("accommodationId") Long accommodationId);
+    @Query("SELECT new edu.uniquindio.stayhub.api.dto.comment.CommentResponseDTO(" +
+            "c.id, c.user.id, c.accommodation.id, c.text, c.rating, c.createdAt) FROM Comment c " +
+            "WHERE c.user.id = :userId AND c.deleted = false " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentResponseDTO> findFeedByUserId(@Param("userId") Long userId, Limit limit);
 
     /**
-     * Counts the number of non-deleted comments for a specific accommodation.
+     * Reads the comment feed of a user after a cursor, newest first.
+     *
+     * @param userId The ID of the user.
+     * @param createdAt The creation date of the last comment already read.
+     * @param id The ID of the last comment already read.
+     * @param limit The maximum number of comments.
+     * @return The comments.
+     */
+    @Query("SELECT new edu.uniquindio.stayhub.api.dto.comment.CommentResponseDTO(" +
+            "c.id, c.user.id, c.accommodation.id, c.text, c.rating, c.createdAt) FROM Comment c " +
+            "WHERE c.user.id = :userId AND c.deleted = false " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentResponseDTO> findFeedByUserIdAfter(@Param("userId") Long userId,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") Long id, Limit limit);
+
+    /**
+     * Counts the non-deleted comments of each rating value for a range of accommodations,
+     * used to recompute their rating summaries.
+     *
+     * @param fromId The first accommodation ID of the range, inclusive.
+     * @param toId The last accommodation ID of the range, inclusive.
+     * @return Rows of [accommodationId, rating, count].
+     */
+    @Query("SELECT c.accommodation.id, c.rating, COUNT(c) FROM Comment c " +
+            "WHERE c.accommodation.id BETWEEN :fromId AND :toId AND c.deleted = false " +
+            "GROUP BY c.accommodation.id, c.rating")
+    List<Object[]> countRatingsByAccommodationIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Reads comments that were never scored, used to backfill their helpfulness.
+     *
+     * @param limit The maximum number of comments.
+     * @return Rows of [id, createdAt, replyDate].
+     */
+    @Query("SELECT c.id, c.createdAt, c.replyDate FROM Comment c WHERE c.helpfulnessScore = 0")
+    List<Object[]> findUnscoredComments(Limit limit);
+
+    /**
+     * Sets the helpfulness score of a comment without loading it.
+     *
+     * @param id The ID of the comment.
+     * @param score The new score.
+     * @return The number of rows updated.
+     */
+    @Modifying
+    @Query("UPDATE Comment c SET c.helpfulnessScore = :score WHERE c.id = :id")
+    int updateHelpfulnessScore(@Param("id") Long id, @Param("score") double score);
+
+    /**
+     * Counts the comments of a bulk moderation by accommodation and rating, used to move the rating
+     * summaries by the same amounts as the moderation.
+     *
+     * @param deleted The current deleted state of the comments to moderate.
+     * @param ids The IDs of the comments, or null.
+     * @param userId The ID of the author, or null.
+     * @param accommodationId The ID of the accommodation, or null.
+     * @param from The earliest creation date, inclusive, or null.
+     * @param to The latest creation date, exclusive, or null.
+     * @param hostId The ID of the host the moderation is limited to, or null.
+     * @return Rows of [accommodationId, city, rating, count].
+     */
+    @Query("SELECT c.accommodation.id, c.accommodation.city, c.rating, COUNT(c) FROM Comment c " +
+            "WHERE " + MODERATION_FILTER + " " +
+            "GROUP BY c.accommodation.id, c.accommodation.city, c.rating")
+    List<Object[]> countRatingsForModeration(@Param("deleted") boolean deleted, @Param("ids") Collection<Long> ids,
+                                             @Param("userId") Long userId, @Param("accommodationId") Long accommodationId,
+                                             @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                             @Param("hostId") Long hostId);
+
+    /**
+     * Deletes or restores the comments of a bulk moderation with a single update.
+     *
+     * @param deleted The current deleted state of the comments to moderate.
+     * @param target The deleted state the comments are moved to.
+     * @param ids The IDs of the comments, or null.
+     * @param userId The ID of the author, or null.
+     * @param accommodationId The ID of the accommodation, or null.
+     * @param from The earliest creation date, inclusive, or null.
+     * @param to The latest creation date, exclusive, or null.
+     * @param hostId The ID of the host the moderation is limited to, or null.
+     * @param now The update timestamp.
+     * @return The number of comments updated.
+     */
+    @Modifying
+    @Query("UPDATE Comment c SET c.deleted = :target, " +
+            "c.reviewSlot = CASE WHEN :target = false THEN c.user.id END, c.updatedAt = :now " +
+            "WHERE " + MODERATION_FILTER)
+    int moderate(@Param("deleted") boolean deleted, @Param("target") boolean target, @Param("ids") Collection<Long> ids,
+                 @Param("userId") Long userId, @Param("accommodationId") Long accommodationId,
+                 @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                 @Param("hostId") Long hostId, @Param("now") LocalDateTime now);
+
+    /**
+     * Retrieves the last modification dates behind the comment feed of an accommodation. Deleted
+     * comments count too, since deleting a comment changes the feed.
      *
      * @param accommodationId The ID of the accommodation.
-     * @return The count of non-deleted comments.
+     * @return At most one row of [accommodationUpdatedAt, lastCommentUpdatedAt]; the last may be null.
+     */
+    @Query("SELECT a.updatedAt, (SELECT MAX(c.updatedAt) FROM Comment c WHERE c.accommodation = a) " +
+            "FROM Accommodation a WHERE a.id = :accommodationId")
+    List<Object[]> findAccommodationFeedUpdatedAt(@Param("accommodationId") Long accommodationId);
+
+    /**
+     * Retrieves the last modification dates behind the comment feed of a user, only if the user
+     * has the given email, so the feed of another user is never validated.
+     *
+     * @param userId The ID of the user.
+     * @param email The email of the requesting user.
+     * @return At most one row of [userUpdatedAt, lastCommentUpdatedAt]; the last may be null.
      */
-    long countByAccommodationIdAndDeletedFalse(Long accommodationId);
-}
\ No newline at end of file
+    @Query("SELECT u.updatedAt, (SELECT MAX(c.updatedAt) FROM Comment c WHERE c.user = u) " +
+            "FROM User u WHERE u.id = :userId AND u.email = :email")
+    List<Object[]> findUserFeedUpdatedAt(@Param("userId") Long userId, @Param("email") String email);
+}
@@ -2,9 +2,14 @@ package edu.uniquindio.stayhub.api.repository;
 
 import edu.uniquindio.stayhub.api.model.Notification;
 import edu.uniquindio.stayhub.api.model.NotificationStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -30,4 +35,38 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      * @return A list of Notification entities for the user.
      */
     List<Notification> findByUserIdAndDeletedFalse(Long userId);
-}
\ No newline at end of file
+
+    /**
+     * Finds the non-deleted notifications of a user created after a given notification, oldest first.
+     * Used to replay the events a streaming client missed while it was disconnected, one page at a time.
+     *
+     * @param userId The ID of the user.
+     * @param lastId The ID of the last notification the client received.
+     * @return Up to 100 Notification entities with an ID greater than {@code lastId}.
+     */
+    List<Notification> findTop100ByUserIdAndIdGreaterThanAndDeletedFalseOrderByIdAsc(Long userId, Long lastId);
+
+    /**
+     * Finds the IDs of the notifications eligible for retention: read or soft-deleted
+     * notifications created before a cutoff, oldest first.
+     *
+     * @param cutoff The exclusive upper bound of the creation date.
+     * @param pageable The size of the batch to return.
+     * @return A list of notification IDs.
+     */
+    @Query("SELECT n.id FROM Notification n " +
+            "WHERE n.createdAt < :cutoff " +
+            "AND (n.status = edu.uniquindio.stayhub.api.model.NotificationStatus.READ OR n.deleted = true) " +
+            "ORDER BY n.id")
+    List<Long> findRetentionCandidates(LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Permanently removes the given notifications.
+     *
+     * @param ids The IDs of the notifications.
+     * @return The number of notifications removed.
+     */
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteByIdIn(Collection<Long> ids);
+}
@@ -0,0 +1,45 @@
+package edu.uniquindio.stayhub.api.repository;
+
+import edu.uniquindio.stayhub.api.model.RateLimitBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for managing RateLimitBucket entities.
+ */
+@Repository
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+
+    /**
+     * Creates a bucket. Fails with a constraint violation if another instance created it first.
+     *
+     * @return The number of rows inserted.
+     */
+    @Modifying
+    @Query("INSERT INTO RateLimitBucket (bucketKey, tokens, refilledAt, fullAt, version) " +
+            "VALUES (:bucketKey, :tokens, :refilledAt, :fullAt, 0)")
+    int insert(String bucketKey, long tokens, long refilledAt, long fullAt);
+
+    /**
+     * Updates a bucket only if nobody else updated it since it was read.
+     *
+     * @param version The version read.
+     * @return 1 if the bucket was updated, 0 if it changed in between.
+     */
+    @Modifying
+    @Query("UPDATE RateLimitBucket b SET b.tokens = :tokens, b.refilledAt = :refilledAt, b.fullAt = :fullAt, " +
+            "b.version = b.version + 1 WHERE b.bucketKey = :bucketKey AND b.version = :version")
+    int compareAndSet(String bucketKey, long version, long tokens, long refilledAt, long fullAt);
+
+    /**
+     * Deletes the buckets that have refilled completely, which are equivalent to missing ones.
+     *
+     * @param now The current time, in epoch milliseconds.
+     * @return The number of buckets deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM RateLimitBucket b WHERE b.fullAt <= :now")
+    int deleteFullBuckets(long now);
+}
@@ -4,11 +4,18 @@ import edu.uniquindio.stayhub.api.model.Reservation;
 import edu.uniquindio.stayhub.api.model.ReservationStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Reservation entities.
@@ -67,12 +74,67 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     boolean existsOverlappingReservations(Long accommodationId, LocalDateTime checkInDate, LocalDateTime checkOutDate);
 
     /**
-     * Finds all reservations with a specific check-in date.
+     * Streams the active reservations checking in within a time range whose check-in reminder has not reached the guest or the host yet.
+     * The guest, accommodation and host are fetched in the same query so no lazy loading happens per row,
+     * and rows are read through a cursor instead of being materialized into a list.
+     * The stream must be consumed and closed inside a transaction.
      *
-     * @param checkInDate The check-in date.
-     * @return A list of reservations.
+     * @param from The start of the range (inclusive).
+     * @param to The end of the range (exclusive).
+     * @return A stream of reservations ordered by ID.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("SELECT r FROM Reservation r " +
+            "JOIN FETCH r.guest g " +
+            "LEFT JOIN FETCH g.hostProfile " +
+            "JOIN FETCH r.accommodation a " +
+            "JOIN FETCH a.host h " +
+            "LEFT JOIN FETCH h.hostProfile " +
+            "WHERE r.checkInDate >= :from AND r.checkInDate < :to " +
+            "AND r.deleted = false " +
+            "AND r.status IN ('PENDING', 'CONFIRMED') " +
+            "AND (r.checkInGuestReminderSentAt IS NULL OR r.checkInHostReminderSentAt IS NULL) " +
+            "ORDER BY r.id")
+    Stream<Reservation> streamCheckInRemindersDue(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Finds an active reservation whose check-in reminder has not reached the guest or the host yet, with the guest,
+     * accommodation and host fetched in the same query.
+     *
+     * @param id The ID of the reservation.
+     * @return The reservation, or empty if it is not active or both were already reminded.
+     */
+    @Query("SELECT r FROM Reservation r " +
+            "JOIN FETCH r.guest " +
+            "JOIN FETCH r.accommodation a " +
+            "JOIN FETCH a.host " +
+            "WHERE r.id = :id " +
+            "AND r.deleted = false " +
+            "AND r.status IN ('PENDING', 'CONFIRMED') " +
+            "AND (r.checkInGuestReminderSentAt IS NULL OR r.checkInHostReminderSentAt IS NULL)")
+    Optional<Reservation> findCheckInReminderDue(Long id);
+
+    /**
+     * Records that the check-in reminder was sent to the guests of the given reservations.
+     *
+     * @param ids The IDs of the reservations.
+     * @param sentAt The date and time the reminders were sent.
+     * @return The number of reservations updated.
+     */
+    @Modifying
+    @Query("UPDATE Reservation r SET r.checkInGuestReminderSentAt = :sentAt WHERE r.id IN :ids")
+    int markCheckInGuestReminderSent(Collection<Long> ids, LocalDateTime sentAt);
+
+    /**
+     * Records that the check-in reminder was sent to the hosts of the given reservations.
+     *
+     * @param ids The IDs of the reservations.
+     * @param sentAt The date and time the reminders were sent.
+     * @return The number of reservations updated.
      */
-    List<Reservation> findByCheckInDate(LocalDateTime checkInDate);
+    @Modifying
+    @Query("UPDATE Reservation r SET r.checkInHostReminderSentAt = :sentAt WHERE r.id IN :ids")
+    int markCheckInHostReminderSent(Collection<Long> ids, LocalDateTime sentAt);
 
     Page<Reservation> findByGuestIdAndStatusAndDeletedFalse(Long guestId, ReservationStatus status, Pageable pageable);
     Page<Reservation> findByGuestIdAndDeletedFalse(Long guestId, Pageable pageable);
@@ -0,0 +1,46 @@
+package edu.uniquindio.stayhub.api.repository;
+
+import edu.uniquindio.stayhub.api.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for managing RevokedToken entities.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Finds the IDs of the unexpired tokens revoked since a given time.
+     *
+     * @param since The time to look back to.
+     * @param now The current time.
+     * @return The IDs of the revoked tokens.
+     */
+    @Query("SELECT r.jti FROM RevokedToken r WHERE r.revokedAt >= :since AND r.expiresAt > :now")
+    List<String> findJtisRevokedSince(LocalDateTime since, LocalDateTime now);
+
+    /**
+     * Finds the IDs of every revoked token that has not expired yet.
+     *
+     * @param now The current time.
+     * @return The IDs of the revoked tokens.
+     */
+    @Query("SELECT r.jti FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<String> findActiveJtis(LocalDateTime now);
+
+    /**
+     * Deletes the revoked tokens that have expired, which are rejected anyway.
+     *
+     * @param now The current time.
+     * @return The number of rows deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(LocalDateTime now);
+}
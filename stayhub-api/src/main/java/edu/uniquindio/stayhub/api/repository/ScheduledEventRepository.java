@@ -0,0 +1,48 @@
+package edu.uniquindio.stayhub.api.repository;
+
+import edu.uniquindio.stayhub.api.model.ScheduledEvent;
+import edu.uniquindio.stayhub.api.model.ScheduledEventType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for managing ScheduledEvent entities.
+ */
+@Repository
+public interface ScheduledEventRepository extends JpaRepository<ScheduledEvent, Long> {
+
+    /**
+     * Finds the events due before a given time, oldest first.
+     *
+     * @param horizon The exclusive upper bound of the due time.
+     * @return A list of ScheduledEvent entities.
+     */
+    List<ScheduledEvent> findByDueAtBeforeOrderByDueAtAsc(LocalDateTime horizon);
+
+    /**
+     * Finds the events of a reservation with the given types.
+     *
+     * @param reservationId The ID of the reservation.
+     * @param types The event types.
+     * @return A list of ScheduledEvent entities.
+     */
+    List<ScheduledEvent> findByReservationIdAndTypeIn(Long reservationId, Collection<ScheduledEventType> types);
+
+    /**
+     * Claims an event for execution by deleting its row. Only one caller, on any node,
+     * can get a result of 1 for a given event; the row stays locked until the transaction
+     * ends, and a rollback releases the claim.
+     *
+     * @param id The ID of the event.
+     * @return 1 if the event was claimed, 0 if it was already fired or cancelled.
+     */
+    @Modifying
+    @Query("DELETE FROM ScheduledEvent e WHERE e.id = :id")
+    int claim(Long id);
+}
@@ -2,8 +2,11 @@ package edu.uniquindio.stayhub.api.repository;
 
 import edu.uniquindio.stayhub.api.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,4 +39,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if a user with the email exists, false otherwise.
      */
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Finds the token versions of the users whose tokens were revoked at least once,
+     * restricted to the users modified since a given time.
+     *
+     * @param since The inclusive lower bound of the last modification date.
+     * @return A list of {@code [id, tokenVersion]} pairs.
+     */
+    @Query("SELECT u.id, u.tokenVersion FROM User u WHERE u.tokenVersion > 0 AND u.updatedAt >= :since")
+    List<Object[]> findTokenVersionsChangedSince(LocalDateTime since);
+
+    /**
+     * Retrieves the last modification dates of a user and their host profile.
+     *
+     * @param id The ID of the user.
+     * @return At most one row of {@code [userUpdatedAt, hostProfileUpdatedAt]}; the last may be null.
+     */
+    @Query("SELECT u.updatedAt, hp.updatedAt FROM User u LEFT JOIN u.hostProfile hp WHERE u.id = :id")
+    List<Object[]> findProfileUpdatedAtById(@Param("id") Long id);
+}
@@ -0,0 +1,218 @@
+package edu.uniquindio.stayhub.api.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel for scheduling timed tasks in memory.
+ * <p>
+ * The lowest level has {@code wheelSize} slots of {@code tickMs} each; every higher level has the
+ * same number of slots, each as wide as the whole level below it. A task is placed in the lowest
+ * level whose span covers its due time, so scheduling and cancelling are O(1) regardless of how
+ * many tasks are pending. As the clock advances, the slots of higher levels are cascaded down
+ * until their tasks reach the lowest level and expire. Tasks expire at most one tick late.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @param <T> The type of the scheduled tasks.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    private long currentTime;
+    private int size;
+
+    /**
+     * Creates a timing wheel.
+     *
+     * @param tickMs The width of a slot in the lowest level, in milliseconds.
+     * @param wheelSize The number of slots per level.
+     * @param startMs The current time, in epoch milliseconds.
+     */
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - startMs % tickMs;
+        levels.add(new Level<>(tickMs, wheelSize));
+    }
+
+    /**
+     * Schedules a task.
+     *
+     * @param task The task.
+     * @param dueAtMs The time the task is due, in epoch milliseconds.
+     * @return A handle to cancel the task, or {@code null} if it is already due and was not scheduled.
+     */
+    public synchronized Timeout<T> schedule(T task, long dueAtMs) {
+        if (dueAtMs < currentTime) {
+            return null;
+        }
+        Timeout<T> timeout = new Timeout<>(task, dueAtMs);
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a scheduled task.
+     *
+     * @param timeout The handle returned by {@link #schedule}.
+     * @return True if the task was pending and is now cancelled.
+     */
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || timeout.slot == null) {
+            return false;
+        }
+        timeout.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the clock and collects the tasks that became due.
+     *
+     * @param nowMs The current time, in epoch milliseconds.
+     * @return The expired tasks, in due order within each tick.
+     */
+    public synchronized List<T> advanceTo(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        while (currentTime <= nowMs) {
+            for (int i = levels.size() - 1; i >= 1; i--) {
+                Level<T> level = levels.get(i);
+                if (currentTime % level.tickMs == 0) {
+                    for (Timeout<T> timeout : level.slotFor(currentTime).drain()) {
+                        insert(timeout);
+                    }
+                }
+            }
+            for (Timeout<T> timeout : levels.getFirst().slotFor(currentTime).drain()) {
+                expired.add(timeout.task);
+                size--;
+            }
+            currentTime += tickMs;
+        }
+        return expired;
+    }
+
+    /**
+     * Returns the number of pending tasks.
+     *
+     * @return The number of scheduled tasks that have neither expired nor been cancelled.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void insert(Timeout<T> timeout) {
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                Level<T> below = levels.get(i - 1);
+                levels.add(new Level<>(below.tickMs * wheelSize, wheelSize));
+            }
+            Level<T> level = levels.get(i);
+            long base = currentTime - currentTime % level.tickMs;
+            if (timeout.dueAtMs < base + level.intervalMs) {
+                level.slotFor(Math.max(timeout.dueAtMs, currentTime)).add(timeout);
+                return;
+            }
+        }
+    }
+
+    /**
+     * A scheduled task and its position in the wheel.
+     *
+     * @param <T> The type of the task.
+     */
+    public static final class Timeout<T> {
+        private final T task;
+        private final long dueAtMs;
+        private Slot<T> slot;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T task, long dueAtMs) {
+            this.task = task;
+            this.dueAtMs = dueAtMs;
+        }
+
+        public T getTask() {
+            return task;
+        }
+
+        public long getDueAtMs() {
+            return dueAtMs;
+        }
+
+        private void unlink() {
+            if (prev != null) {
+                prev.next = next;
+            } else {
+                slot.head = next;
+            }
+            if (next != null) {
+                next.prev = prev;
+            }
+            prev = null;
+            next = null;
+            slot = null;
+        }
+    }
+
+    private static final class Level<T> {
+        private final long tickMs;
+        private final long intervalMs;
+        private final Slot<T>[] slots;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tickMs, int wheelSize) {
+            this.tickMs = tickMs;
+            this.intervalMs = tickMs * wheelSize;
+            this.slots = new Slot[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                slots[i] = new Slot<>();
+            }
+        }
+
+        private Slot<T> slotFor(long timeMs) {
+            return slots[(int) ((timeMs / tickMs) % slots.length)];
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts, so a cancelled timeout can be removed in constant time.
+     */
+    private static final class Slot<T> {
+        private Timeout<T> head;
+
+        private void add(Timeout<T> timeout) {
+            timeout.slot = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        private List<Timeout<T>> drain() {
+            List<Timeout<T>> drained = new ArrayList<>();
+            Timeout<T> timeout = head;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.prev = null;
+                timeout.next = null;
+                timeout.slot = null;
+                drained.add(timeout);
+                timeout = next;
+            }
+            head = null;
+            drained.sort((a, b) -> Long.compare(a.dueAtMs, b.dueAtMs));
+            return drained;
+        }
+    }
+}
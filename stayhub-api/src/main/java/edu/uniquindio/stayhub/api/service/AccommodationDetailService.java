@@ -0,0 +1,167 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.dto.accommodation.AccommodationDetailDTO;
+import edu.uniquindio.stayhub.api.dto.amenity.AmenityResponseDTO;
+import edu.uniquindio.stayhub.api.dto.comment.CommentResponseDTO;
+import edu.uniquindio.stayhub.api.dto.host.HostCardDTO;
+import edu.uniquindio.stayhub.api.dto.responses.SearchResponseDTO;
+import edu.uniquindio.stayhub.api.exception.AccommodationNotFoundException;
+import edu.uniquindio.stayhub.api.mapper.AccommodationMapper;
+import edu.uniquindio.stayhub.api.mapper.AmenityMapper;
+import edu.uniquindio.stayhub.api.model.Accommodation;
+import edu.uniquindio.stayhub.api.model.User;
+import edu.uniquindio.stayhub.api.repository.AccommodationRepository;
+import edu.uniquindio.stayhub.api.repository.AmenityRepository;
+import edu.uniquindio.stayhub.api.repository.CommentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Service that assembles the whole accommodation page in one call.
+ * <p>
+ * The first page of comments, most helpful first, and the amenities are loaded on virtual threads while
+ * the accommodation is loaded on the calling thread; the rating summary comes embedded in the accommodation row and the
+ * host card from the host loaded with it, so the page costs three short read-only transactions running
+ * side by side instead of five sequential requests. Comments are read as DTOs, without their user or
+ * accommodation, and counted by the rating summary. Each secondary part has its own timeout,
+ * {@code app.accommodations.detail.part-timeout}; a part that fails or times out is left null and listed
+ * in the response, so a slow comment query never blocks the page. Only a missing accommodation fails
+ * the call. Each call holds up to three pooled connections at once.
+ * <p>
+ * Metrics: {@code stayhub.accommodations.detail.fallback} counts the parts left out, by {@code part}.
+ */
+@Service
+public class AccommodationDetailService implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccommodationDetailService.class);
+
+    private final AccommodationRepository accommodationRepository;
+    private final CommentRepository commentRepository;
+    private final AmenityRepository amenityRepository;
+    private final AccommodationMapper accommodationMapper;
+    private final AmenityMapper amenityMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final Duration partTimeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public AccommodationDetailService(AccommodationRepository accommodationRepository,
+                                      CommentRepository commentRepository,
+                                      AmenityRepository amenityRepository,
+                                      AccommodationMapper accommodationMapper,
+                                      AmenityMapper amenityMapper,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.accommodations.detail.part-timeout:PT2S}") Duration partTimeout) {
+        this.accommodationRepository = accommodationRepository;
+        this.commentRepository = commentRepository;
+        this.amenityRepository = amenityRepository;
+        this.accommodationMapper = accommodationMapper;
+        this.amenityMapper = amenityMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Also bounds the queries, so a timed-out part does not keep its connection for long
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, partTimeout.toSeconds()));
+        this.meterRegistry = meterRegistry;
+        this.partTimeout = partTimeout;
+    }
+
+    /**
+     * Retrieves the accommodation page: the accommodation with its rating summary, the host card,
+     * the first page of comments and the amenities.
+     *
+     * @param id The ID of the accommodation.
+     * @param commentsSize The number of comments in the first page.
+     * @return The accommodation page, possibly with some parts missing.
+     * @throws AccommodationNotFoundException If the accommodation does not exist or was deleted.
+     */
+    public AccommodationDetailDTO getDetail(Long id, int commentsSize) {
+        CompletableFuture<List<CommentResponseDTO>> comments = part(() ->
+                commentRepository.findMostHelpfulByAccommodationId(id, Limit.of(commentsSize)));
+        CompletableFuture<List<AmenityResponseDTO>> amenities = part(() -> amenityRepository.findByAccommodationId(id)
+                .stream()
+                .map(amenityMapper::toResponseDTO)
+                .toList());
+
+        AccommodationDetailDTO detail;
+        try {
+            detail = readOnlyTransaction.execute(status -> {
+                Accommodation accommodation = accommodationRepository.findByIdAndDeletedFalse(id)
+                        .orElseThrow(() -> new AccommodationNotFoundException("El alojamiento no existe"));
+                AccommodationDetailDTO result = new AccommodationDetailDTO();
+                result.setAccommodation(accommodationMapper.toResponseDTO(accommodation));
+                result.setHost(toHostCard(accommodation.getHost()));
+                return result;
+            });
+        } catch (RuntimeException e) {
+            comments.cancel(true);
+            amenities.cancel(true);
+            throw e;
+        }
+
+        List<String> unavailable = new ArrayList<>();
+        List<CommentResponseDTO> firstComments = join("comments", id, comments, unavailable);
+        if (firstComments != null) {
+            // The rating count is the number of non-deleted comments, so the page needs no count query
+            Long total = detail.getAccommodation().getRatingCount();
+            detail.setComments(new SearchResponseDTO<>(firstComments, 0, commentsSize, total == null ? 0 : total));
+        }
+        detail.setAmenities(join("amenities", id, amenities, unavailable));
+        detail.setUnavailableParts(unavailable);
+        return detail;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> part(Supplier<T> loader) {
+        return CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> loader.get()), executor)
+                .orTimeout(partTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private <T> T join(String part, Long id, CompletableFuture<T> future, List<String> unavailable) {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            LOGGER.warn("Accommodation ID: {} detail returned without {}: {}", id, part,
+                    e.getCause() == null ? e.toString() : e.getCause().toString());
+            Counter.builder("stayhub.accommodations.detail.fallback")
+                    .description("Accommodation detail parts left out because they failed or timed out")
+                    .tag("part", part)
+                    .register(meterRegistry)
+                    .increment();
+            unavailable.add(part);
+            return null;
+        }
+    }
+
+    private static HostCardDTO toHostCard(User host) {
+        return new HostCardDTO(
+                host.getId(),
+                host.getName(),
+                host.getProfilePicture(),
+                host.getHostProfile() == null ? null : host.getHostProfile().getDescription(),
+                host.getCreatedAt()
+        );
+    }
+}
@@ -1,5 +1,7 @@
 package edu.uniquindio.stayhub.api.service;
 
+import edu.uniquindio.stayhub.api.config.AccommodationResponseCache;
+import edu.uniquindio.stayhub.api.config.CacheConfig;
 import edu.uniquindio.stayhub.api.dto.accommodation.AccommodationRequestDTO;
 import edu.uniquindio.stayhub.api.dto.accommodation.AccommodationResponseDTO;
 import edu.uniquindio.stayhub.api.dto.accommodation.AccommodationUpdateDTO;
@@ -16,14 +18,20 @@ import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.Positive;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Service class for managing accommodation-related operations in the StayHub application.
@@ -39,13 +47,18 @@ public class AccommodationService {
     private final UserRepository userRepository;
     private final AccommodationMapper accommodationMapper;
     private final NotificationService notificationService;
+    private final CacheManager cacheManager;
+    private final AccommodationResponseCache accommodationResponseCache;
 
     public AccommodationService(AccommodationRepository accommodationRepository, UserRepository userRepository,
-                                AccommodationMapper accommodationMapper, NotificationService notificationService) {
+                                AccommodationMapper accommodationMapper, NotificationService notificationService,
+                                CacheManager cacheManager, AccommodationResponseCache accommodationResponseCache) {
         this.accommodationRepository = accommodationRepository;
         this.userRepository = userRepository;
         this.accommodationMapper = accommodationMapper;
         this.notificationService = notificationService;
+        this.cacheManager = cacheManager;
+        this.accommodationResponseCache = accommodationResponseCache;
     }
 
     /**
@@ -68,6 +81,7 @@ public class AccommodationService {
         accommodation.setDeleted(false);
         Accommodation savedAccommodation = accommodationRepository.save(accommodation);
         LOGGER.debug("Accommodation created with ID: {}", savedAccommodation.getId());
+        evictCitiesUnlessListed(savedAccommodation.getCity());
 
         // Send notification to host
         notificationService.createNotification(new NotificationRequestDTO(
@@ -95,9 +109,17 @@ public class AccommodationService {
         User user = getUserByEmail(username);
         Accommodation accommodation = getAccommodationById(accommodationId);
         validateHostAndOwnership(user, accommodation, "update");
+        String previousCity = accommodation.getCity();
         accommodationMapper.updateEntity(updateDTO, accommodation);
+        // Changing only the images does not dirty the accommodation row, so its version is moved explicitly
+        accommodation.setContentUpdatedAt(LocalDateTime.now());
         Accommodation updatedAccommodation = accommodationRepository.save(accommodation);
+        accommodationResponseCache.invalidate(accommodationId);
         LOGGER.debug("Accommodation ID: {} updated", accommodationId);
+        if (!Objects.equals(previousCity, updatedAccommodation.getCity())) {
+            // La ciudad anterior puede haberse quedado sin alojamientos
+            evictCities();
+        }
 
         notificationService.createNotification(new NotificationRequestDTO(
                 user.getId(),
@@ -123,7 +145,9 @@ public class AccommodationService {
         validateHostAndOwnership(user, accommodation, "delete");
         accommodation.setDeleted(true);
         accommodationRepository.save(accommodation);
+        accommodationResponseCache.invalidate(accommodationId);
         LOGGER.debug("Accommodation ID: {} deleted", accommodationId);
+        evictCities();
 
         notificationService.createNotification(new NotificationRequestDTO(
                 user.getId(),
@@ -179,6 +203,40 @@ public class AccommodationService {
         }
     }
 
+    /**
+     * Retrieves the cities that have non-deleted accommodations, in alphabetical order. Served from the
+     * {@code cities} cache, which is evicted when an accommodation is created in a new city, moves to
+     * another city, or is deleted.
+     *
+     * @return The city names.
+     */
+    @Cacheable(CacheConfig.CITIES)
+    public List<String> getCities() {
+        LOGGER.info("Fetching cities with accommodations");
+        return List.copyOf(accommodationRepository.findDistinctCities());
+    }
+
+    /**
+     * Evicts the cached cities unless they already include the given one.
+     */
+    private void evictCitiesUnlessListed(String city) {
+        Cache cache = cacheManager.getCache(CacheConfig.CITIES);
+        if (cache == null) {
+            return;
+        }
+        List<?> cities = cache.get(SimpleKey.EMPTY, List.class);
+        if (cities == null || !cities.contains(city)) {
+            cache.evict(SimpleKey.EMPTY);
+        }
+    }
+
+    private void evictCities() {
+        Cache cache = cacheManager.getCache(CacheConfig.CITIES);
+        if (cache != null) {
+            cache.evict(SimpleKey.EMPTY);
+        }
+    }
+
     public Page<AccommodationResponseDTO> listAccommodations(Pageable pageable) {
         LOGGER.info("Fetching all active accommodations with pagination: page={}, size={}",
                 pageable.getPageNumber(), pageable.getPageSize());
@@ -1,5 +1,6 @@
 package edu.uniquindio.stayhub.api.service;
 
+import edu.uniquindio.stayhub.api.config.CacheConfig;
 import edu.uniquindio.stayhub.api.dto.amenity.AmenityRequestDTO;
 import edu.uniquindio.stayhub.api.dto.amenity.AmenityResponseDTO;
 import edu.uniquindio.stayhub.api.dto.amenity.AmenityUpdateDTO;
@@ -11,12 +12,14 @@ import edu.uniquindio.stayhub.api.repository.AmenityRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.stream.Collectors;
 
 /**
  * Service class for managing amenities.
@@ -32,16 +35,17 @@ public class AmenityService {
     private final AmenityMapper amenityMapper;
 
     /**
-     * Retrieves all active amenities.
+     * Retrieves all active amenities. Served from the {@code amenities} cache, which every write evicts.
      * @return List of AmenityResponseDTO representing active amenities.
      */
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.AMENITIES)
     public List<AmenityResponseDTO> getAllActiveAmenities() {
         LOGGER.info("Fetching all active amenities");
         return amenityRepository.findByActiveTrueOrderByName()
                 .stream()
                 .map(amenityMapper::toResponseDTO)
-                .collect(Collectors.toList());
+                .toList();
     }
 
     /**
@@ -49,6 +53,7 @@ public class AmenityService {
      * @param amenityRequestDTO Data of the amenity to create.
      * @return AmenityResponseDTO of the created amenity.
      */
+    @CacheEvict(cacheNames = CacheConfig.AMENITIES, allEntries = true)
     public AmenityResponseDTO createAmenity(AmenityRequestDTO amenityRequestDTO) {
         LOGGER.info("Creating amenity with name: {}", amenityRequestDTO.getName());
 
@@ -71,6 +76,10 @@ public class AmenityService {
      * @param amenityUpdateDTO The updated data.
      * @return Updated AmenityResponseDTO.
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.AMENITIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.AMENITY, key = "#id")
+    })
     public AmenityResponseDTO updateAmenity(Long id, AmenityUpdateDTO amenityUpdateDTO) {
         LOGGER.info("Updating amenity with ID: {}", id);
 
@@ -105,6 +114,10 @@ public class AmenityService {
      * Deactivates (soft delete) an amenity by ID.
      * @param id The ID of the amenity.
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.AMENITIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.AMENITY, key = "#id")
+    })
     public void deactivateAmenity(Long id) {
         LOGGER.info("Deactivating amenity with ID: {}", id);
         Amenity amenity = amenityRepository.findById(id)
@@ -116,13 +129,15 @@ public class AmenityService {
     }
 
     /**
-     * Retrieves an active amenity by ID.
+     * Retrieves an active amenity by ID. Served from the {@code amenity} cache; inactive and
+     * missing amenities are not cached.
      * @param id The ID of the amenity.
      * @return AmenityResponseDTO of the amenity.
      * @throws AmenityNotFoundException if amenity doesn't exist.
      * @throws InactiveAmenityException if amenity is inactive.
      */
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.AMENITY)
     public AmenityResponseDTO getAmenityById(Long id) {
         LOGGER.info("Fetching amenity with ID: {}", id);
         Amenity amenity = amenityRepository.findById(id)
@@ -1,9 +1,12 @@
 package edu.uniquindio.stayhub.api.service;
 
+import edu.uniquindio.stayhub.api.dto.comment.CommentModerationDTO;
+import edu.uniquindio.stayhub.api.dto.comment.CommentModerationResultDTO;
 import edu.uniquindio.stayhub.api.dto.comment.CommentReplyDTO;
 import edu.uniquindio.stayhub.api.dto.comment.CommentRequestDTO;
 import edu.uniquindio.stayhub.api.dto.comment.CommentResponseDTO;
 import edu.uniquindio.stayhub.api.dto.comment.CommentUpdateDTO;
+import edu.uniquindio.stayhub.api.dto.responses.CursorPageDTO;
 import edu.uniquindio.stayhub.api.exception.CommentNotFoundException;
 import edu.uniquindio.stayhub.api.exception.UnauthorizedCommentAccessException;
 import edu.uniquindio.stayhub.api.model.Accommodation;
@@ -15,22 +18,36 @@ import edu.uniquindio.stayhub.api.repository.CommentRepository;
 import edu.uniquindio.stayhub.api.repository.UserRepository;
 import edu.uniquindio.stayhub.api.mapper.CommentMapper;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class CommentService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommentService.class);
+
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
     private final AccommodationRepository accommodationRepository;
     private final CommentMapper commentMapper;
+    private final RankingService rankingService;
 
     @Transactional
     public CommentResponseDTO createComment(CommentRequestDTO commentRequestDTO, String currentUserEmail) {
@@ -45,72 +62,103 @@ public class CommentService {
         Accommodation accommodation = accommodationRepository.findById(commentRequestDTO.getAccommodationId())
                 .orElseThrow(() -> new IllegalArgumentException("Alojamiento no encontrado"));
 
-        // Validar que el usuario no haya comentado antes sobre este alojamiento
-        if (commentRepository.existsByUserIdAndAccommodationIdAndDeletedFalse(
-                commentRequestDTO.getUserId(), commentRequestDTO.getAccommodationId())) {
-            throw new IllegalStateException("El usuario ya ha comentado sobre este alojamiento");
-        }
-
         Comment comment = commentMapper.toEntity(commentRequestDTO);
         // Setear manualmente user y accommodation porque el mapper los ignora
         comment.setUser(user);
         comment.setAccommodation(accommodation);
-        comment = commentRepository.save(comment);
+        comment.setReviewSlot(user.getId());
+        comment.setHelpfulnessScore(rankingService.helpfulnessScore(LocalDateTime.now(), false));
+        // La restricción única de review_slot impide un segundo comentario del usuario sobre este alojamiento
+        try {
+            comment = commentRepository.saveAndFlush(comment);
+        } catch (DataIntegrityViolationException e) {
+            throw translateReviewSlotViolation(e);
+        }
+        updateRatingSummary(accommodation, null, comment.getRating());
         return commentMapper.toResponseDto(comment); // Corregido: toResponseDto
     }
 
+    /**
+     * Reads a page of the comment feed of an accommodation, newest first. Pages are read with a cursor
+     * over (created_at, id) and projected straight into DTOs, so long feeds cost the same per page
+     * and never load the users or the accommodation.
+     *
+     * @param accommodationId The ID of the accommodation.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size The maximum number of comments in the page.
+     * @return The page of comments and the cursor of the next one.
+     */
     @Transactional(readOnly = true)
-    public List<CommentResponseDTO> getCommentsByAccommodation(Long accommodationId) {
+    public CursorPageDTO<CommentResponseDTO> getCommentsByAccommodation(Long accommodationId, String cursor, int size) {
         // Validar que el alojamiento existe
-        accommodationRepository.findById(accommodationId)
-                .orElseThrow(() -> new IllegalArgumentException("Alojamiento no encontrado"));
+        if (!accommodationRepository.existsById(accommodationId)) {
+            throw new IllegalArgumentException("Alojamiento no encontrado");
+        }
 
-        return commentRepository.findByAccommodationIdAndDeletedFalseOrderByCreatedAtDesc(accommodationId)
-                .stream()
-                .map(commentMapper::toResponseDto) // Corregido: toResponseDto
-                .collect(Collectors.toList());
+        Limit limit = Limit.of(size + 1);
+        List<CommentResponseDTO> comments;
+        if (cursor == null) {
+            comments = commentRepository.findFeedByAccommodationId(accommodationId, limit);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            comments = commentRepository.findFeedByAccommodationIdAfter(accommodationId, after.createdAt(), after.id(), limit);
+        }
+        return toCursorPage(comments, size);
     }
 
     @Transactional(readOnly = true)
     public Page<CommentResponseDTO> getCommentsByAccommodationPaginated(Long accommodationId, Pageable pageable) {
         // Validar que el alojamiento existe
-        accommodationRepository.findById(accommodationId)
-                .orElseThrow(() -> new IllegalArgumentException("Alojamiento no encontrado"));
+        if (!accommodationRepository.existsById(accommodationId)) {
+            throw new IllegalArgumentException("Alojamiento no encontrado");
+        }
 
         return commentRepository.findByAccommodationIdAndDeletedFalseOrderByCreatedAtDesc(accommodationId, pageable)
                 .map(commentMapper::toResponseDto); // Corregido: toResponseDto
     }
 
+    /**
+     * Reads a page of the comment feed of a user, newest first, with a cursor like
+     * {@link #getCommentsByAccommodation(Long, String, int)}.
+     *
+     * @param userId The ID of the user.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size The maximum number of comments in the page.
+     * @param currentUserEmail The email of the authenticated user, who must be the same user.
+     * @return The page of comments and the cursor of the next one.
+     */
     @Transactional(readOnly = true)
-    public List<CommentResponseDTO> getCommentsByUser(Long userId, String currentUserEmail) {
+    public CursorPageDTO<CommentResponseDTO> getCommentsByUser(Long userId, String cursor, int size, String currentUserEmail) {
         User user = userRepository.findByEmail(currentUserEmail)
                 .orElseThrow(() -> new UnauthorizedCommentAccessException("Usuario no encontrado"));
         if (!user.getId().equals(userId)) {
             throw new UnauthorizedCommentAccessException("Usuario no autorizado para ver estos comentarios");
         }
-        return commentRepository.findByUserIdAndDeletedFalse(userId)
-                .stream()
-                .map(commentMapper::toResponseDto)
-                .collect(Collectors.toList());
+
+        Limit limit = Limit.of(size + 1);
+        List<CommentResponseDTO> comments;
+        if (cursor == null) {
+            comments = commentRepository.findFeedByUserId(userId, limit);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            comments = commentRepository.findFeedByUserIdAfter(userId, after.createdAt(), after.id(), limit);
+        }
+        return toCursorPage(comments, size);
     }
 
     @Transactional(readOnly = true)
     public Double getAverageRatingByAccommodation(Long accommodationId) {
-        // Validar que el alojamiento existe
-        accommodationRepository.findById(accommodationId)
-                .orElseThrow(() -> new IllegalArgumentException("Alojamiento no encontrado"));
-
-        Double average = commentRepository.findAverageRatingByAccommodationId(accommodationId);
-        return average != null ? average : 0.0;
+        // El resumen de calificaciones se mantiene al crear, editar y borrar comentarios
+        return accommodationRepository.findById(accommodationId)
+                .orElseThrow(() -> new IllegalArgumentException("Alojamiento no encontrado"))
+                .getRatingSummary().getAverage();
     }
 
     @Transactional(readOnly = true)
     public long getCommentCountByAccommodation(Long accommodationId) {
-        // Validar que el alojamiento existe
-        accommodationRepository.findById(accommodationId)
-                .orElseThrow(() -> new IllegalArgumentException("Alojamiento no encontrado"));
-
-        return commentRepository.countByAccommodationIdAndDeletedFalse(accommodationId);
+        return accommodationRepository.findById(accommodationId)
+                .orElseThrow(() -> new IllegalArgumentException("Alojamiento no encontrado"))
+                .getRatingSummary().getRatingCount();
     }
 
     @Transactional
@@ -125,8 +173,10 @@ public class CommentService {
             throw new UnauthorizedCommentAccessException("Usuario no autorizado para actualizar este comentario");
         }
 
+        Integer previousRating = comment.getRating();
         commentMapper.updateEntity(commentUpdateDTO, comment);
         comment = commentRepository.save(comment);
+        updateRatingSummary(comment.getAccommodation(), previousRating, comment.getRating());
         return commentMapper.toResponseDto(comment); // Corregido: toResponseDto
     }
 
@@ -143,7 +193,9 @@ public class CommentService {
         }
 
         comment.setDeleted(true);
+        comment.setReviewSlot(null);
         commentRepository.save(comment);
+        updateRatingSummary(comment.getAccommodation(), comment.getRating(), null);
     }
 
     @Transactional
@@ -165,8 +217,147 @@ public class CommentService {
 
         comment.setHostReplyText(replyDTO.getReplyText());
         comment.setReplyDate(LocalDateTime.now());
+        comment.setHelpfulnessScore(rankingService.helpfulnessScore(
+                comment.getCreatedAt() == null ? comment.getReplyDate() : comment.getCreatedAt(), true));
 
         comment = commentRepository.save(comment);
         return commentMapper.toResponseDto(comment);
     }
-}
\ No newline at end of file
+
+    /**
+     * Deletes or restores many comments at once: by ID, by author, or by accommodation, optionally
+     * within a creation date window. Hosts can only moderate the comments of their own accommodations;
+     * administrators can moderate any comment.
+     * <p>
+     * The selected comments are counted by accommodation and rating with one grouped query and moved
+     * with one update, then each affected rating summary is moved by the counted amounts and the
+     * accommodation rescored, so the cost grows with the number of accommodations, not comments.
+     * A comment changed by its author between the count and the update leaves its summary off by
+     * one rating until the nightly {@link RatingReconciliationService} run. A restore skips the comments
+     * whose author already has a non-deleted comment on the same accommodation, and of several deleted
+     * comments of one author there, restores only the latest. Only a concurrent change that still leaves
+     * an author two non-deleted comments makes the whole moderation fail with a conflict.
+     *
+     * @param moderationDTO The selection and the action.
+     * @param currentUserEmail The email of the moderator.
+     * @return The number of comments updated and accommodations affected.
+     */
+    @Transactional
+    public CommentModerationResultDTO moderateComments(CommentModerationDTO moderationDTO, String currentUserEmail) {
+        User moderator = userRepository.findByEmail(currentUserEmail)
+                .orElseThrow(() -> new UnauthorizedCommentAccessException("Usuario no encontrado o no autenticado"));
+        Long hostId = switch (moderator.getRole()) {
+            case ADMIN -> null;
+            case HOST -> moderator.getId();
+            default -> throw new UnauthorizedCommentAccessException("Solo los Anfitriones y administradores pueden moderar comentarios");
+        };
+
+        Set<Long> ids = moderationDTO.getCommentIds() == null || moderationDTO.getCommentIds().isEmpty()
+                ? null : moderationDTO.getCommentIds();
+        long selectors = Stream.of(ids, moderationDTO.getUserId(), moderationDTO.getAccommodationId())
+                .filter(Objects::nonNull)
+                .count();
+        if (selectors != 1) {
+            throw new IllegalArgumentException("Debe indicar exactamente uno de: comentarios, usuario o alojamiento");
+        }
+        LocalDateTime from = moderationDTO.getFrom();
+        LocalDateTime to = moderationDTO.getTo();
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("La fecha inicial debe ser anterior a la final");
+        }
+
+        boolean restore = moderationDTO.getAction() == CommentModerationDTO.Action.RESTORE;
+        List<Object[]> counts = commentRepository.countRatingsForModeration(restore, ids,
+                moderationDTO.getUserId(), moderationDTO.getAccommodationId(), from, to, hostId);
+        if (counts.isEmpty()) {
+            return new CommentModerationResultDTO(0, 0);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int updated;
+        try {
+            updated = commentRepository.moderate(restore, !restore, ids, moderationDTO.getUserId(),
+                    moderationDTO.getAccommodationId(), from, to, hostId, now);
+        } catch (DataIntegrityViolationException e) {
+            throw translateReviewSlotViolation(e);
+        }
+
+        Map<Long, long[]> histograms = new LinkedHashMap<>();
+        Map<Long, String> cities = new HashMap<>();
+        long sign = restore ? 1 : -1;
+        for (Object[] row : counts) {
+            Long accommodationId = (Long) row[0];
+            cities.put(accommodationId, (String) row[1]);
+            histograms.computeIfAbsent(accommodationId, id -> new long[5])[(Integer) row[2] - 1] += sign * (Long) row[3];
+        }
+        histograms.forEach((accommodationId, histogram) -> {
+            long count = 0;
+            long sum = 0;
+            for (int i = 0; i < 5; i++) {
+                count += histogram[i];
+                sum += histogram[i] * (i + 1);
+            }
+            accommodationRepository.applyRatingDelta(accommodationId, count, sum,
+                    histogram[0], histogram[1], histogram[2], histogram[3], histogram[4], now);
+            rankingService.rescoreAccommodation(accommodationId, cities.get(accommodationId));
+        });
+        LOGGER.info("User ID: {} {} {} comments of {} accommodations", moderator.getId(),
+                restore ? "restored" : "deleted", updated, histograms.size());
+        return new CommentModerationResultDTO(updated, histograms.size());
+    }
+
+    /**
+     * Turns a violation of the one-review-per-user constraint into the conflict error; any other
+     * violation is returned unchanged.
+     */
+    private static RuntimeException translateReviewSlotViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(Comment.REVIEW_SLOT_CONSTRAINT)) {
+                return new IllegalStateException("El usuario ya ha comentado sobre este alojamiento");
+            }
+        }
+        return e;
+    }
+
+    /**
+     * Turns a result read with one extra row into a page: the extra row only tells that a next page exists.
+     */
+    private static CursorPageDTO<CommentResponseDTO> toCursorPage(List<CommentResponseDTO> comments, int size) {
+        if (comments.size() <= size) {
+            return new CursorPageDTO<>(comments, null, size);
+        }
+        List<CommentResponseDTO> page = comments.subList(0, size);
+        CommentResponseDTO last = page.get(size - 1);
+        return new CursorPageDTO<>(page, new FeedCursor(last.getCreatedAt(), last.getId()).encode(), size);
+    }
+
+    /**
+     * Moves a rating in the summary of an accommodation with a single atomic update, then rescores
+     * the accommodation from the new summary.
+     *
+     * @param accommodation The accommodation.
+     * @param removedRating The rating to remove, or null when a comment is created.
+     * @param addedRating The rating to add, or null when a comment is deleted.
+     */
+    private void updateRatingSummary(Accommodation accommodation, Integer removedRating, Integer addedRating) {
+        if (Objects.equals(removedRating, addedRating)) {
+            return;
+        }
+        long[] histogram = new long[5];
+        long count = 0;
+        long sum = 0;
+        if (removedRating != null) {
+            histogram[removedRating - 1]--;
+            count--;
+            sum -= removedRating;
+        }
+        if (addedRating != null) {
+            histogram[addedRating - 1]++;
+            count++;
+            sum += addedRating;
+        }
+        accommodationRepository.applyRatingDelta(accommodation.getId(), count, sum,
+                histogram[0], histogram[1], histogram[2], histogram[3], histogram[4], LocalDateTime.now());
+        rankingService.rescoreAccommodation(accommodation.getId(), accommodation.getCity());
+    }
+}
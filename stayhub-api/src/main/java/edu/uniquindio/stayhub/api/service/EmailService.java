@@ -15,6 +15,7 @@ import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -104,6 +105,25 @@ public class EmailService {
         sendEmailWithTemplate(recipientEmail, subject, templateName, variables);
     }
 
+    /**
+     * Sends a single digest email summarizing several notifications of the same type.
+     *
+     * @param recipientEmail The recipient's email address.
+     * @param type The type shared by all the notifications in the digest.
+     * @param messages The messages of the coalesced notifications, oldest first.
+     */
+    @Async
+    public void sendDigestEmail(String recipientEmail, NotificationType type, List<String> messages) {
+        String subject = getEmailSubject(type) + " (" + messages.size() + ")";
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("messages", messages);
+        variables.put("count", messages.size());
+        variables.put("notificationType", type.name());
+
+        sendEmailWithTemplate(recipientEmail, subject, "emails/notification-digest", variables);
+    }
+
     /**
      * Determines the email subject based on the notification type.
      *
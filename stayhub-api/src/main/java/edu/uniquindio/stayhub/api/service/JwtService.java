@@ -4,6 +4,7 @@ import edu.uniquindio.stayhub.api.model.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
@@ -15,10 +16,15 @@ import org.springframework.stereotype.Service;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 
 /**
  * Service class for handling JWT token generation and validation in the StayHub application.
- * Generates tokens with user email, userId and role, and validates tokens using a secret key loaded from environment variables.
+ * Generates tokens with user email, userId, role and a unique ID (jti), and validates tokens using a secret key loaded from environment variables.
+ * <p>
+ * A token is verified and decoded once by {@link #parse(String)} into a {@link ParsedToken}, from which
+ * all claims and validity checks are read. The underlying {@link JwtParser} is immutable and thread-safe,
+ * so a single instance is built at startup and shared by every request.
  */
 @Service
 public class JwtService {
@@ -26,6 +32,7 @@ public class JwtService {
     private static final Logger LOGGER = LoggerFactory.getLogger(JwtService.class);
     private final SecretKey SECRET_KEY;
     private final long EXPIRATION_TIME;
+    private final JwtParser parser;
 
     /**
      * Constructs a JwtService with the secret key and expiration time loaded from environment variables.
@@ -36,6 +43,7 @@ public class JwtService {
     public JwtService(@Value("${jwt.secret.key}") String secretKey, @Value("${jwt.time.expiration:86400000}") long expirationTime) {
         this.SECRET_KEY = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
         this.EXPIRATION_TIME = expirationTime;
+        this.parser = Jwts.parser().verifyWith(SECRET_KEY).build();
     }
 
     /**
@@ -50,6 +58,8 @@ public class JwtService {
                 .subject(user.getEmail())
                 .claim("userId", user.getId())
                 .claim("role", user.getRole().name())
+                .claim("ver", user.getTokenVersion())
+                .id(UUID.randomUUID().toString())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
                 .signWith(SECRET_KEY)
@@ -69,6 +79,7 @@ public class JwtService {
         String token = Jwts.builder()
                 .subject(userDetails.getUsername())
                 .claim("role", userDetails.getAuthorities().stream().findFirst().map(Object::toString).orElse("USER"))
+                .id(UUID.randomUUID().toString())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
                 .signWith(SECRET_KEY)
@@ -77,6 +88,27 @@ public class JwtService {
         return token;
     }
 
+    /**
+     * Verifies the signature and expiration of a JWT token and decodes its claims.
+     * This is the only place where a token is parsed; callers should keep the result
+     * instead of parsing the same token again.
+     *
+     * @param token The JWT token.
+     * @return The decoded token.
+     * @throws ExpiredJwtException If the token has expired.
+     * @throws JwtException If the token is invalid (e.g., malformed or incorrect signature).
+     */
+    public ParsedToken parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        return new ParsedToken(
+                claims.getSubject(),
+                claims.get("userId", Long.class),
+                claims.get("role", String.class),
+                claims.get("ver", Integer.class),
+                claims.getExpiration(),
+                claims.getId());
+    }
+
     /**
      * Validates a JWT token by checking its signature and expiration.
      *
@@ -88,10 +120,7 @@ public class JwtService {
     public boolean validateToken(String token) {
         LOGGER.info("Validating JWT token");
         try {
-            Jwts.parser()
-                    .verifyWith(SECRET_KEY)
-                    .build()
-                    .parseSignedClaims(token);
+            parse(token);
             LOGGER.debug("JWT token validated successfully");
             return true;
         } catch (ExpiredJwtException e) {
@@ -114,12 +143,7 @@ public class JwtService {
     public String extractUsername(String token) {
         LOGGER.debug("Extracting username from JWT token");
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(SECRET_KEY)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            String username = claims.getSubject();
+            String username = parse(token).username();
             LOGGER.debug("Username extracted: {}", username);
             return username;
         } catch (ExpiredJwtException e) {
@@ -142,12 +166,7 @@ public class JwtService {
     public Long extractUserId(String token) {
         LOGGER.debug("Extracting userId from JWT token");
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(SECRET_KEY)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            Long userId = claims.get("userId", Long.class);
+            Long userId = parse(token).userId();
             LOGGER.debug("UserId extracted: {}", userId);
             return userId;
         } catch (ExpiredJwtException e) {
@@ -167,12 +186,8 @@ public class JwtService {
      * @return True if the token is valid and matches the user, false otherwise.
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        LOGGER.info("Checking if JWT token is valid for user: {}", userDetails.getUsername());
         try {
-            String username = extractUsername(token);
-            boolean isValid = username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-            LOGGER.debug("Token validity for user {}: {}", userDetails.getUsername(), isValid);
-            return isValid;
+            return isTokenValid(parse(token), userDetails);
         } catch (JwtException e) {
             LOGGER.error("Error validating token for user {}: {}", userDetails.getUsername(), e.getMessage());
             return false;
@@ -180,25 +195,56 @@ public class JwtService {
     }
 
     /**
-     * Checks if a JWT token is expired.
+     * Checks if an already parsed JWT token is valid for a specific user, without parsing it again.
      *
-     * @param token The JWT token.
-     * @return True if the token is expired, false otherwise.
+     * @param token The parsed JWT token.
+     * @param userDetails The user details to validate against.
+     * @return True if the token matches the user and has not expired, false otherwise.
      */
-    private boolean isTokenExpired(String token) {
-        try {
-            Date expiration = Jwts.parser()
-                    .verifyWith(SECRET_KEY)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .getExpiration();
-            boolean isExpired = expiration.before(new Date());
-            LOGGER.debug("Token expiration check: {}", isExpired);
-            return isExpired;
-        } catch (JwtException e) {
-            LOGGER.error("Error checking token expiration: {}", e.getMessage());
-            return true;
+    public boolean isTokenValid(ParsedToken token, UserDetails userDetails) {
+        boolean isValid = userDetails.getUsername().equals(token.username()) && !token.isExpired();
+        LOGGER.debug("Token validity for user {}: {}", userDetails.getUsername(), isValid);
+        return isValid;
+    }
+
+    /**
+     * Builds the principal of a request from the claims of a token, without loading the user.
+     * Only tokens generated for a {@link User} carry the userId and role needed for this.
+     *
+     * @param token The parsed JWT token.
+     * @return The principal, or null if the token lacks the userId or role claims.
+     */
+    public UserDetails toPrincipal(ParsedToken token) {
+        if (token.userId() == null || token.role() == null) {
+            return null;
+        }
+        return org.springframework.security.core.userdetails.User.builder()
+                .username(token.username())
+                .password("")
+                .authorities("ROLE_" + token.role())
+                .build();
+    }
+
+    /**
+     * The verified claims of a JWT token.
+     *
+     * @param username The subject of the token (the user's email).
+     * @param userId The ID of the user, or null for tokens generated from {@link UserDetails}.
+     * @param role The role of the user.
+     * @param tokenVersion The token version of the user when the token was issued, or null for older tokens.
+     * @param expiration The expiration date of the token.
+     * @param tokenId The unique ID of the token (jti), used to revoke it, or null for older tokens.
+     */
+    public record ParsedToken(String username, Long userId, String role, Integer tokenVersion, Date expiration,
+                              String tokenId) {
+
+        /**
+         * Checks if the token is expired.
+         *
+         * @return True if the expiration date has passed.
+         */
+        public boolean isExpired() {
+            return expiration != null && expiration.before(new Date());
         }
     }
-}
\ No newline at end of file
+}
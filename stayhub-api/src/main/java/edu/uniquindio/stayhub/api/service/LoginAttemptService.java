@@ -0,0 +1,178 @@
+package edu.uniquindio.stayhub.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.uniquindio.stayhub.api.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Service that tracks failed logins per account and per client IP, so brute-force attempts are
+ * rejected before any user lookup or password hashing.
+ * <p>
+ * Each account and IP has a failure score that halves every {@code app.security.login-attempts.half-life},
+ * a compact stand-in for a sliding window that needs two numbers per key. Once a score reaches the
+ * threshold, attempts are rejected until it decays enough to allow one more failure, so a persistent
+ * attacker only gets a new guess each time the score decays back under the threshold. Successful
+ * logins clear the account score, but not the IP score. Scores are kept in memory, per instance, for up to {@code max-entries} keys.
+ * The client IP is the request's remote address, which in prod is resolved from {@code X-Forwarded-For}
+ * ({@code server.forward-headers-strategy=native}); without it, every client would share the proxy's score.
+ * <p>
+ * Metrics: {@code stayhub.login.blocked} counts rejected attempts by {@code reason} (account or ip),
+ * and {@code stayhub.login.hashing.saved} estimates the password hashing time they avoided.
+ */
+@Service
+public class LoginAttemptService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoginAttemptService.class);
+
+    private final Cache<String, DecayingCounter> accounts;
+    private final Cache<String, DecayingCounter> ips;
+    private final int accountThreshold;
+    private final int ipThreshold;
+    private final long halfLifeNanos;
+    private final MeterRegistry meterRegistry;
+    private final Counter accountBlockedCounter;
+    private final Counter ipBlockedCounter;
+    private final DoubleAdder hashingSecondsSaved = new DoubleAdder();
+
+    public LoginAttemptService(@Value("${app.security.login-attempts.account-threshold:5}") int accountThreshold,
+                               @Value("${app.security.login-attempts.ip-threshold:20}") int ipThreshold,
+                               @Value("${app.security.login-attempts.half-life:PT10M}") Duration halfLife,
+                               @Value("${app.security.login-attempts.max-entries:100000}") long maxEntries,
+                               MeterRegistry meterRegistry) {
+        this.accountThreshold = accountThreshold;
+        this.ipThreshold = ipThreshold;
+        this.halfLifeNanos = halfLife.toNanos();
+        // After eight half-lives a score is below 1/256 of its peak, so it can be forgotten
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(halfLife.multipliedBy(8))
+                .build();
+        this.ips = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(halfLife.multipliedBy(8))
+                .build();
+        this.meterRegistry = meterRegistry;
+        this.accountBlockedCounter = Counter.builder("stayhub.login.blocked")
+                .description("Login attempts rejected before hashing because of previous failures")
+                .tag("reason", "account")
+                .register(meterRegistry);
+        this.ipBlockedCounter = Counter.builder("stayhub.login.blocked")
+                .description("Login attempts rejected before hashing because of previous failures")
+                .tag("reason", "ip")
+                .register(meterRegistry);
+        FunctionCounter.builder("stayhub.login.hashing.saved", hashingSecondsSaved, DoubleAdder::sum)
+                .description("Estimated password hashing time avoided by rejecting attempts early")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rejects a login attempt if the account or the client IP failed too many times recently.
+     *
+     * @param email The email the attempt is made for.
+     * @param clientIp The IP address of the client, or null if unknown.
+     * @throws TooManyRequestsException If the attempt is rejected.
+     */
+    public void checkAllowed(String email, String clientIp) {
+        long now = System.nanoTime();
+        DecayingCounter account = accounts.getIfPresent(normalize(email));
+        if (account != null && account.isBlocked(accountThreshold, now)) {
+            reject(accountBlockedCounter, account.nanosUntilAllowed(accountThreshold, now));
+        }
+        DecayingCounter ip = clientIp == null ? null : ips.getIfPresent(clientIp);
+        if (ip != null && ip.isBlocked(ipThreshold, now)) {
+            reject(ipBlockedCounter, ip.nanosUntilAllowed(ipThreshold, now));
+        }
+    }
+
+    /**
+     * Records a failed login attempt.
+     *
+     * @param email The email the attempt was made for.
+     * @param clientIp The IP address of the client, or null if unknown.
+     */
+    public void recordFailure(String email, String clientIp) {
+        long now = System.nanoTime();
+        accounts.get(normalize(email), key -> new DecayingCounter(halfLifeNanos)).increment(now);
+        if (clientIp != null) {
+            ips.get(clientIp, key -> new DecayingCounter(halfLifeNanos)).increment(now);
+        }
+    }
+
+    /**
+     * Records a successful login, clearing the failures of the account.
+     *
+     * @param email The email that logged in.
+     */
+    public void recordSuccess(String email) {
+        accounts.invalidate(normalize(email));
+    }
+
+    private void reject(Counter counter, long nanosUntilAllowed) {
+        counter.increment();
+        Timer matchesTimer = meterRegistry.find("stayhub.password.hashing").tag("operation", "matches").timer();
+        if (matchesTimer != null && matchesTimer.count() > 0) {
+            hashingSecondsSaved.add(matchesTimer.mean(TimeUnit.SECONDS));
+        }
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanosUntilAllowed) + 1);
+        LOGGER.debug("Login attempt rejected, retry in {} s", retryAfterSeconds);
+        throw new TooManyRequestsException(
+                "Demasiados intentos fallidos. Intente de nuevo más tarde.", retryAfterSeconds);
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Failure score that decays exponentially with time.
+     */
+    private static final class DecayingCounter {
+
+        private final long halfLifeNanos;
+        private double score;
+        private long updatedAt;
+
+        private DecayingCounter(long halfLifeNanos) {
+            this.halfLifeNanos = halfLifeNanos;
+        }
+
+        private synchronized void increment(long now) {
+            score = scoreAt(now) + 1;
+            updatedAt = now;
+        }
+
+        /**
+         * An attempt is blocked while one more failure would exceed the threshold.
+         */
+        private synchronized boolean isBlocked(int threshold, long now) {
+            return scoreAt(now) > threshold - 1;
+        }
+
+        private synchronized long nanosUntilAllowed(int threshold, long now) {
+            double current = scoreAt(now);
+            double target = Math.max(threshold - 1, 0.5);
+            return current <= target ? 0 : (long) (halfLifeNanos * (Math.log(current / target) / Math.log(2)));
+        }
+
+        private double scoreAt(long now) {
+            if (score == 0) {
+                return 0;
+            }
+            return score * Math.pow(0.5, (double) (now - updatedAt) / halfLifeNanos);
+        }
+    }
+}
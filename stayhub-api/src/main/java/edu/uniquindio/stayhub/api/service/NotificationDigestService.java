@@ -0,0 +1,142 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.dto.notification.NotificationRequestDTO;
+import edu.uniquindio.stayhub.api.model.NotificationType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Service that coalesces notification emails into digests.
+ * <p>
+ * Notifications of the configured types are buffered per recipient and type for a configurable
+ * window; when the window closes (or the batch reaches its maximum size) a single digest email is
+ * sent for the whole batch. Other notification types are emailed immediately. In-app notification
+ * rows are not affected: they are still persisted by {@link NotificationService} as they happen.
+ */
+@Service
+public class NotificationDigestService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationDigestService.class);
+
+    private final EmailService emailService;
+    private final long windowMs;
+    private final Set<NotificationType> digestTypes;
+    private final int maxBatchSize;
+
+    private final Map<DigestKey, Batch> batches = new ConcurrentHashMap<>();
+
+    public NotificationDigestService(EmailService emailService,
+                                     @Value("${app.notifications.digest.window-ms:600000}") long windowMs,
+                                     @Value("${app.notifications.digest.types:RESERVATION_REQUESTED,RESERVATION_UPDATED}") Set<NotificationType> digestTypes,
+                                     @Value("${app.notifications.digest.max-batch-size:50}") int maxBatchSize) {
+        this.emailService = emailService;
+        this.windowMs = windowMs;
+        this.digestTypes = digestTypes;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Queues the email for a notification. Digest types are buffered; any other type is sent right away.
+     *
+     * @param notificationDTO The notification details.
+     * @param recipientEmail The recipient's email address.
+     */
+    public void submit(NotificationRequestDTO notificationDTO, String recipientEmail) {
+        if (!digestTypes.contains(notificationDTO.getNotificationType())) {
+            emailService.sendEmailNotification(notificationDTO, recipientEmail);
+            return;
+        }
+        DigestKey key = new DigestKey(notificationDTO.getUserId(), notificationDTO.getNotificationType());
+        List<Batch> full = new ArrayList<>(1);
+        batches.compute(key, (k, batch) -> {
+            if (batch == null) {
+                batch = new Batch(recipientEmail, System.currentTimeMillis());
+            }
+            batch.notifications.add(notificationDTO);
+            if (batch.notifications.size() >= maxBatchSize) {
+                full.add(batch);
+                return null;
+            }
+            return batch;
+        });
+        full.forEach(batch -> send(key, batch));
+    }
+
+    /**
+     * Sends the digests whose coalescing window has closed.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.digest.flush-interval-ms:30000}")
+    public void flushDue() {
+        long cutoff = System.currentTimeMillis() - windowMs;
+        flush(batch -> batch.firstQueuedAt <= cutoff);
+    }
+
+    /**
+     * Sends every pending digest so buffered emails are not lost on shutdown.
+     */
+    @PreDestroy
+    public void flushAll() {
+        flush(batch -> true);
+    }
+
+    /**
+     * Returns the number of notifications waiting to be emailed.
+     *
+     * @return The number of buffered notifications.
+     */
+    public int getPendingCount() {
+        return batches.values().stream().mapToInt(batch -> batch.notifications.size()).sum();
+    }
+
+    private void flush(Predicate<Batch> due) {
+        for (DigestKey key : batches.keySet()) {
+            List<Batch> removed = new ArrayList<>(1);
+            batches.computeIfPresent(key, (k, batch) -> {
+                if (due.test(batch)) {
+                    removed.add(batch);
+                    return null;
+                }
+                return batch;
+            });
+            removed.forEach(batch -> send(key, batch));
+        }
+    }
+
+    private void send(DigestKey key, Batch batch) {
+        if (batch.notifications.size() == 1) {
+            emailService.sendEmailNotification(batch.notifications.getFirst(), batch.recipientEmail);
+            return;
+        }
+        List<String> messages = batch.notifications.stream().map(NotificationRequestDTO::getMessage).toList();
+        LOGGER.info("Sending digest of {} {} notifications to user ID: {}", messages.size(), key.type(), key.userId());
+        emailService.sendDigestEmail(batch.recipientEmail, key.type(), messages);
+    }
+
+    private record DigestKey(Long userId, NotificationType type) {
+    }
+
+    /**
+     * Notifications buffered for one recipient and type. Only mutated inside {@code batches.compute}.
+     */
+    private static final class Batch {
+        private final String recipientEmail;
+        private final long firstQueuedAt;
+        private final List<NotificationRequestDTO> notifications = new ArrayList<>();
+
+        private Batch(String recipientEmail, long firstQueuedAt) {
+            this.recipientEmail = recipientEmail;
+            this.firstQueuedAt = firstQueuedAt;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.repository.ArchivedNotificationRepository;
+import edu.uniquindio.stayhub.api.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service that keeps the 'notifications' table small by moving old notifications out of it.
+ * <p>
+ * Every night, read or soft-deleted notifications older than {@code app.notifications.retention.days}
+ * are either copied to the 'notifications_archive' table and removed ({@link RetentionMode#ARCHIVE}),
+ * or removed outright ({@link RetentionMode#DELETE}). Rows are processed in batches of
+ * {@code app.notifications.retention.batch-size}, each in its own short transaction, so the job never
+ * holds locks on the inbox for long. A run stops after {@code app.notifications.retention.max-batches}
+ * batches and the next run continues where it left off.
+ */
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    /**
+     * What to do with the notifications past the retention period.
+     */
+    public enum RetentionMode {
+        ARCHIVE,
+        DELETE
+    }
+
+    private final NotificationRepository notificationRepository;
+    private final ArchivedNotificationRepository archivedNotificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RetentionMode mode;
+    private final int retentionDays;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter processedCounter;
+
+    public NotificationRetentionService(NotificationRepository notificationRepository,
+                                        ArchivedNotificationRepository archivedNotificationRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.notifications.retention.mode:ARCHIVE}") RetentionMode mode,
+                                        @Value("${app.notifications.retention.days:90}") int retentionDays,
+                                        @Value("${app.notifications.retention.batch-size:500}") int batchSize,
+                                        @Value("${app.notifications.retention.max-batches:200}") int maxBatches) {
+        this.notificationRepository = notificationRepository;
+        this.archivedNotificationRepository = archivedNotificationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mode = mode;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.processedCounter = Counter.builder("stayhub.notifications.retention.processed")
+                .description("Notifications moved out of the notifications table")
+                .tag("mode", mode.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    /**
+     * A scheduled task that runs every night to apply the retention policy.
+     *
+     * @return The number of notifications archived or deleted.
+     */
+    @Scheduled(cron = "${app.notifications.retention.cron:0 30 3 * * *}")
+    public int applyRetention() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer processed = transactionTemplate.execute(status -> processBatch(cutoff));
+            if (processed == null || processed == 0) {
+                break;
+            }
+            total += processed;
+            if (processed < batchSize) {
+                break;
+            }
+        }
+        processedCounter.increment(total);
+        LOGGER.info("Notification retention finished: {} notifications older than {} processed ({})", total, cutoff, mode);
+        return total;
+    }
+
+    private int processBatch(LocalDateTime cutoff) {
+        List<Long> ids = notificationRepository.findRetentionCandidates(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        if (mode == RetentionMode.ARCHIVE) {
+            archivedNotificationRepository.archive(ids, LocalDateTime.now());
+        }
+        return notificationRepository.deleteByIdIn(ids);
+    }
+}
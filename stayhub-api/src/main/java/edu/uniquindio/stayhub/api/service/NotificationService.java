@@ -3,6 +3,7 @@ package edu.uniquindio.stayhub.api.service;
 import edu.uniquindio.stayhub.api.dto.notification.NotificationRequestDTO;
 import edu.uniquindio.stayhub.api.dto.notification.NotificationResponseDTO;
 import edu.uniquindio.stayhub.api.dto.notification.NotificationUpdateDTO;
+import edu.uniquindio.stayhub.api.event.NotificationCreatedEvent;
 import edu.uniquindio.stayhub.api.exception.AccessDeniedException;
 import edu.uniquindio.stayhub.api.exception.NotificationNotFoundException;
 import edu.uniquindio.stayhub.api.exception.UserNotFoundException;
@@ -16,6 +17,7 @@ import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
@@ -36,18 +38,23 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final NotificationMapper notificationMapper;
-    private final EmailService emailService;
+    private final NotificationDigestService notificationDigestService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public NotificationService(NotificationRepository notificationRepository, UserRepository userRepository,
-                               NotificationMapper notificationMapper, EmailService emailService) {
+                               NotificationMapper notificationMapper, NotificationDigestService notificationDigestService,
+                               ApplicationEventPublisher eventPublisher) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
         this.notificationMapper = notificationMapper;
-        this.emailService = emailService;
+        this.notificationDigestService = notificationDigestService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
-     * Creates a new notification for the specified user and sends it via email.
+     * Creates a new notification for the specified user and queues it for email delivery.
+     * The email may be coalesced with others of the same type into a digest; the notification row is saved immediately.
+     * A {@link NotificationCreatedEvent} is published so open notification streams receive it after commit.
      *
      * @param requestDTO The notification creation details.
      * @throws UserNotFoundException If the user does not exist.
@@ -61,9 +68,9 @@ public class NotificationService {
         notification.setDeleted(false);
         Notification savedNotification = notificationRepository.save(notification);
 
-        emailService.sendEmailNotification(requestDTO, user.getEmail());
+        notificationDigestService.submit(requestDTO, user.getEmail());
         LOGGER.debug("Notification created with ID: {}", savedNotification.getId());
-        notificationMapper.toResponseDTO(savedNotification);
+        eventPublisher.publishEvent(new NotificationCreatedEvent(notificationMapper.toResponseDTO(savedNotification)));
     }
 
     /**
@@ -0,0 +1,262 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.dto.notification.NotificationResponseDTO;
+import edu.uniquindio.stayhub.api.event.NotificationCreatedEvent;
+import edu.uniquindio.stayhub.api.exception.UserNotFoundException;
+import edu.uniquindio.stayhub.api.mapper.NotificationMapper;
+import edu.uniquindio.stayhub.api.model.Notification;
+import edu.uniquindio.stayhub.api.model.User;
+import edu.uniquindio.stayhub.api.repository.NotificationRepository;
+import edu.uniquindio.stayhub.api.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service that pushes notifications to connected clients through Server-Sent Events.
+ * <p>
+ * Connections are held by the async servlet machinery, so an idle subscriber costs an
+ * {@link SseEmitter} and a small bounded queue but no thread. Events are delivered by
+ * short-lived virtual threads that drain each subscriber's queue; a subscriber whose queue
+ * overflows is considered too slow and is disconnected so it can resume with
+ * {@code Last-Event-ID} instead of holding memory on the server.
+ */
+@Service
+public class NotificationStreamService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationStreamService.class);
+    private static final String EVENT_NAME = "notification";
+
+    /**
+     * Notifications returned by each replay query, the {@code Top100} of the repository method.
+     */
+    private static final int REPLAY_PAGE_SIZE = 100;
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final NotificationMapper notificationMapper;
+    private final long timeoutMs;
+    private final int queueCapacity;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    public NotificationStreamService(NotificationRepository notificationRepository, UserRepository userRepository,
+                                     NotificationMapper notificationMapper,
+                                     @Value("${app.notifications.stream.timeout-ms:1800000}") long timeoutMs,
+                                     @Value("${app.notifications.stream.queue-capacity:64}") int queueCapacity) {
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.notificationMapper = notificationMapper;
+        this.timeoutMs = timeoutMs;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Opens a notification stream for the authenticated user.
+     * When {@code lastEventId} is provided, the notifications created after it are replayed
+     * before any live event, so a reconnecting client does not lose updates. The backlog is read
+     * in pages of {@value #REPLAY_PAGE_SIZE} until it is exhausted; if it does not fit in the queue,
+     * the stream is closed like any slow one and the client resumes from the last event it got.
+     *
+     * @param email The email of the authenticated user.
+     * @param lastEventId The ID of the last notification received by the client (optional).
+     * @return The emitter bound to the HTTP response.
+     * @throws UserNotFoundException If the user does not exist.
+     */
+    public SseEmitter subscribe(String email, Long lastEventId) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado"));
+        Long userId = user.getId();
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter, queueCapacity);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+
+        // The subscriber is registered before the replay query so nothing committed in between is lost;
+        // holding its lock makes live events wait until the replay has been queued, preserving order.
+        synchronized (subscriber) {
+            subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+        }
+        LOGGER.debug("Notification stream opened for user ID: {}", userId);
+        return emitter;
+    }
+
+    /**
+     * Pushes a newly created notification to the streams of its recipient once the
+     * transaction that created it has committed.
+     *
+     * @param event The notification created event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        publish(event.notification());
+    }
+
+    /**
+     * Pushes a notification to every open stream of its recipient.
+     *
+     * @param notification The notification to deliver.
+     */
+    public void publish(NotificationResponseDTO notification) {
+        Set<Subscriber> userSubscribers = subscribers.get(notification.getUserId());
+        if (userSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : userSubscribers) {
+            synchronized (subscriber) {
+                enqueue(subscriber, notification);
+            }
+        }
+    }
+
+    /**
+     * Sends a comment line to every open stream so proxies and load balancers keep idle
+     * connections alive, and so dead connections are detected and released.
+     */
+    @Scheduled(fixedRateString = "${app.notifications.stream.heartbeat-ms:25000}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber ->
+                offer(subscriber, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    /**
+     * Returns the number of currently open streams.
+     *
+     * @return The number of connected subscribers.
+     */
+    public int getActiveConnections() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Completes every open stream and stops the delivery threads on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Queues every notification created after {@code lastEventId}, one page at a time, stopping early
+     * if the stream is closed because its queue overflowed. Callers must hold the subscriber's lock.
+     */
+    private void replay(Subscriber subscriber, long lastEventId) {
+        long afterId = lastEventId;
+        List<Notification> page;
+        do {
+            page = notificationRepository.findTop100ByUserIdAndIdGreaterThanAndDeletedFalseOrderByIdAsc(
+                    subscriber.userId, afterId);
+            for (Notification notification : page) {
+                enqueue(subscriber, notificationMapper.toResponseDTO(notification));
+                afterId = notification.getId();
+            }
+        } while (page.size() == REPLAY_PAGE_SIZE && isOpen(subscriber));
+    }
+
+    /**
+     * Queues a notification for a subscriber, skipping notifications it has already been sent.
+     * Callers must hold the subscriber's lock.
+     */
+    private void enqueue(Subscriber subscriber, NotificationResponseDTO notification) {
+        if (notification.getId() <= subscriber.lastQueuedId) {
+            return;
+        }
+        subscriber.lastQueuedId = notification.getId();
+        offer(subscriber, SseEmitter.event()
+                .id(String.valueOf(notification.getId()))
+                .name(EVENT_NAME)
+                .data(notification, MediaType.APPLICATION_JSON));
+    }
+
+    /**
+     * Adds an event to a subscriber's queue and schedules a drain. A full queue means the client
+     * is not keeping up, so its connection is closed rather than buffering without bound.
+     */
+    private void offer(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.queue.offer(event)) {
+            LOGGER.warn("Notification stream for user ID {} is not keeping up, closing it", subscriber.userId);
+            unregister(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Writes the queued events of a subscriber to its connection. Only one drain runs per
+     * subscriber at a time, which keeps events in order without a dedicated thread.
+     */
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.queue.poll()) != null) {
+                try {
+                    subscriber.emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    LOGGER.debug("Notification stream for user ID {} closed: {}", subscriber.userId, e.getMessage());
+                    unregister(subscriber);
+                    subscriber.queue.clear();
+                    subscriber.emitter.completeWithError(e);
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+        } while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private boolean isOpen(Subscriber subscriber) {
+        Set<Subscriber> userSubscribers = subscribers.get(subscriber.userId);
+        return userSubscribers != null && userSubscribers.contains(subscriber);
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (userId, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    /**
+     * An open stream with its pending events.
+     */
+    private static final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private long lastQueuedId;
+
+        private Subscriber(Long userId, SseEmitter emitter, int queueCapacity) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
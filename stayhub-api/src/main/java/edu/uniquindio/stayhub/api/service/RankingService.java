@@ -0,0 +1,181 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.repository.AccommodationRepository;
+import edu.uniquindio.stayhub.api.repository.CommentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service that computes the stored ranking scores of accommodations and comments, so both can be
+ * sorted by an index instead of by an expression evaluated per row.
+ * <ul>
+ * <li>The ranking score of an accommodation is the Bayesian average of its ratings: its rating sum
+ * plus {@code app.ranking.prior-weight} virtual ratings at the prior, divided by its rating count
+ * plus that weight. The prior is the average rating of its city, itself pulled toward the global
+ * average the same way, so one 5-star review cannot outrank hundreds of 4.8 ones.</li>
+ * <li>The helpfulness score of a comment is its creation time measured in
+ * {@code app.ranking.recency-half-life} units, plus {@code app.ranking.host-reply-weight} half-lives
+ * when the host replied. Sorting by it is the same as sorting by a recency weight that halves every
+ * half-life, multiplied by a bonus for replied comments, but the stored value never goes stale.</li>
+ * </ul>
+ * Scores are updated incrementally: an accommodation is rescored with the current prior whenever
+ * its rating summary changes, and a comment when it is created or replied to. Every
+ * {@code app.ranking.refresh-ms} the priors are recomputed from the rating summaries; the cities
+ * whose prior moved are rescored with one update each, and comments written before scores
+ * existed are backfilled in batches.
+ */
+@Service
+public class RankingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RankingService.class);
+
+    /**
+     * The prior used until ratings exist: the middle of the 1 to 5 scale.
+     */
+    static final double DEFAULT_PRIOR = 3.0;
+
+    /**
+     * Priors that move less than this are not worth rescoring a whole city.
+     */
+    private static final double PRIOR_TOLERANCE = 0.01;
+
+    private final AccommodationRepository accommodationRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double priorWeight;
+    private final double recencyHalfLifeSeconds;
+    private final double hostReplyWeight;
+    private final int batchSize;
+    private final Counter rescoredCounter;
+    private final Map<String, Double> cityPriors = new ConcurrentHashMap<>();
+    private volatile double globalPrior = DEFAULT_PRIOR;
+
+    public RankingService(AccommodationRepository accommodationRepository,
+                          CommentRepository commentRepository,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.ranking.prior-weight:10}") double priorWeight,
+                          @Value("${app.ranking.recency-half-life:P30D}") Duration recencyHalfLife,
+                          @Value("${app.ranking.host-reply-weight:1.0}") double hostReplyWeight,
+                          @Value("${app.ranking.batch-size:500}") int batchSize) {
+        this.accommodationRepository = accommodationRepository;
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.priorWeight = priorWeight;
+        this.recencyHalfLifeSeconds = recencyHalfLife.toSeconds();
+        this.hostReplyWeight = hostReplyWeight;
+        this.batchSize = batchSize;
+        this.rescoredCounter = Counter.builder("stayhub.ranking.rescored")
+                .description("Accommodations rescored because the prior of their city moved")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Computes the priors and backfills missing scores once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    /**
+     * Recomputes the priors, rescores the cities whose prior moved and the accommodations never
+     * scored, and backfills the helpfulness of comments written before scores existed.
+     */
+    @Scheduled(fixedDelayString = "${app.ranking.refresh-ms:900000}",
+            initialDelayString = "${app.ranking.refresh-ms:900000}")
+    public void refresh() {
+        List<Object[]> cities = accommodationRepository.sumRatingsByCity();
+        long totalSum = 0;
+        long totalCount = 0;
+        for (Object[] row : cities) {
+            totalSum += ((Number) row[1]).longValue();
+            totalCount += ((Number) row[2]).longValue();
+        }
+        double global = totalCount == 0 ? DEFAULT_PRIOR : (double) totalSum / totalCount;
+        globalPrior = global;
+
+        int rescored = 0;
+        for (Object[] row : cities) {
+            String city = (String) row[0];
+            double prior = bayesianAverage(((Number) row[1]).longValue(), ((Number) row[2]).longValue(), global);
+            Double previous = cityPriors.put(city, prior);
+            boolean moved = previous == null || Math.abs(previous - prior) > PRIOR_TOLERANCE;
+            Integer updated = transactionTemplate.execute(status ->
+                    accommodationRepository.updateRankingScores(city, prior, priorWeight, !moved, LocalDateTime.now()));
+            if (moved && updated != null) {
+                rescored += updated;
+            }
+        }
+        rescoredCounter.increment(rescored);
+        int backfilled = backfillHelpfulness();
+        LOGGER.info("Ranking refreshed: global prior {}, {} accommodations rescored, {} comments backfilled",
+                global, rescored, backfilled);
+    }
+
+    /**
+     * Rescores an accommodation after its rating summary changed. Must run in the transaction that
+     * changed the summary, after the change, so the new sums are read.
+     *
+     * @param accommodationId The ID of the accommodation.
+     * @param city The city of the accommodation, whose prior is used.
+     */
+    public void rescoreAccommodation(Long accommodationId, String city) {
+        double prior = city == null ? globalPrior : cityPriors.getOrDefault(city, globalPrior);
+        accommodationRepository.updateRankingScore(accommodationId, prior, priorWeight);
+    }
+
+    /**
+     * Computes the helpfulness score of a comment.
+     *
+     * @param createdAt When the comment was created.
+     * @param hostReplied Whether the host replied to the comment.
+     * @return The helpfulness score; higher is shown first.
+     */
+    public double helpfulnessScore(LocalDateTime createdAt, boolean hostReplied) {
+        double recency = createdAt.toEpochSecond(ZoneOffset.UTC) / recencyHalfLifeSeconds;
+        return hostReplied ? recency + hostReplyWeight : recency;
+    }
+
+    private double bayesianAverage(long sum, long count, double prior) {
+        return (priorWeight * prior + sum) / (priorWeight + count);
+    }
+
+    private int backfillHelpfulness() {
+        int total = 0;
+        while (true) {
+            Integer processed = transactionTemplate.execute(status -> {
+                List<Object[]> comments = commentRepository.findUnscoredComments(Limit.of(batchSize));
+                for (Object[] row : comments) {
+                    LocalDateTime createdAt = row[1] == null ? LocalDateTime.now() : (LocalDateTime) row[1];
+                    commentRepository.updateHelpfulnessScore((Long) row[0], helpfulnessScore(createdAt, row[2] != null));
+                }
+                return comments.size();
+            });
+            if (processed == null || processed == 0) {
+                return total;
+            }
+            total += processed;
+            if (processed < batchSize) {
+                return total;
+            }
+        }
+    }
+}
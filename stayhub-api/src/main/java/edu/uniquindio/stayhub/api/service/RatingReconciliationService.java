@@ -0,0 +1,152 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.model.RatingSummary;
+import edu.uniquindio.stayhub.api.repository.AccommodationRepository;
+import edu.uniquindio.stayhub.api.repository.CommentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service that detects and repairs drift between the rating summaries stored on accommodations
+ * and the comments they summarize.
+ * <p>
+ * Summaries are maintained by deltas as comments change, so any write that bypasses
+ * {@link CommentService} (manual fixes, imports) leaves them wrong. Every night, accommodations are
+ * walked by ID in batches of {@code app.ratings.reconciliation.batch-size}. Each batch runs in its
+ * own short transaction: the stored summaries are read and locked, the ratings are recounted with one
+ * grouped query, and every summary that differs is corrected by the difference and its accommodation
+ * rescored, so the ranking follows the corrected ratings. The lock makes a
+ * review written meanwhile either wait for the batch or be fully visible to it, so it is never
+ * counted twice. The job also runs once at startup, to fill the summaries of accommodations created
+ * before they existed; {@code app.ratings.reconciliation.on-startup} turns that off.
+ * Metrics: {@code stayhub.ratings.drift} counts the summaries corrected.
+ */
+@Service
+public class RatingReconciliationService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RatingReconciliationService.class);
+
+    private final AccommodationRepository accommodationRepository;
+    private final CommentRepository commentRepository;
+    private final RankingService rankingService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final boolean onStartup;
+    private final Counter driftCounter;
+
+    public RatingReconciliationService(AccommodationRepository accommodationRepository,
+                                       CommentRepository commentRepository,
+                                       RankingService rankingService,
+                                       PlatformTransactionManager transactionManager,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.ratings.reconciliation.batch-size:500}") int batchSize,
+                                       @Value("${app.ratings.reconciliation.on-startup:true}") boolean onStartup) {
+        this.accommodationRepository = accommodationRepository;
+        this.commentRepository = commentRepository;
+        this.rankingService = rankingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.onStartup = onStartup;
+        this.driftCounter = Counter.builder("stayhub.ratings.drift")
+                .description("Accommodation rating summaries corrected by the reconciliation job")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Backfills the rating summaries once the application is ready, before the ranking priors are computed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfill() {
+        if (onStartup) {
+            reconcile();
+        }
+    }
+
+    /**
+     * A scheduled task that runs every night to reconcile all the rating summaries.
+     *
+     * @return The number of summaries corrected.
+     */
+    @Scheduled(cron = "${app.ratings.reconciliation.cron:0 0 4 * * *}")
+    public int reconcile() {
+        long[] afterId = {0};
+        int corrected = 0;
+        while (true) {
+            // [rows read, summaries corrected]
+            int[] batch = transactionTemplate.execute(status -> {
+                List<Object[]> summaries = accommodationRepository.findRatingSummariesAfter(afterId[0], PageRequest.of(0, batchSize));
+                if (summaries.isEmpty()) {
+                    return new int[]{0, 0};
+                }
+                afterId[0] = (Long) summaries.get(summaries.size() - 1)[0];
+                return new int[]{summaries.size(), reconcileBatch(summaries)};
+            });
+            if (batch == null) {
+                break;
+            }
+            corrected += batch[1];
+            if (batch[0] < batchSize) {
+                break;
+            }
+        }
+        driftCounter.increment(corrected);
+        LOGGER.info("Rating reconciliation finished: {} summaries corrected", corrected);
+        return corrected;
+    }
+
+    private int reconcileBatch(List<Object[]> summaries) {
+        Long fromId = (Long) summaries.get(0)[0];
+        Long toId = (Long) summaries.get(summaries.size() - 1)[0];
+        Map<Long, long[]> histograms = new HashMap<>();
+        for (Object[] row : commentRepository.countRatingsByAccommodationIdBetween(fromId, toId)) {
+            int rating = (Integer) row[1];
+            histograms.computeIfAbsent((Long) row[0], id -> new long[5])[rating - 1] = (Long) row[2];
+        }
+
+        int corrected = 0;
+        for (Object[] row : summaries) {
+            Long id = (Long) row[0];
+            RatingSummary stored = row[2] == null ? new RatingSummary() : (RatingSummary) row[2];
+            long[] actual = histograms.getOrDefault(id, new long[5]);
+            List<Long> storedHistogram = stored.getHistogram();
+            long[] delta = new long[5];
+            long count = 0;
+            long sum = 0;
+            for (int i = 0; i < 5; i++) {
+                delta[i] = actual[i] - storedHistogram.get(i);
+                count += actual[i];
+                sum += actual[i] * (i + 1);
+            }
+            long countDelta = count - stored.getRatingCount();
+            long sumDelta = sum - stored.getRatingSum();
+            if (countDelta == 0 && sumDelta == 0 && delta[0] == 0 && delta[1] == 0 && delta[2] == 0
+                    && delta[3] == 0 && delta[4] == 0) {
+                continue;
+            }
+            LOGGER.warn("Rating summary of accommodation ID: {} drifted by {} ratings, correcting it", id, countDelta);
+            accommodationRepository.applyRatingDelta(id, countDelta, sumDelta,
+                    delta[0], delta[1], delta[2], delta[3], delta[4], LocalDateTime.now());
+            rankingService.rescoreAccommodation(id, (String) row[1]);
+            corrected++;
+        }
+        return corrected;
+    }
+}
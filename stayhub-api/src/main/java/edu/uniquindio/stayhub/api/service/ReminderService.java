@@ -1,57 +1,247 @@
 package edu.uniquindio.stayhub.api.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.mail.MailException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import edu.uniquindio.stayhub.api.event.ReservationTimedEvent;
 import edu.uniquindio.stayhub.api.model.Reservation;
+import edu.uniquindio.stayhub.api.model.ScheduledEventType;
 import edu.uniquindio.stayhub.api.repository.ReservationRepository;
 
 /**
  * Service for sending automated email reminders related to upcoming reservations.
  * This service uses a scheduled task to check for reservations that require reminders.
+ * <p>
+ * Reservations are read through a streaming cursor and their emails are sent concurrently on
+ * virtual threads, with the number of in-flight sends bounded by {@code app.reminders.parallelism}.
+ * The guest and host emails are marked separately once sent, so re-running the job never sends one
+ * twice: when only one of them fails, the next run retries that one alone.
+ * <p>
+ * Reminders are normally sent one by one when the {@link ReservationEventScheduler} fires the
+ * reservation's {@link ScheduledEventType#CHECK_IN_REMINDER} event; the periodic job only catches up
+ * on the reminders that are already due and still unsent, such as those missed while the application
+ * was down, and never sends one before its time.
  */
 @Service
 public class ReminderService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReminderService.class);
+    private static final int MARK_BATCH_SIZE = 100;
+
     private final ReservationRepository reservationRepository;
     private final JavaMailSender mailSender;
+    private final TransactionTemplate markTransaction;
+    private final Duration checkInReminderLead;
+    private final int parallelism;
+
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Timer runTimer;
+    private final DistributionSummary throughput;
 
     /**
      * Constructs the ReminderService with necessary dependencies.
      *
      * @param reservationRepository The repository to access reservation data.
      * @param mailSender The mail sender for sending emails.
+     * @param transactionManager The transaction manager used to record sent reminders in their own transactions.
+     * @param meterRegistry The registry where the job metrics are published.
+     * @param checkInReminderLead How long before the check-in a reminder becomes due.
+     * @param parallelism The maximum number of reminders being sent at the same time.
      */
-    public ReminderService(ReservationRepository reservationRepository, JavaMailSender mailSender) {
+    public ReminderService(ReservationRepository reservationRepository, JavaMailSender mailSender,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                           @Value("${app.reservations.check-in-reminder-lead:PT24H}") Duration checkInReminderLead,
+                           @Value("${app.reminders.parallelism:8}") int parallelism) {
         this.reservationRepository = reservationRepository;
         this.mailSender = mailSender;
+        this.markTransaction = new TransactionTemplate(transactionManager);
+        this.markTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.checkInReminderLead = checkInReminderLead;
+        this.parallelism = parallelism;
+        this.sentCounter = Counter.builder("stayhub.reminders.check_in.sent")
+                .description("Check-in reminders sent (one per reservation)")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("stayhub.reminders.check_in.failed")
+                .description("Check-in reminders that could not be sent and will be retried on the next run")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("stayhub.reminders.check_in.run")
+                .description("Duration of each check-in reminder run")
+                .register(meterRegistry);
+        this.throughput = DistributionSummary.builder("stayhub.reminders.check_in.throughput")
+                .description("Reminders sent per second in each run")
+                .baseUnit("reminders/s")
+                .register(meterRegistry);
     }
 
     /**
-     * A scheduled task that runs every day at 8 AM to send check-in reminders.
-     * It finds all reservations with a check-in date for the following day and
-     * sends a reminder email to both the guest and the host.
+     * A scheduled task that runs every hour to catch up on check-in reminders.
+     * It finds the reservations whose reminder is already due, that is, with a check-in date within
+     * the reminder lead from now, that have not been reminded yet, and sends a reminder email to both
+     * the guest and the host.
      */
-    @Scheduled(cron = "0 0 8 * * *")
+    @Scheduled(cron = "${app.reminders.check-in.cron:0 0 * * * *}")
+    @Transactional(readOnly = true)
     public void sendCheckInReminders() {
-        LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
-        List<Reservation> upcoming = reservationRepository.findByCheckInDate(tomorrow);
-        for (Reservation reservation : upcoming) {
-            sendEmail(reservation.getGuest().getEmail(),
-                    "Recordatorio de Check-In",
-                    "Estimado/a " + reservation.getGuest().getName() + ", le recordamos que su check-in para el alojamiento " +
-                            reservation.getAccommodation().getTitle() + " está programado para el " + reservation.getCheckInDate() + ".");
-            sendEmail(reservation.getAccommodation().getHost().getEmail(),
-                    "Recordatorio de Huésped",
-                    "Estimado/a " + reservation.getAccommodation().getHost().getName() +
-                            ", un huésped llegará mañana a su alojamiento " + reservation.getAccommodation().getTitle() + ".");
+        LocalDateTime now = LocalDateTime.now();
+        long start = System.nanoTime();
+        AtomicInteger sent = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        Queue<Long> guestsToMark = new ConcurrentLinkedQueue<>();
+        Queue<Long> hostsToMark = new ConcurrentLinkedQueue<>();
+        Semaphore permits = new Semaphore(parallelism);
+
+        try (Stream<Reservation> upcoming = reservationRepository.streamCheckInRemindersDue(
+                     now, now.plus(checkInReminderLead));
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            upcoming.forEach(reservation -> {
+                // Copy what the emails need so no entity is touched outside the reading thread
+                CheckInReminder reminder = CheckInReminder.of(reservation);
+                permits.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        Delivery delivery = send(reminder);
+                        if (delivery.guestSent()) {
+                            guestsToMark.add(reminder.reservationId());
+                        }
+                        if (delivery.hostSent()) {
+                            hostsToMark.add(reminder.reservationId());
+                        }
+                        (delivery.complete() ? sent : failed).incrementAndGet();
+                    } finally {
+                        permits.release();
+                    }
+                });
+                if (guestsToMark.size() >= MARK_BATCH_SIZE || hostsToMark.size() >= MARK_BATCH_SIZE) {
+                    markSent(guestsToMark, hostsToMark);
+                }
+            });
+        }
+        markSent(guestsToMark, hostsToMark);
+
+        long elapsedNanos = System.nanoTime() - start;
+        runTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        sentCounter.increment(sent.get());
+        failedCounter.increment(failed.get());
+        double perSecond = sent.get() / Math.max(elapsedNanos / 1e9, 0.001);
+        throughput.record(perSecond);
+        LOGGER.info("Check-in reminder run finished: {} sent, {} failed in {} ms ({} reminders/s)",
+                sent.get(), failed.get(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), String.format("%.1f", perSecond));
+    }
+
+    /**
+     * Sends the check-in reminder of a single reservation when its timed event fires.
+     *
+     * @param event The timed event.
+     */
+    @EventListener(condition = "#event.type() == T(edu.uniquindio.stayhub.api.model.ScheduledEventType).CHECK_IN_REMINDER")
+    public void onCheckInReminderDue(ReservationTimedEvent event) {
+        sendCheckInReminder(event.reservationId());
+    }
+
+    /**
+     * Sends the pending check-in reminder emails of a reservation unless it is no longer active.
+     *
+     * @param reservationId The ID of the reservation.
+     */
+    @Transactional(readOnly = true)
+    public void sendCheckInReminder(Long reservationId) {
+        CheckInReminder reminder = reservationRepository.findCheckInReminderDue(reservationId)
+                .map(CheckInReminder::of)
+                .orElse(null);
+        if (reminder == null) {
+            return;
+        }
+        Delivery delivery = send(reminder);
+        (delivery.complete() ? sentCounter : failedCounter).increment();
+        if (delivery.guestSent() || delivery.hostSent()) {
+            LocalDateTime sentAt = LocalDateTime.now();
+            markTransaction.executeWithoutResult(status -> {
+                if (delivery.guestSent()) {
+                    reservationRepository.markCheckInGuestReminderSent(List.of(reservationId), sentAt);
+                }
+                if (delivery.hostSent()) {
+                    reservationRepository.markCheckInHostReminderSent(List.of(reservationId), sentAt);
+                }
+            });
+        }
+    }
+
+    /**
+     * Sends the guest and host emails of a reservation that were not sent yet.
+     *
+     * @param reminder The reminder data.
+     * @return Which emails were sent by this call.
+     */
+    private Delivery send(CheckInReminder reminder) {
+        boolean guestSent = reminder.guestPending() && sendEmail(reminder.guestEmail(),
+                "Recordatorio de Check-In",
+                "Estimado/a " + reminder.guestName() + ", le recordamos que su check-in para el alojamiento " +
+                        reminder.accommodationTitle() + " está programado para el " + reminder.checkInDate() + ".");
+        boolean hostSent = reminder.hostPending() && sendEmail(reminder.hostEmail(),
+                "Recordatorio de Huésped",
+                "Estimado/a " + reminder.hostName() +
+                        ", un huésped llegará mañana a su alojamiento " + reminder.accommodationTitle() + ".");
+        return new Delivery(guestSent, hostSent,
+                (guestSent || !reminder.guestPending()) && (hostSent || !reminder.hostPending()));
+    }
+
+    /**
+     * Records the drained reservation IDs as reminded, in a transaction of their own so progress
+     * survives a failure later in the run.
+     */
+    private void markSent(Queue<Long> guestsToMark, Queue<Long> hostsToMark) {
+        List<Long> guests = drain(guestsToMark);
+        List<Long> hosts = drain(hostsToMark);
+        if (guests.isEmpty() && hosts.isEmpty()) {
+            return;
         }
+        LocalDateTime sentAt = LocalDateTime.now();
+        markTransaction.executeWithoutResult(status -> {
+            if (!guests.isEmpty()) {
+                reservationRepository.markCheckInGuestReminderSent(guests, sentAt);
+            }
+            if (!hosts.isEmpty()) {
+                reservationRepository.markCheckInHostReminderSent(hosts, sentAt);
+            }
+        });
+    }
+
+    private static List<Long> drain(Queue<Long> queue) {
+        List<Long> batch = new ArrayList<>();
+        Long id;
+        while ((id = queue.poll()) != null) {
+            batch.add(id);
+        }
+        return batch;
     }
 
     /**
@@ -60,16 +250,50 @@ public class ReminderService {
      * @param to The recipient's email address.
      * @param subject The subject of the email.
      * @param body The body content of the email.
+     * @return True if the message was handed to the mail server, false otherwise.
      */
-    void sendEmail(String to, String subject, String body){
+    boolean sendEmail(String to, String subject, String body){
         try {
             SimpleMailMessage message = new SimpleMailMessage();
             message.setTo(to);
             message.setSubject(subject);
             message.setText(body);
             mailSender.send(message);
+            return true;
         } catch (MailException e) {
-            System.err.println("Error enviando correo a " + to + ": " + e.getMessage());
+            LOGGER.error("Error enviando correo a {}: {}", to, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * The data needed to remind the guest and host of a reservation, and which of them still need it.
+     */
+    private record CheckInReminder(Long reservationId, String guestEmail, String guestName, String hostEmail,
+                                   String hostName, String accommodationTitle, LocalDateTime checkInDate,
+                                   boolean guestPending, boolean hostPending) {
+
+        private static CheckInReminder of(Reservation reservation) {
+            return new CheckInReminder(
+                    reservation.getId(),
+                    reservation.getGuest().getEmail(),
+                    reservation.getGuest().getName(),
+                    reservation.getAccommodation().getHost().getEmail(),
+                    reservation.getAccommodation().getHost().getName(),
+                    reservation.getAccommodation().getTitle(),
+                    reservation.getCheckInDate(),
+                    reservation.getCheckInGuestReminderSentAt() == null,
+                    reservation.getCheckInHostReminderSentAt() == null);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The outcome of sending the reminder of a reservation.
+     *
+     * @param guestSent Whether the guest email was sent by this attempt.
+     * @param hostSent Whether the host email was sent by this attempt.
+     * @param complete Whether both emails have now been sent.
+     */
+    private record Delivery(boolean guestSent, boolean hostSent, boolean complete) {
+    }
+}
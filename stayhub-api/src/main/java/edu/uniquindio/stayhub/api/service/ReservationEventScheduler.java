@@ -0,0 +1,266 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.event.ReservationTimedEvent;
+import edu.uniquindio.stayhub.api.model.Reservation;
+import edu.uniquindio.stayhub.api.model.ReservationStatus;
+import edu.uniquindio.stayhub.api.model.ScheduledEvent;
+import edu.uniquindio.stayhub.api.model.ScheduledEventType;
+import edu.uniquindio.stayhub.api.repository.ScheduledEventRepository;
+import edu.uniquindio.stayhub.api.scheduling.TimingWheel;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service that fires the timed events of reservations (check-in reminders, expiry of unconfirmed
+ * holds and post-stay review prompts) close to their due time.
+ * <p>
+ * Every event is stored in the {@code scheduled_events} table for durability. Events due within the
+ * preload horizon are also kept in an in-memory {@link TimingWheel}, so registering or cancelling one
+ * costs O(1) and a single ticker thread finds the due events without scanning any table. The wheel is
+ * refilled from the table periodically and on startup. An event is claimed by deleting its row, and
+ * published as a {@link ReservationTimedEvent} to handlers running in that same transaction: the row
+ * stays locked while they run, so each event fires once even with several nodes, and a handler
+ * failure or a crash rolls the claim back, leaving the event to be retried on the next refill.
+ */
+@Service
+public class ReservationEventScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReservationEventScheduler.class);
+    private static final int WHEEL_SIZE = 512;
+
+    private final ScheduledEventRepository scheduledEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration checkInReminderLead;
+    private final Duration pendingHold;
+    private final Duration reviewPromptDelay;
+    private final Duration preloadHorizon;
+    private final long tickMs;
+
+    private final TimingWheel<PendingEvent> wheel;
+    private final Map<Long, TimingWheel.Timeout<PendingEvent>> timeouts = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(
+            runnable -> Thread.ofPlatform().name("reservation-timing-wheel").daemon().unstarted(runnable));
+    private final ExecutorService handlers = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile long loadedUntilMs;
+
+    public ReservationEventScheduler(ScheduledEventRepository scheduledEventRepository,
+                                     ApplicationEventPublisher eventPublisher,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.reservations.check-in-reminder-lead:PT24H}") Duration checkInReminderLead,
+                                     @Value("${app.reservations.pending-hold:PT48H}") Duration pendingHold,
+                                     @Value("${app.reservations.review-prompt-delay:PT24H}") Duration reviewPromptDelay,
+                                     @Value("${app.scheduler.preload-horizon:PT6H}") Duration preloadHorizon,
+                                     @Value("${app.scheduler.tick-ms:1000}") long tickMs) {
+        this.scheduledEventRepository = scheduledEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkInReminderLead = checkInReminderLead;
+        this.pendingHold = pendingHold;
+        this.reviewPromptDelay = reviewPromptDelay;
+        this.preloadHorizon = preloadHorizon;
+        this.tickMs = tickMs;
+        this.wheel = new TimingWheel<>(tickMs, WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    /**
+     * Loads the pending events and starts the wheel once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refill();
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        LOGGER.info("Reservation event scheduler started with {} pending events in memory", wheel.size());
+    }
+
+    /**
+     * Moves the events that entered the preload horizon from the table into the wheel.
+     * Events already in the wheel are skipped.
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.refill-interval-ms:1800000}", initialDelayString = "${app.scheduler.refill-interval-ms:1800000}")
+    public void refill() {
+        long until = System.currentTimeMillis() + preloadHorizon.toMillis();
+        List<ScheduledEvent> events = scheduledEventRepository.findByDueAtBeforeOrderByDueAtAsc(fromEpochMillis(until));
+        loadedUntilMs = until;
+        events.forEach(this::addToWheel);
+        LOGGER.debug("Timing wheel refilled, {} pending events in memory", wheel.size());
+    }
+
+    /**
+     * Schedules the timed events of a newly created reservation.
+     *
+     * @param reservation The reservation.
+     */
+    public void registerReservation(Reservation reservation) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime reminderAt = reservation.getCheckInDate().minus(checkInReminderLead);
+        if (reminderAt.isAfter(now)) {
+            schedule(reservation.getId(), ScheduledEventType.CHECK_IN_REMINDER, reminderAt);
+        }
+        if (reservation.getStatus() == ReservationStatus.PENDING) {
+            LocalDateTime holdExpiresAt = now.plus(pendingHold);
+            if (holdExpiresAt.isAfter(reservation.getCheckInDate())) {
+                holdExpiresAt = reservation.getCheckInDate();
+            }
+            schedule(reservation.getId(), ScheduledEventType.PENDING_HOLD_EXPIRY, holdExpiresAt);
+        }
+        schedule(reservation.getId(), ScheduledEventType.REVIEW_PROMPT, reservation.getCheckOutDate().plus(reviewPromptDelay));
+    }
+
+    /**
+     * Cancels the events that no longer apply after a reservation changed status.
+     *
+     * @param reservation The updated reservation.
+     */
+    public void onStatusChanged(Reservation reservation) {
+        if (reservation.isDeleted() || reservation.getStatus() == ReservationStatus.CANCELLED) {
+            cancelAll(reservation.getId());
+        } else if (reservation.getStatus() != ReservationStatus.PENDING) {
+            cancel(reservation.getId(), EnumSet.of(ScheduledEventType.PENDING_HOLD_EXPIRY));
+        }
+    }
+
+    /**
+     * Cancels every pending event of a reservation.
+     *
+     * @param reservationId The ID of the reservation.
+     */
+    public void cancelAll(Long reservationId) {
+        cancel(reservationId, EnumSet.allOf(ScheduledEventType.class));
+    }
+
+    /**
+     * Returns the number of events currently held in memory.
+     *
+     * @return The number of events in the timing wheel.
+     */
+    public int getPendingInMemory() {
+        return wheel.size();
+    }
+
+    /**
+     * Stops the ticker and the event handlers on shutdown. Pending events stay in the table.
+     */
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        handlers.shutdown();
+    }
+
+    /**
+     * Advances the wheel to the current time and fires the events that became due.
+     */
+    void tick() {
+        try {
+            for (PendingEvent event : wheel.advanceTo(System.currentTimeMillis())) {
+                timeouts.remove(event.id());
+                handlers.execute(() -> fire(event));
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Error advancing the reservation timing wheel", e);
+        }
+    }
+
+    /**
+     * Claims an event and publishes it within one transaction. Events already claimed by another node,
+     * or cancelled, are skipped; if a handler fails, the claim is rolled back and the event kept.
+     */
+    void fire(PendingEvent event) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (scheduledEventRepository.claim(event.id()) == 0) {
+                    return;
+                }
+                LOGGER.debug("Firing {} for reservation ID: {}", event.type(), event.reservationId());
+                eventPublisher.publishEvent(new ReservationTimedEvent(event.reservationId(), event.type()));
+            });
+        } catch (RuntimeException e) {
+            LOGGER.error("Error firing {} for reservation ID: {}, it will be retried", event.type(), event.reservationId(), e);
+        }
+    }
+
+    private void schedule(Long reservationId, ScheduledEventType type, LocalDateTime dueAt) {
+        ScheduledEvent event = scheduledEventRepository.save(ScheduledEvent.builder()
+                .reservationId(reservationId)
+                .type(type)
+                .dueAt(dueAt)
+                .build());
+        // The row is only visible to the claim once the transaction commits
+        afterCommit(() -> addToWheel(event));
+    }
+
+    private void cancel(Long reservationId, Set<ScheduledEventType> types) {
+        List<ScheduledEvent> events = scheduledEventRepository.findByReservationIdAndTypeIn(reservationId, types);
+        if (events.isEmpty()) {
+            return;
+        }
+        scheduledEventRepository.deleteAll(events);
+        events.forEach(event -> wheel.cancel(timeouts.remove(event.getId())));
+    }
+
+    private void addToWheel(ScheduledEvent event) {
+        long dueAtMs = toEpochMillis(event.getDueAt());
+        if (dueAtMs >= loadedUntilMs || timeouts.containsKey(event.getId())) {
+            return;
+        }
+        PendingEvent pending = new PendingEvent(event.getId(), event.getReservationId(), event.getType());
+        TimingWheel.Timeout<PendingEvent> timeout = wheel.schedule(pending, dueAtMs);
+        if (timeout == null) {
+            handlers.execute(() -> fire(pending));
+        } else {
+            timeouts.put(event.getId(), timeout);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    /**
+     * The part of a scheduled event kept in memory.
+     */
+    record PendingEvent(Long id, Long reservationId, ScheduledEventType type) {
+    }
+}
@@ -4,6 +4,7 @@ import edu.uniquindio.stayhub.api.dto.notification.NotificationRequestDTO;
 import edu.uniquindio.stayhub.api.dto.reservation.ReservationRequestDTO;
 import edu.uniquindio.stayhub.api.dto.reservation.ReservationResponseDTO;
 import edu.uniquindio.stayhub.api.dto.reservation.ReservationUpdateDTO;
+import edu.uniquindio.stayhub.api.event.ReservationTimedEvent;
 import edu.uniquindio.stayhub.api.exception.AccessDeniedException;
 import edu.uniquindio.stayhub.api.exception.AccommodationNotFoundException;
 import edu.uniquindio.stayhub.api.exception.InvalidReservationDatesException;
@@ -18,6 +19,7 @@ import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -41,15 +43,17 @@ public class ReservationService {
     private final UserRepository userRepository;
     private final NotificationService notificationService;
     private final ReservationMapper reservationMapper;
+    private final ReservationEventScheduler reservationEventScheduler;
 
     public ReservationService(ReservationRepository reservationRepository, AccommodationRepository accommodationRepository,
                               UserRepository userRepository, NotificationService notificationService,
-                              ReservationMapper reservationMapper) {
+                              ReservationMapper reservationMapper, ReservationEventScheduler reservationEventScheduler) {
         this.reservationRepository = reservationRepository;
         this.accommodationRepository = accommodationRepository;
         this.userRepository = userRepository;
         this.notificationService = notificationService;
         this.reservationMapper = reservationMapper;
+        this.reservationEventScheduler = reservationEventScheduler;
     }
 
     /**
@@ -83,6 +87,7 @@ public class ReservationService {
         reservation.setDeleted(false);
         Reservation savedReservation = reservationRepository.save(reservation);
         LOGGER.debug("Reservation created with ID: {}", savedReservation.getId());
+        reservationEventScheduler.registerReservation(savedReservation);
 
         notificationService.createNotification(new NotificationRequestDTO(
                 guest.getId(),
@@ -119,6 +124,7 @@ public class ReservationService {
         reservationMapper.updateEntity(updateDTO, reservation);
         Reservation updatedReservation = reservationRepository.save(reservation);
         LOGGER.debug("Reservation ID: {} updated", reservationId);
+        reservationEventScheduler.onStatusChanged(updatedReservation);
 
         notificationService.createNotification(new NotificationRequestDTO(
                 reservation.getGuest().getId(),
@@ -154,6 +160,7 @@ public class ReservationService {
         reservation.setDeleted(true);
         reservationRepository.save(reservation);
         LOGGER.debug("Reservation ID: {} cancelled", reservationId);
+        reservationEventScheduler.cancelAll(reservationId);
 
         notificationService.createNotification(new NotificationRequestDTO(
                 reservation.getGuest().getId(),
@@ -170,6 +177,61 @@ public class ReservationService {
         ));
     }
 
+    /**
+     * Handles the timed events of a reservation fired by the {@link ReservationEventScheduler}.
+     * Unconfirmed reservations are released when their hold expires, and guests are invited to
+     * review the accommodation after their stay. Check-in reminders are handled by the {@link ReminderService}.
+     *
+     * @param event The timed event.
+     */
+    @EventListener
+    public void onReservationTimedEvent(ReservationTimedEvent event) {
+        switch (event.type()) {
+            case PENDING_HOLD_EXPIRY -> expirePendingHold(event.reservationId());
+            case REVIEW_PROMPT -> promptReview(event.reservationId());
+            default -> { }
+        }
+    }
+
+    private void expirePendingHold(Long reservationId) {
+        Reservation reservation = reservationRepository.findById(reservationId).orElse(null);
+        if (reservation == null || reservation.isDeleted() || reservation.getStatus() != ReservationStatus.PENDING) {
+            return;
+        }
+        LOGGER.info("Releasing reservation ID: {} after its pending hold expired", reservationId);
+        reservation.setStatus(ReservationStatus.CANCELLED);
+        reservation.setDeleted(true);
+        reservationRepository.save(reservation);
+        reservationEventScheduler.cancelAll(reservationId);
+
+        notificationService.createNotification(new NotificationRequestDTO(
+                reservation.getGuest().getId(),
+                NotificationType.RESERVATION_CANCELLED,
+                "Tu reserva para " + reservation.getAccommodation().getTitle() + " expiró porque no fue confirmada a tiempo.",
+                NotificationStatus.UNREAD
+        ));
+
+        notificationService.createNotification(new NotificationRequestDTO(
+                reservation.getAccommodation().getHost().getId(),
+                NotificationType.RESERVATION_CANCELLED,
+                "La reserva para " + reservation.getAccommodation().getTitle() + " expiró porque no fue confirmada a tiempo.",
+                NotificationStatus.UNREAD
+        ));
+    }
+
+    private void promptReview(Long reservationId) {
+        Reservation reservation = reservationRepository.findById(reservationId).orElse(null);
+        if (reservation == null || reservation.isDeleted() || reservation.getStatus() == ReservationStatus.CANCELLED) {
+            return;
+        }
+        notificationService.createNotification(new NotificationRequestDTO(
+                reservation.getGuest().getId(),
+                NotificationType.REMINDER,
+                "¿Qué tal tu estadía en " + reservation.getAccommodation().getTitle() + "? Cuéntanos en una reseña.",
+                NotificationStatus.UNREAD
+        ));
+    }
+
     public Page<ReservationResponseDTO> getReservationsByGuest(
             String username,
             String status,
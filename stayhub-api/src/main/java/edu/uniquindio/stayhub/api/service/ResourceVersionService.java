@@ -0,0 +1,123 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.repository.AccommodationRepository;
+import edu.uniquindio.stayhub.api.repository.CommentRepository;
+import edu.uniquindio.stayhub.api.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Service that computes the validators of the read endpoints, so a conditional GET can be answered
+ * with 304 after one aggregate query instead of loading and mapping the entities it returns.
+ * <p>
+ * A version is made from the last modification dates of everything a response shows: the
+ * {@code Last-Modified} date is the latest of them, and the weak {@code ETag} also hashes all of
+ * them, so a change that does not move the latest date still changes the tag. Accommodations are
+ * dated by {@code contentUpdatedAt} rather than {@code updatedAt}: besides entity updates, it is moved
+ * by the bulk rating and ranking updates, and explicitly by accommodation updates, since a change to
+ * the images alone does not update the accommodation row.
+ */
+@Service
+public class ResourceVersionService {
+
+    /**
+     * The validators of a response.
+     *
+     * @param etag The weak entity tag, quoted.
+     * @param lastModified The last modification date, in epoch milliseconds.
+     */
+    public record ResourceVersion(String etag, long lastModified) {
+    }
+
+    private final AccommodationRepository accommodationRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+
+    public ResourceVersionService(AccommodationRepository accommodationRepository,
+                                  CommentRepository commentRepository,
+                                  UserRepository userRepository) {
+        this.accommodationRepository = accommodationRepository;
+        this.commentRepository = commentRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * @param id The ID of the accommodation.
+     * @return The version of the accommodation, or empty if it does not exist or was deleted.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getAccommodationVersion(Long id) {
+        return accommodationRepository.findContentUpdatedAtById(id).map(updatedAt -> of("accommodation", updatedAt));
+    }
+
+    /**
+     * @param id The ID of the accommodation.
+     * @return The version of the accommodation page, or empty if the accommodation does not exist or was deleted.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getAccommodationDetailVersion(Long id) {
+        return first(accommodationRepository.findDetailUpdatedAtById(id)).map(row -> of("detail", row));
+    }
+
+    /**
+     * @return The version shared by every listing and search of accommodations, or empty if there are none.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getListingVersion() {
+        return Optional.ofNullable(accommodationRepository.findLastContentUpdatedAt()).map(updatedAt -> of("listing", updatedAt));
+    }
+
+    /**
+     * @param accommodationId The ID of the accommodation.
+     * @return The version of the comment feed of the accommodation, or empty if it does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getAccommodationCommentsVersion(Long accommodationId) {
+        return first(commentRepository.findAccommodationFeedUpdatedAt(accommodationId))
+                .map(row -> of("accommodation-comments", row));
+    }
+
+    /**
+     * @param userId The ID of the user.
+     * @param email The email of the requesting user.
+     * @return The version of the comment feed of the user, or empty if the user does not exist or is not the requester.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getUserCommentsVersion(Long userId, String email) {
+        return first(commentRepository.findUserFeedUpdatedAt(userId, email)).map(row -> of("user-comments", row));
+    }
+
+    /**
+     * @param userId The ID of the user.
+     * @return The version of the profile of the user, or empty if the user does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getProfileVersion(Long userId) {
+        return first(userRepository.findProfileUpdatedAtById(userId)).map(row -> of("profile", row));
+    }
+
+    private static Optional<Object[]> first(List<Object[]> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    static ResourceVersion of(String resource, Object... updatedAts) {
+        ZoneId zone = ZoneId.systemDefault();
+        long latest = 0;
+        long[] millis = new long[updatedAts.length];
+        for (int i = 0; i < updatedAts.length; i++) {
+            if (updatedAts[i] != null) {
+                millis[i] = ((LocalDateTime) updatedAts[i]).atZone(zone).toInstant().toEpochMilli();
+                latest = Math.max(latest, millis[i]);
+            }
+        }
+        int hash = Objects.hash(resource, Arrays.hashCode(millis));
+        return new ResourceVersion("W/\"" + Long.toHexString(latest) + "-" + Integer.toHexString(hash) + "\"", latest);
+    }
+}
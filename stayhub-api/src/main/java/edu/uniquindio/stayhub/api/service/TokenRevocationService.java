@@ -0,0 +1,193 @@
+package edu.uniquindio.stayhub.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.uniquindio.stayhub.api.model.RevokedToken;
+import edu.uniquindio.stayhub.api.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Service that revokes individual JWT tokens by their ID (jti) and tells whether a token was revoked,
+ * without a database query for the tokens that were not.
+ * <p>
+ * Revoked IDs are stored in the 'revoked_tokens' table until their token expires, and mirrored in an
+ * in-memory {@link BloomFilter}. Almost every token is cleared by one filter lookup; the rare positives
+ * (revoked tokens and false positives) are confirmed against the database, and the answer is cached.
+ * <ul>
+ * <li>Revocations made on this node are added to the filter as soon as they commit.</li>
+ * <li>Every {@code app.security.token-revocation.refresh-ms} the revocations made since the previous refresh
+ * are loaded, so a revocation made on another node takes effect within one refresh interval.</li>
+ * <li>Every {@code app.security.token-revocation.rebuild-ms}, or when the filter holds more IDs than it was
+ * sized for, expired rows are deleted and a new filter is built from the remaining ones.</li>
+ * </ul>
+ * Metrics: {@code stayhub.tokens.revocation.checks} counts the checks by {@code result} (clear, revoked or
+ * false_positive), so the false-positive rate can be monitored.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration refreshOverlap;
+    private final long minCapacity;
+    private final double falsePositiveRate;
+    private final Cache<String, Boolean> confirmed;
+    private final Counter clearCounter;
+    private final Counter revokedCounter;
+    private final Counter falsePositiveCounter;
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime lastRefresh;
+
+    /**
+     * Constructs the TokenRevocationService.
+     *
+     * @param revokedTokenRepository The repository of revoked tokens.
+     * @param transactionManager The transaction manager used to delete expired rows.
+     * @param meterRegistry The registry where the check metrics are published.
+     * @param refreshOverlap How far back each refresh looks before the previous one, to cover clock
+     *                       skew between nodes and transactions that committed late.
+     * @param minCapacity The minimum number of IDs the filter is sized for.
+     * @param falsePositiveRate The target false-positive rate of the filter.
+     */
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.security.token-revocation.refresh-overlap:PT1M}") Duration refreshOverlap,
+                                  @Value("${app.security.token-revocation.min-capacity:10000}") long minCapacity,
+                                  @Value("${app.security.token-revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.refreshOverlap = refreshOverlap;
+        this.minCapacity = minCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.confirmed = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build();
+        this.clearCounter = revocationChecks(meterRegistry, "clear");
+        this.revokedCounter = revocationChecks(meterRegistry, "revoked");
+        this.falsePositiveCounter = revocationChecks(meterRegistry, "false_positive");
+        this.filter = new BloomFilter(minCapacity, falsePositiveRate);
+        this.lastRefresh = LocalDateTime.now();
+    }
+
+    /**
+     * Builds the filter once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+        LOGGER.info("Token revocation filter loaded with {} entries", filter.size());
+    }
+
+    /**
+     * Loads the tokens revoked since the previous refresh.
+     */
+    @Scheduled(fixedDelayString = "${app.security.token-revocation.refresh-ms:5000}",
+            initialDelayString = "${app.security.token-revocation.refresh-ms:5000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> revoked = revokedTokenRepository.findJtisRevokedSince(lastRefresh.minus(refreshOverlap), now);
+        BloomFilter current = filter;
+        for (String jti : revoked) {
+            if (!current.mightContain(jti)) {
+                add(current, jti);
+            } else {
+                confirmed.invalidate(jti);
+            }
+        }
+        lastRefresh = now;
+        if (current.size() > current.capacity()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Deletes the expired revocations and rebuilds the filter from the remaining ones, so expired
+     * IDs stop taking space and the filter is sized for the current number of revocations.
+     */
+    @Scheduled(fixedDelayString = "${app.security.token-revocation.rebuild-ms:3600000}",
+            initialDelayString = "${app.security.token-revocation.rebuild-ms:3600000}")
+    public void rebuild() {
+        LocalDateTime start = LocalDateTime.now();
+        Integer deleted = transactionTemplate.execute(status -> revokedTokenRepository.deleteExpired(start));
+        List<String> active = revokedTokenRepository.findActiveJtis(start);
+        BloomFilter rebuilt = new BloomFilter(Math.max(minCapacity, active.size() * 2L), falsePositiveRate);
+        active.forEach(rebuilt::add);
+        filter = rebuilt;
+        confirmed.invalidateAll();
+        // Revocations committed while the filter was rebuilt are picked up by the next refresh
+        lastRefresh = start;
+        LOGGER.debug("Token revocation filter rebuilt with {} entries, {} expired deleted", active.size(), deleted);
+    }
+
+    /**
+     * Checks if a token has been revoked.
+     *
+     * @param jti The ID of the token, or null for tokens issued before IDs existed.
+     * @return True if the token has been revoked.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            clearCounter.increment();
+            return false;
+        }
+        boolean revoked = confirmed.get(jti, revokedTokenRepository::existsById);
+        (revoked ? revokedCounter : falsePositiveCounter).increment();
+        return revoked;
+    }
+
+    /**
+     * Revokes a single token until it expires. When called inside a transaction, the token is added
+     * to the local filter once the transaction commits.
+     *
+     * @param token The token to revoke; it must have an ID.
+     */
+    public void revoke(JwtService.ParsedToken token) {
+        String jti = token.tokenId();
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(token.expiration().toInstant(), ZoneId.systemDefault());
+        revokedTokenRepository.save(new RevokedToken(jti, token.userId(), expiresAt, LocalDateTime.now()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(filter, jti);
+                }
+            });
+        } else {
+            add(filter, jti);
+        }
+        LOGGER.info("Token {} of user ID: {} revoked", jti, token.userId());
+    }
+
+    private void add(BloomFilter target, String jti) {
+        target.add(jti);
+        confirmed.invalidate(jti);
+    }
+
+    private static Counter revocationChecks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("stayhub.tokens.revocation.checks")
+                .description("Token revocation checks, by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,116 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.model.User;
+import edu.uniquindio.stayhub.api.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service that tracks the current token version of each user, so revoked tokens can be
+ * rejected without a database query per request.
+ * <p>
+ * Only users whose tokens were revoked at least once have an entry; every other user is at
+ * version 0. The table is loaded on startup and refreshed every {@code app.security.token-version.refresh-ms}
+ * with the users modified since the previous refresh, so a revocation made on another node takes
+ * effect within one refresh interval. Revocations made on this node take effect as soon as they commit.
+ */
+@Service
+public class TokenVersionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenVersionService.class);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final UserRepository userRepository;
+    private final Duration refreshOverlap;
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastRefresh = EPOCH;
+
+    /**
+     * Constructs the TokenVersionService.
+     *
+     * @param userRepository The repository to read the token versions from.
+     * @param refreshOverlap How far back each refresh looks before the previous one, to cover clock
+     *                       skew between nodes and transactions that committed late.
+     */
+    public TokenVersionService(UserRepository userRepository,
+                               @Value("${app.security.token-version.refresh-overlap:PT1M}") Duration refreshOverlap) {
+        this.userRepository = userRepository;
+        this.refreshOverlap = refreshOverlap;
+    }
+
+    /**
+     * Loads every token version once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+        LOGGER.info("Token version table loaded with {} entries", versions.size());
+    }
+
+    /**
+     * Loads the token versions changed since the previous refresh.
+     */
+    @Scheduled(fixedDelayString = "${app.security.token-version.refresh-ms:5000}",
+            initialDelayString = "${app.security.token-version.refresh-ms:5000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastRefresh == EPOCH ? EPOCH : lastRefresh.minus(refreshOverlap);
+        List<Object[]> changed = userRepository.findTokenVersionsChangedSince(since);
+        for (Object[] row : changed) {
+            record((Long) row[0], ((Number) row[1]).intValue());
+        }
+        lastRefresh = now;
+    }
+
+    /**
+     * Checks if a token was issued with the current version of its user.
+     *
+     * @param userId The ID of the user.
+     * @param tokenVersion The version embedded in the token, or null for tokens issued before versions existed.
+     * @return True if the token has not been revoked.
+     */
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        int current = versions.getOrDefault(userId, 0);
+        return (tokenVersion == null ? 0 : tokenVersion) >= current;
+    }
+
+    /**
+     * Revokes every token of a user by incrementing its version. The caller must save the user;
+     * the new version is applied to the local table once the transaction commits.
+     *
+     * @param user The user.
+     */
+    public void revokeAll(User user) {
+        int version = user.getTokenVersion() + 1;
+        user.setTokenVersion(version);
+        Long userId = user.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(userId, version);
+                }
+            });
+        } else {
+            record(userId, version);
+        }
+        LOGGER.info("Tokens of user ID: {} revoked (version {})", userId, version);
+    }
+
+    private void record(Long userId, int version) {
+        versions.merge(userId, version, Math::max);
+    }
+}
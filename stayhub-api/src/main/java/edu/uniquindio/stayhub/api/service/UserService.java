@@ -1,5 +1,6 @@
 package edu.uniquindio.stayhub.api.service;
 
+import edu.uniquindio.stayhub.api.config.UserPrincipalCache;
 import edu.uniquindio.stayhub.api.dto.auth.TokenResponseDTO;
 import edu.uniquindio.stayhub.api.dto.auth.passwordReset.PasswordResetRequestDTO;
 import edu.uniquindio.stayhub.api.dto.auth.passwordReset.ResetPasswordDTO;
@@ -13,6 +14,7 @@ import edu.uniquindio.stayhub.api.exception.InvalidTokenException;
 import edu.uniquindio.stayhub.api.exception.UserNotFoundException;
 import edu.uniquindio.stayhub.api.mapper.UserMapper;
 import edu.uniquindio.stayhub.api.model.PasswordResetToken;
+import edu.uniquindio.stayhub.api.model.Role;
 import edu.uniquindio.stayhub.api.model.User;
 import edu.uniquindio.stayhub.api.repository.PasswordResetTokenRepository;
 import edu.uniquindio.stayhub.api.repository.UserRepository;
@@ -42,16 +44,22 @@ public class UserService implements UserDetailsService {
     private final UserMapper userMapper;
     private final JwtService jwtService;
     private final EmailService emailService;
-
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenVersionService tokenVersionService;
+    private final LoginAttemptService loginAttemptService;
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * Resolves the principal of an authenticated request. Principals are served from the
+     * {@link UserPrincipalCache}, so most requests do not hit the database.
+     */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado con email: " + email));
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .authorities("ROLE_" + user.getRole().name())
-                .build();
+        UserDetails principal = userPrincipalCache.get(email, key -> userRepository.findByEmail(key).orElse(null));
+        if (principal == null) {
+            throw new UsernameNotFoundException("Usuario no encontrado con email: " + email);
+        }
+        return principal;
     }
 
     @Transactional
@@ -59,6 +67,9 @@ public class UserService implements UserDetailsService {
         if (userRepository.findByEmail(userDTO.getEmail()).isPresent()) {
             throw new EmailAlreadyExistsException("El correo electrónico ya está en uso");
         }
+        if (userDTO.getRole() == Role.ADMIN) {
+            throw new IllegalArgumentException("No se pueden registrar administradores");
+        }
         User user = userMapper.toEntity(userDTO);
         user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
         userMapper.setHostProfile(user);
@@ -66,13 +77,28 @@ public class UserService implements UserDetailsService {
         return userMapper.toResponseDto(savedUser);
     }
 
+    /**
+     * Authenticates a user. Accounts and clients with too many recent failures are rejected by the
+     * {@link LoginAttemptService} before the user is looked up or the password is hashed. The password
+     * check waits for a slot of the bounded hashing executor while the read-only transaction is open.
+     *
+     * @param loginDTO The login credentials.
+     * @param clientIp The IP address of the client, or null if unknown.
+     * @return The token of the user.
+     */
     @Transactional(readOnly = true)
-    public TokenResponseDTO loginUser(@Valid UserLoginDTO loginDTO) {
-        User user = userRepository.findByEmail(loginDTO.getEmail())
-                .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado"));
+    public TokenResponseDTO loginUser(@Valid UserLoginDTO loginDTO, String clientIp) {
+        loginAttemptService.checkAllowed(loginDTO.getEmail(), clientIp);
+        User user = userRepository.findByEmail(loginDTO.getEmail()).orElse(null);
+        if (user == null) {
+            loginAttemptService.recordFailure(loginDTO.getEmail(), clientIp);
+            throw new UserNotFoundException("Usuario no encontrado");
+        }
         if (!passwordEncoder.matches(loginDTO.getPassword(), user.getPassword())) {
+            loginAttemptService.recordFailure(loginDTO.getEmail(), clientIp);
             throw new InvalidPasswordException("Correo electrónico o contraseña incorrectos");
         }
+        loginAttemptService.recordSuccess(loginDTO.getEmail());
         String token = jwtService.generateToken(user);
         return new TokenResponseDTO(token);
     }
@@ -84,6 +110,7 @@ public class UserService implements UserDetailsService {
         userMapper.updateUser(updatedUser, user);
         userMapper.updateHostProfile(updatedUser, user);
         User savedUser = userRepository.save(user);
+        userPrincipalCache.invalidate(user.getEmail());
         return userMapper.toResponseDto(savedUser);
     }
 
@@ -141,11 +168,44 @@ public class UserService implements UserDetailsService {
         }
         User user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(resetDTO.getNewPassword()));
+        // Sessions opened with the old password must not survive the reset
+        tokenVersionService.revokeAll(user);
         userRepository.save(user);
+        userPrincipalCache.invalidate(user.getEmail());
         resetToken.setUsed(true);
         passwordResetTokenRepository.save(resetToken);
     }
 
+    /**
+     * Revokes every token issued to a user, logging them out of all devices.
+     *
+     * @param email The email of the authenticated user.
+     */
+    @Transactional
+    public void logoutAll(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado"));
+        tokenVersionService.revokeAll(user);
+        userRepository.save(user);
+    }
+
+    /**
+     * Revokes the token used for the current session, logging the user out of this device only.
+     * Tokens issued before tokens had an ID cannot be revoked one by one, so every token of the
+     * user is revoked instead.
+     *
+     * @param token The raw JWT token to revoke.
+     */
+    @Transactional
+    public void logout(String token) {
+        JwtService.ParsedToken parsedToken = jwtService.parse(token);
+        if (parsedToken.tokenId() == null) {
+            logoutAll(parsedToken.username());
+            return;
+        }
+        tokenRevocationService.revoke(parsedToken);
+    }
+
     @Transactional(readOnly = true)
     public UserResponseDTO getProfile(Long userId) {
         LOGGER.info("Fetching profile for user ID: {}", userId);
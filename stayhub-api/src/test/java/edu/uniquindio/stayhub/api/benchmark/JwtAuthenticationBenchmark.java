@@ -0,0 +1,115 @@
+package edu.uniquindio.stayhub.api.benchmark;
+
+import edu.uniquindio.stayhub.api.config.VerifiedTokenCache;
+import edu.uniquindio.stayhub.api.model.Role;
+import edu.uniquindio.stayhub.api.model.User;
+import edu.uniquindio.stayhub.api.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JWT work done by {@code JwtAuthenticationFilter} for one authenticated request.
+ * <p>
+ * {@code multiParse} reproduces the previous pipeline, which rebuilt a parser and verified the
+ * signature once per claim lookup (username, userId, username again and expiration). {@code parseOnce}
+ * verifies once with the shared parser, then checks the parsed token. {@code cachedParse} is the current
+ * pipeline for a token already seen, which is served from the {@link VerifiedTokenCache}.
+ * <p>
+ * Run it with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=edu.uniquindio.stayhub.api.benchmark.JwtAuthenticationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "this-is-a-very-long-and-secure-secret-key-for-benchmarking-1234567890";
+
+    private JwtService jwtService;
+    private VerifiedTokenCache verifiedTokenCache;
+    private SecretKey secretKey;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, TimeUnit.HOURS.toMillis(1));
+        verifiedTokenCache = new VerifiedTokenCache(1000, new SimpleMeterRegistry());
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+        User user = new User();
+        user.setId(10L);
+        user.setEmail("bench@stayhub.com");
+        user.setRole(Role.GUEST);
+        token = jwtService.generateToken(user);
+        userDetails = new org.springframework.security.core.userdetails.User(
+                user.getEmail(), "password", Collections.emptyList());
+    }
+
+    @Benchmark
+    public void multiParse(Blackhole blackhole) {
+        String username = legacyClaims().getSubject();
+        Long userId = legacyClaims().get("userId", Long.class);
+        boolean valid = legacyClaims().getSubject().equals(userDetails.getUsername())
+                && !legacyClaims().getExpiration().before(new Date());
+        blackhole.consume(username);
+        blackhole.consume(userId);
+        blackhole.consume(valid);
+    }
+
+    @Benchmark
+    public void parseOnce(Blackhole blackhole) {
+        JwtService.ParsedToken parsed = jwtService.parse(token);
+        blackhole.consume(parsed.username());
+        blackhole.consume(parsed.userId());
+        blackhole.consume(jwtService.isTokenValid(parsed, userDetails));
+    }
+
+    @Benchmark
+    public void cachedParse(Blackhole blackhole) {
+        JwtService.ParsedToken parsed = verifiedTokenCache.get(token, jwtService::parse);
+        blackhole.consume(parsed.username());
+        blackhole.consume(parsed.userId());
+        blackhole.consume(jwtService.isTokenValid(parsed, userDetails));
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
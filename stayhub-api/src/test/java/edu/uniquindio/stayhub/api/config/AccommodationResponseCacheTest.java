@@ -0,0 +1,91 @@
+package edu.uniquindio.stayhub.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.uniquindio.stayhub.api.config.AccommodationResponseCache.SerializedResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccommodationResponseCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AccommodationResponseCache cache =
+            new AccommodationResponseCache(new ObjectMapper(), Duration.ofMinutes(10), 100, 64, meterRegistry);
+
+    @Test
+    @DisplayName("Should serve the cached bytes while the version is unchanged and rebuild them when it changes")
+    void get_SameVersion_ServedFromCache() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        SerializedResponse first = cache.get(1L, "W/\"a\"", () -> Map.of("title", "Casa " + loads.incrementAndGet()));
+        SerializedResponse second = cache.get(1L, "W/\"a\"", () -> Map.of("title", "Casa " + loads.incrementAndGet()));
+        SerializedResponse changed = cache.get(1L, "W/\"b\"", () -> Map.of("title", "Casa " + loads.incrementAndGet()));
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first.json())).isEqualTo("{\"title\":\"Casa 1\"}");
+        assertThat(new String(changed.json())).isEqualTo("{\"title\":\"Casa 2\"}");
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "accommodation-responses").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should gzip only the payloads at least the configured size")
+    void get_LargePayload_Gzipped() throws IOException {
+        // Arrange
+        String description = "Casa amplia en el centro de Armenia ".repeat(5);
+
+        // Act
+        SerializedResponse small = cache.get(1L, "W/\"a\"", () -> Map.of("title", "Casa"));
+        SerializedResponse large = cache.get(2L, "W/\"a\"", () -> Map.of("description", description));
+
+        // Assert
+        assertThat(small.gzip()).isNull();
+        assertThat(large.gzip()).isNotNull().hasSizeLessThan(large.json().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(large.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(large.json());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not cache responses without a version and drop invalidated ones")
+    void get_NoVersionOrInvalidated_NotCached() {
+        // Arrange
+        cache.get(1L, null, () -> Map.of("title", "Casa"));
+        cache.get(2L, "W/\"a\"", () -> Map.of("title", "Casa"));
+
+        // Act
+        cache.invalidate(2L);
+
+        // Assert
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should accept gzip unless the client refuses it")
+    void acceptsGzip_Header_Negotiated() {
+        // Act & Assert
+        assertThat(AccommodationResponseCache.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(AccommodationResponseCache.acceptsGzip("br;q=1.0, gzip;q=0.8")).isTrue();
+        assertThat(AccommodationResponseCache.acceptsGzip("*")).isTrue();
+        assertThat(AccommodationResponseCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(AccommodationResponseCache.acceptsGzip("*;q=0, gzip")).isTrue();
+        assertThat(AccommodationResponseCache.acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(AccommodationResponseCache.acceptsGzip("br, *;q=0")).isFalse();
+        assertThat(AccommodationResponseCache.acceptsGzip("identity")).isFalse();
+        assertThat(AccommodationResponseCache.acceptsGzip(null)).isFalse();
+    }
+}
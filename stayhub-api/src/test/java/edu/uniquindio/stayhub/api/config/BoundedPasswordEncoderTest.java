@@ -0,0 +1,119 @@
+package edu.uniquindio.stayhub.api.config;
+
+import edu.uniquindio.stayhub.api.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    @DisplayName("Should hash and verify through the delegate, timing each operation")
+    void encodeAndMatches_DelegateAndRecordTime() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(new ReversingEncoder(), 1, 4, meterRegistry);
+
+        // Act
+        String encoded = encoder.encode("secret");
+        boolean matches = encoder.matches("secret", encoded);
+
+        // Assert
+        assertThat(encoded).isEqualTo("terces");
+        assertThat(matches).isTrue();
+        assertThat(encoder.matches("other", encoded)).isFalse();
+        assertThat(meterRegistry.get("stayhub.password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("stayhub.password.hashing").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject hashes immediately once every thread is busy and the queue is full")
+    void encode_Saturated_RejectedWithTooManyRequests() throws Exception {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("stayhub.password.hashing.queue").gauge().value() < 1.0
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> encoder.encode("third"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.get("stayhub.password.hashing.rejected").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("stayhub.password.hashing.active").gauge().value()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+
+    @Test
+    @DisplayName("Should propagate the exceptions of the delegate")
+    void matches_DelegateFails_ExceptionPropagated() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(new ReversingEncoder(), 1, 1, meterRegistry);
+
+        // Act & Assert
+        assertThatThrownBy(() -> encoder.matches("secret", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Encoded password is required");
+    }
+
+    private static class ReversingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return new StringBuilder(rawPassword).reverse().toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (encodedPassword == null) {
+                throw new IllegalArgumentException("Encoded password is required");
+            }
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package edu.uniquindio.stayhub.api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CacheConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should create only the reference caches and publish their metrics")
+    void cacheManager_ReferenceCaches_Monitored() {
+        // Arrange
+        CacheManager cacheManager = new CacheConfig().cacheManager(new ReferenceCacheProperties(), meterRegistry);
+        Cache amenities = cacheManager.getCache(CacheConfig.AMENITIES);
+
+        // Act
+        amenities.get("all", () -> List.of("WiFi"));
+        List<String> cached = amenities.get("all", () -> List.of("Piscina"));
+
+        // Assert
+        assertThat(cached).containsExactly("WiFi");
+        assertThat(cacheManager.getCache("unknown")).isNull();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CacheConfig.AMENITIES).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", CacheConfig.CITIES).functionCounter()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should keep the configured number of entries per cache")
+    void cacheManager_ConfiguredSize_Applied() {
+        // Arrange
+        ReferenceCacheProperties properties = new ReferenceCacheProperties();
+        ReferenceCacheProperties.Spec spec = new ReferenceCacheProperties.Spec();
+        spec.setMaxSize(1);
+        spec.setTtl(Duration.ofMinutes(5));
+        properties.getCaches().put(CacheConfig.AMENITY, spec);
+        CacheManager cacheManager = new CacheConfig().cacheManager(properties, meterRegistry);
+        Cache amenity = cacheManager.getCache(CacheConfig.AMENITY);
+        com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache =
+                (com.github.benmanes.caffeine.cache.Cache<?, ?>) amenity.getNativeCache();
+
+        // Act
+        amenity.put(1L, "WiFi");
+        amenity.put(2L, "Piscina");
+        nativeCache.cleanUp();
+
+        // Assert
+        assertThat(nativeCache.estimatedSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict inside a transaction only after it commits")
+    void cacheManager_EvictInTransaction_DeferredUntilCommit() {
+        // Arrange
+        CacheManager cacheManager = new CacheConfig().cacheManager(new ReferenceCacheProperties(), meterRegistry);
+        Cache cities = cacheManager.getCache(CacheConfig.CITIES);
+        cities.put("all", List.of("Armenia"));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            cities.evict("all");
+            boolean presentBeforeCommit = cities.get("all") != null;
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Assert
+            assertThat(presentBeforeCommit).isTrue();
+            assertThat(cities.get("all")).isNull();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package edu.uniquindio.stayhub.api.config;
+
+import edu.uniquindio.stayhub.api.model.RateLimitBucket;
+import edu.uniquindio.stayhub.api.repository.RateLimitBucketRepository;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class DatabaseRateLimitBackendTest {
+
+    @Mock
+    private RateLimitBucketRepository bucketRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DatabaseRateLimitBackend backend;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDatabase().setLeaseFraction(0.1);
+        properties.getDatabase().setLeaseTtl(Duration.ofMinutes(1));
+        backend = new DatabaseRateLimitBackend(bucketRepository, transactionManager, properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should lease part of the capacity and serve the next checks without the database")
+    void tryConsume_LeasedTokens_ServedLocally() {
+        // Arrange
+        when(bucketRepository.findById("login:1.2.3.4")).thenReturn(Optional.empty());
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertThat(backend.tryConsume("login", policy(100), "1.2.3.4").isConsumed()).isTrue();
+        }
+
+        // Assert
+        verify(bucketRepository, times(1)).findById("login:1.2.3.4");
+        verify(bucketRepository).insert(eq("login:1.2.3.4"), eq(90L), anyLong(), anyLong());
+        assertThat(meterRegistry.get("stayhub.rate_limit.checks").tag("source", "lease").counter().count()).isEqualTo(9.0);
+        assertThat(meterRegistry.get("stayhub.rate_limit.checks").tag("source", "database").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reject when the shared bucket is empty, with the time until the next token")
+    void tryConsume_EmptyBucket_Rejected() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        when(bucketRepository.findById("reset:john@example.com"))
+                .thenReturn(Optional.of(new RateLimitBucket("reset:john@example.com", 0, now, now + 60_000, 3)));
+
+        // Act
+        ConsumptionProbe probe = backend.tryConsume("reset", policy(5), "john@example.com");
+
+        // Assert
+        assertThat(probe.isConsumed()).isFalse();
+        assertThat(probe.getNanosToWaitForRefill()).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(12).toNanos());
+        verify(bucketRepository, never()).compareAndSet(anyString(), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should refill the bucket for the time elapsed and retry when another instance updated it first")
+    void tryConsume_ConcurrentUpdate_Retried() {
+        // Arrange
+        long longAgo = System.currentTimeMillis() - 120_000;
+        when(bucketRepository.findById("reset:john@example.com"))
+                .thenReturn(Optional.of(new RateLimitBucket("reset:john@example.com", 0, longAgo, longAgo, 3)))
+                .thenReturn(Optional.of(new RateLimitBucket("reset:john@example.com", 0, longAgo, longAgo, 4)));
+        when(bucketRepository.compareAndSet(eq("reset:john@example.com"), eq(3L), anyLong(), anyLong(), anyLong()))
+                .thenReturn(0);
+        when(bucketRepository.compareAndSet(eq("reset:john@example.com"), eq(4L), eq(4L), anyLong(), anyLong()))
+                .thenReturn(1);
+
+        // Act
+        ConsumptionProbe probe = backend.tryConsume("reset", policy(5), "john@example.com");
+
+        // Assert
+        assertThat(probe.isConsumed()).isTrue();
+        verify(bucketRepository, times(2)).findById("reset:john@example.com");
+    }
+
+    @Test
+    @DisplayName("Should reject the request when the bucket stays contended after every attempt")
+    void tryConsume_ContendedAfterMaxAttempts_Rejected() {
+        // Arrange
+        long longAgo = System.currentTimeMillis() - 120_000;
+        when(bucketRepository.findById("login:1.2.3.4"))
+                .thenReturn(Optional.of(new RateLimitBucket("login:1.2.3.4", 0, longAgo, longAgo, 3)));
+        when(bucketRepository.compareAndSet(eq("login:1.2.3.4"), eq(3L), anyLong(), anyLong(), anyLong()))
+                .thenReturn(0);
+
+        // Act
+        ConsumptionProbe probe = backend.tryConsume("login", policy(30), "1.2.3.4");
+
+        // Assert
+        assertThat(probe.isConsumed()).isFalse();
+        assertThat(probe.getNanosToWaitForRefill()).isPositive();
+        assertThat(meterRegistry.get("stayhub.rate_limit.database.contended").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("stayhub.rate_limit.database.errors").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should let requests through when the database fails")
+    void tryConsume_DatabaseDown_LetThrough() {
+        // Arrange
+        when(bucketRepository.findById(anyString())).thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        // Act
+        ConsumptionProbe probe = backend.tryConsume("login", policy(30), "1.2.3.4");
+
+        // Assert
+        assertThat(probe.isConsumed()).isTrue();
+        assertThat(meterRegistry.get("stayhub.rate_limit.database.errors").counter().count()).isEqualTo(1.0);
+    }
+
+    private static RateLimitProperties.Policy policy(long capacity) {
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+        policy.setCapacity(capacity);
+        policy.setPeriod(Duration.ofMinutes(1));
+        return policy;
+    }
+}
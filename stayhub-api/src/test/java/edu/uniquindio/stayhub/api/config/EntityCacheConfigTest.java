@@ -0,0 +1,113 @@
+package edu.uniquindio.stayhub.api.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EntityCacheConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void tearDown() {
+        if (cacheManager != null) {
+            cacheManager.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should create every region with its configured size and publish its metrics")
+    void entityCacheManager_Regions_SizedAndMonitored() {
+        // Arrange
+        EntityCacheProperties properties = new EntityCacheProperties();
+        ReferenceCacheProperties.Spec spec = new ReferenceCacheProperties.Spec();
+        spec.setMaxSize(50);
+        spec.setTtl(Duration.ofMinutes(5));
+        properties.getRegions().put("entity.amenity", spec);
+
+        // Act
+        cacheManager = new EntityCacheConfig().entityCacheManager(properties, meterRegistry);
+
+        // Assert
+        for (String region : EntityCacheConfig.REGIONS) {
+            assertThat(cacheManager.getCache(region)).isNotNull();
+            assertThat(meterRegistry.get("cache.gets").tag("cache", region).tag("result", "hit")
+                    .functionCounter()).isNotNull();
+        }
+        CaffeineConfiguration<?, ?> amenity = cacheManager.getCache("entity.amenity")
+                .getConfiguration(CaffeineConfiguration.class);
+        assertThat(amenity.getMaximumSize()).isEqualTo(OptionalLong.of(50));
+        assertThat(amenity.getExpireAfterWrite()).isEqualTo(OptionalLong.of(Duration.ofMinutes(5).toNanos()));
+    }
+
+    @Test
+    @DisplayName("Should use a cache manager of its own and leave the default one open when closed")
+    void entityCacheManager_Close_LeavesDefaultManagerOpen() {
+        // Arrange
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager defaultManager = provider.getCacheManager();
+        cacheManager = new EntityCacheConfig().entityCacheManager(new EntityCacheProperties(), meterRegistry);
+
+        // Act
+        cacheManager.close();
+
+        // Assert
+        assertThat(cacheManager).isNotSameAs(defaultManager);
+        assertThat(cacheManager.getURI()).isEqualTo(EntityCacheConfig.CACHE_MANAGER_URI);
+        assertThat(defaultManager.isClosed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should record the hits of a region in its statistics")
+    void entityCacheManager_Get_CountsHits() {
+        // Arrange
+        cacheManager = new EntityCacheConfig().entityCacheManager(new EntityCacheProperties(), meterRegistry);
+        Cache<Object, Object> amenity = cacheManager.getCache("entity.amenity");
+        amenity.put(1L, "WiFi");
+
+        // Act
+        Object cached = amenity.get(1L);
+
+        // Assert
+        assertThat(cached).isEqualTo("WiFi");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "entity.amenity").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should hand Hibernate the cache manager and turn the second-level cache off when disabled")
+    void entityCacheCustomizer_Disabled_TurnsCacheOff() {
+        // Arrange
+        EntityCacheProperties properties = new EntityCacheProperties();
+        properties.setEnabled(false);
+        cacheManager = new EntityCacheConfig().entityCacheManager(properties, meterRegistry);
+        Map<String, Object> hibernateProperties = new HashMap<>();
+
+        // Act
+        new EntityCacheConfig().entityCacheCustomizer(cacheManager, properties).customize(hibernateProperties);
+
+        // Assert
+        assertThat(hibernateProperties)
+                .containsEntry(AvailableSettings.USE_SECOND_LEVEL_CACHE, false)
+                .containsEntry(AvailableSettings.CACHE_REGION_FACTORY, "jcache")
+                .containsEntry(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+}
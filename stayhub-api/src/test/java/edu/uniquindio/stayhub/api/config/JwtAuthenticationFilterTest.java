@@ -0,0 +1,160 @@
+package edu.uniquindio.stayhub.api.config;
+
+import edu.uniquindio.stayhub.api.service.JwtService;
+import edu.uniquindio.stayhub.api.service.JwtService.ParsedToken;
+import edu.uniquindio.stayhub.api.service.TokenRevocationService;
+import edu.uniquindio.stayhub.api.service.TokenVersionService;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtAuthenticationFilterTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private TokenVersionService tokenVersionService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private JwtAuthenticationFilter filter;
+    private final ParsedToken parsedToken = new ParsedToken("user@stayhub.com", 1L, "GUEST", 0,
+            new Date(System.currentTimeMillis() + 60_000), "jti-1");
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, tokenVersionService, tokenRevocationService,
+                new VerifiedTokenCache(100, new SimpleMeterRegistry()), true, SecurityConfig.PUBLIC_READ_ENDPOINTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should not parse the token on a public route until the principal is read")
+    void publicRoute_TokenResolvedOnlyWhenRead() throws Exception {
+        // Arrange
+        stubValidToken();
+        MockHttpServletRequest request = request("GET", "/api/v1/accommodations/search");
+
+        // Act
+        MockHttpServletResponse response = send(request);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(200);
+        verify(jwtService, never()).parse(anyString());
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("user@stayhub.com");
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("user@stayhub.com");
+        verify(jwtService, times(1)).parse("token");
+        assertThat(request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should leave a public request anonymous instead of failing it when the token is invalid")
+    void publicRoute_InvalidToken_Anonymous() throws Exception {
+        // Arrange
+        when(jwtService.parse("token")).thenThrow(new JwtException("Invalid signature"));
+
+        // Act
+        MockHttpServletResponse response = send(request("GET", "/api/v1/comments/accommodation/7/paged"));
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should authenticate eagerly and reject invalid tokens on protected routes")
+    void protectedRoute_TokenResolvedEagerly() throws Exception {
+        // Arrange
+        stubValidToken();
+
+        // Act
+        MockHttpServletResponse response = send(request("POST", "/api/v1/accommodations"));
+
+        // Assert
+        verify(jwtService).parse("token");
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("user@stayhub.com");
+
+        // Arrange
+        SecurityContextHolder.clearContext();
+        when(jwtService.parse("bad")).thenThrow(new JwtException("Invalid signature"));
+        MockHttpServletRequest badRequest = new MockHttpServletRequest("GET", "/api/v1/reservations");
+        badRequest.addHeader("Authorization", "Bearer bad");
+
+        // Act & Assert
+        assertThat(send(badRequest).getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    @DisplayName("Should refuse tokens without a userId, whose version cannot be checked")
+    void tokenWithoutUserId_Refused() throws Exception {
+        // Arrange
+        ParsedToken withoutUserId = new ParsedToken("user@stayhub.com", null, "GUEST", null,
+                new Date(System.currentTimeMillis() + 60_000), "jti-2");
+        when(jwtService.parse("token")).thenReturn(withoutUserId);
+
+        // Act
+        MockHttpServletResponse protectedResponse = send(request("POST", "/api/v1/accommodations"));
+        MockHttpServletResponse publicResponse = send(request("GET", "/api/v1/accommodations/search"));
+
+        // Assert
+        assertThat(protectedResponse.getStatus()).isEqualTo(401);
+        assertThat(publicResponse.getStatus()).isEqualTo(200);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    private void stubValidToken() {
+        when(jwtService.parse("token")).thenReturn(parsedToken);
+        when(tokenVersionService.isCurrent(1L, 0)).thenReturn(true);
+        when(jwtService.toPrincipal(parsedToken)).thenReturn(
+                new User("user@stayhub.com", "", List.of(new SimpleGrantedAuthority("ROLE_GUEST"))));
+        when(jwtService.isTokenValid(any(ParsedToken.class), any())).thenReturn(true);
+    }
+
+    private MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader("Authorization", "Bearer token");
+        return request;
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
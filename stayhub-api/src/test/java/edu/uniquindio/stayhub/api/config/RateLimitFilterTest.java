@@ -0,0 +1,173 @@
+package edu.uniquindio.stayhub.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitProperties properties;
+    private LocalRateLimitBackend rateLimitBackend;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.getPolicies().put("reset-email", policy("POST", "/api/v1/users/request-password-reset",
+                RateLimitProperties.KeyType.EMAIL, 2));
+        properties.getPolicies().put("profile-user", policy(null, "/api/v1/users/**",
+                RateLimitProperties.KeyType.USER_ID, 1));
+        rateLimitBackend = new LocalRateLimitBackend(properties, meterRegistry);
+        filter = new RateLimitFilter(rateLimitBackend, properties, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should reject requests over the limit of an email with 429 and Retry-After")
+    void emailPolicy_OverLimit_Rejected() throws Exception {
+        // Act
+        MockHttpServletResponse first = send(resetRequest("john@example.com"));
+        MockHttpServletResponse second = send(resetRequest("JOHN@example.com "));
+        MockHttpServletResponse third = send(resetRequest("john@example.com"));
+        MockHttpServletResponse otherEmail = send(resetRequest("jane@example.com"));
+
+        // Assert
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(third.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(third.getHeader("Retry-After"))).isBetween(1L, 60L);
+        assertThat(third.getContentAsString()).contains("\"code\":429");
+        assertThat(otherEmail.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("stayhub.rate_limit.rejected").tag("policy", "reset-email")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should replay the buffered body to the rest of the chain")
+    void emailPolicy_BodyStillReadableDownstream() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = resetRequest("john@example.com");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        String body = new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(body).isEqualTo("{\"email\":\"john@example.com\"}");
+    }
+
+    @Test
+    @DisplayName("Should reject bodies too large to read the email from instead of skipping the policy")
+    void emailPolicy_PaddedBody_Rejected() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = resetRequest("john@example.com");
+        String padded = "{\"email\":\"john@example.com\",\"padding\":\"" + "x".repeat(properties.getMaxBodyBytes()) + "\"}";
+        request.setContent(padded.getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        MockHttpServletResponse response = send(request);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(response.getContentAsString()).contains("\"code\":413");
+    }
+
+    @Test
+    @DisplayName("Should limit requests without an email by their IP address")
+    void emailPolicy_NoEmail_KeyedByIp() throws Exception {
+        // Arrange
+        MockHttpServletRequest noEmail = resetRequest("john@example.com");
+        noEmail.setContent("{}".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        MockHttpServletResponse first = send(noEmail);
+        MockHttpServletResponse second = send(resetRequest("john@example.com"));
+        MockHttpServletResponse third = send(malformedResetRequest());
+        MockHttpServletResponse fourth = send(malformedResetRequest());
+
+        // Assert
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(third.getStatus()).isEqualTo(200);
+        assertThat(fourth.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Should key user policies by the authenticated user and skip anonymous requests")
+    void userIdPolicy_KeyedByAuthenticatedUser() throws Exception {
+        // Arrange
+        MockHttpServletRequest anonymous = new MockHttpServletRequest("PUT", "/api/v1/users/profile");
+
+        // Act
+        MockHttpServletResponse firstAnonymous = send(anonymous);
+        MockHttpServletResponse secondAnonymous = send(new MockHttpServletRequest("PUT", "/api/v1/users/profile"));
+        MockHttpServletResponse firstUser = send(userRequest(7L));
+        MockHttpServletResponse secondUser = send(userRequest(7L));
+        MockHttpServletResponse otherUser = send(userRequest(8L));
+
+        // Assert
+        assertThat(firstAnonymous.getStatus()).isEqualTo(200);
+        assertThat(secondAnonymous.getStatus()).isEqualTo(200);
+        assertThat(firstUser.getStatus()).isEqualTo(200);
+        assertThat(secondUser.getStatus()).isEqualTo(429);
+        assertThat(otherUser.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should not touch requests that match no policy")
+    void noMatchingPolicy_PassesThrough() throws Exception {
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertThat(send(new MockHttpServletRequest("GET", "/api/v1/accommodations")).getStatus()).isEqualTo(200);
+        }
+
+        // Assert
+        assertThat(rateLimitBackend.size()).isZero();
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest resetRequest(String email) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/users/request-password-reset");
+        request.setContentType("application/json");
+        request.setContent(("{\"email\":\"" + email + "\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static MockHttpServletRequest malformedResetRequest() {
+        MockHttpServletRequest request = resetRequest("john@example.com");
+        request.setContent("not json".getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static MockHttpServletRequest userRequest(Long userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/v1/users/profile");
+        request.setAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE, userId);
+        return request;
+    }
+
+    private static RateLimitProperties.Policy policy(String method, String path, RateLimitProperties.KeyType key, long capacity) {
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+        policy.setMethod(method);
+        policy.setPath(path);
+        policy.setKey(key);
+        policy.setCapacity(capacity);
+        policy.setPeriod(Duration.ofMinutes(1));
+        return policy;
+    }
+}
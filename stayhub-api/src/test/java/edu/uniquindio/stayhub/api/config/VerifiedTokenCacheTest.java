@@ -0,0 +1,66 @@
+package edu.uniquindio.stayhub.api.config;
+
+import edu.uniquindio.stayhub.api.service.JwtService.ParsedToken;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VerifiedTokenCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(100, meterRegistry);
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should verify a token only the first time it is seen")
+    void get_SameToken_VerifiedOnce() {
+        // Act
+        ParsedToken first = cache.get("token-a", this::verify);
+        ParsedToken second = cache.get("token-a", this::verify);
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(verifications.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "verified-tokens").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not cache a token that fails verification")
+    void get_InvalidToken_IsNotCached() {
+        // Act & Assert
+        assertThatThrownBy(() -> cache.get("bad", token -> {
+            throw new JwtException("Invalid signature");
+        })).isInstanceOf(JwtException.class);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop an entry once its token expires")
+    void get_ExpiredToken_IsVerifiedAgain() throws InterruptedException {
+        // Arrange
+        cache.get("short", token -> {
+            verifications.incrementAndGet();
+            return new ParsedToken("user@stayhub.com", 1L, "GUEST", 0, new Date(System.currentTimeMillis() + 20), "jti-1");
+        });
+        Thread.sleep(50);
+
+        // Act
+        cache.get("short", this::verify);
+
+        // Assert
+        assertThat(verifications.get()).isEqualTo(2);
+    }
+
+    private ParsedToken verify(String token) {
+        verifications.incrementAndGet();
+        return new ParsedToken("user@stayhub.com", 1L, "GUEST", 0, new Date(System.currentTimeMillis() + 60_000), "jti-1");
+    }
+}
@@ -0,0 +1,73 @@
+package edu.uniquindio.stayhub.api.scheduling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimingWheelTest {
+
+    @Test
+    @DisplayName("Should expire a task once the clock reaches its due time")
+    void advanceTo_TaskDue_IsExpired() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.schedule("a", 35);
+
+        // Act
+        List<String> early = wheel.advanceTo(29);
+        List<String> due = wheel.advanceTo(40);
+
+        // Assert
+        assertThat(early).isEmpty();
+        assertThat(due).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should cascade tasks beyond the first level and expire them on time")
+    void advanceTo_TaskOnHigherLevel_IsCascadedAndExpired() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.schedule("far", 1_000);
+        wheel.schedule("near", 50);
+
+        // Act
+        List<String> first = wheel.advanceTo(990);
+        List<String> second = wheel.advanceTo(1_000);
+
+        // Assert
+        assertThat(first).containsExactly("near");
+        assertThat(second).containsExactly("far");
+    }
+
+    @Test
+    @DisplayName("Should not expire a cancelled task")
+    void cancel_PendingTask_IsNotExpired() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        TimingWheel.Timeout<String> timeout = wheel.schedule("a", 500);
+
+        // Act
+        boolean cancelled = wheel.cancel(timeout);
+
+        // Assert
+        assertThat(cancelled).isTrue();
+        assertThat(wheel.cancel(timeout)).isFalse();
+        assertThat(wheel.advanceTo(1_000)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refuse a task that is already due")
+    void schedule_PastDue_ReturnsNull() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 100);
+
+        // Act & Assert
+        assertThat(wheel.schedule("late", 50)).isNull();
+        assertThat(wheel.size()).isZero();
+    }
+}
@@ -0,0 +1,141 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.dto.accommodation.AccommodationDetailDTO;
+import edu.uniquindio.stayhub.api.dto.accommodation.AccommodationResponseDTO;
+import edu.uniquindio.stayhub.api.dto.amenity.AmenityResponseDTO;
+import edu.uniquindio.stayhub.api.dto.comment.CommentResponseDTO;
+import edu.uniquindio.stayhub.api.exception.AccommodationNotFoundException;
+import edu.uniquindio.stayhub.api.mapper.AccommodationMapper;
+import edu.uniquindio.stayhub.api.mapper.AmenityMapper;
+import edu.uniquindio.stayhub.api.model.Accommodation;
+import edu.uniquindio.stayhub.api.model.Amenity;
+import edu.uniquindio.stayhub.api.model.HostProfile;
+import edu.uniquindio.stayhub.api.model.User;
+import edu.uniquindio.stayhub.api.repository.AccommodationRepository;
+import edu.uniquindio.stayhub.api.repository.AmenityRepository;
+import edu.uniquindio.stayhub.api.repository.CommentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AccommodationDetailServiceTest {
+
+    @Mock private AccommodationRepository accommodationRepository;
+    @Mock private CommentRepository commentRepository;
+    @Mock private AmenityRepository amenityRepository;
+    @Mock private AccommodationMapper accommodationMapper;
+    @Mock private AmenityMapper amenityMapper;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Long accommodationId = 10L;
+    private AccommodationDetailService service;
+    private Accommodation accommodation;
+    private AccommodationResponseDTO accommodationDTO;
+
+    @BeforeEach
+    void setUp() {
+        service = new AccommodationDetailService(accommodationRepository, commentRepository, amenityRepository,
+                accommodationMapper, amenityMapper, transactionManager, meterRegistry, Duration.ofMillis(200));
+
+        HostProfile profile = new HostProfile();
+        profile.setDescription("Anfitrión desde 2020");
+        User host = new User();
+        host.setId(2L);
+        host.setName("María");
+        host.setHostProfile(profile);
+        accommodation = new Accommodation();
+        accommodation.setId(accommodationId);
+        accommodation.setHost(host);
+        accommodationDTO = new AccommodationResponseDTO();
+        accommodationDTO.setId(accommodationId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    @DisplayName("Should assemble the accommodation, host card, comments and amenities in one call")
+    void getDetail_AllParts_Success() {
+        // Arrange
+        CommentResponseDTO commentDTO = new CommentResponseDTO(20L, 1L, accommodationId, "Muy bueno", 5, LocalDateTime.now());
+        Amenity amenity = new Amenity();
+        AmenityResponseDTO amenityDTO = new AmenityResponseDTO();
+        when(accommodationRepository.findByIdAndDeletedFalse(accommodationId)).thenReturn(Optional.of(accommodation));
+        when(accommodationMapper.toResponseDTO(accommodation)).thenReturn(accommodationDTO);
+        accommodationDTO.setRatingCount(12L);
+        when(commentRepository.findMostHelpfulByAccommodationId(accommodationId, Limit.of(5))).thenReturn(List.of(commentDTO));
+        when(amenityRepository.findByAccommodationId(accommodationId)).thenReturn(List.of(amenity));
+        when(amenityMapper.toResponseDTO(amenity)).thenReturn(amenityDTO);
+
+        // Act
+        AccommodationDetailDTO detail = service.getDetail(accommodationId, 5);
+
+        // Assert
+        assertThat(detail.getAccommodation()).isSameAs(accommodationDTO);
+        assertThat(detail.getHost().getName()).isEqualTo("María");
+        assertThat(detail.getHost().getDescription()).isEqualTo("Anfitrión desde 2020");
+        assertThat(detail.getComments().getContent()).containsExactly(commentDTO);
+        assertThat(detail.getComments().getTotalElements()).isEqualTo(12);
+        assertThat(detail.getAmenities()).containsExactly(amenityDTO);
+        assertThat(detail.getUnavailableParts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return the page without a part that times out")
+    void getDetail_SlowPart_ReturnedWithoutIt() {
+        // Arrange
+        when(accommodationRepository.findByIdAndDeletedFalse(accommodationId)).thenReturn(Optional.of(accommodation));
+        when(accommodationMapper.toResponseDTO(accommodation)).thenReturn(accommodationDTO);
+        when(commentRepository.findMostHelpfulByAccommodationId(accommodationId, Limit.of(5))).thenReturn(List.of());
+        when(amenityRepository.findByAccommodationId(accommodationId)).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return List.of();
+        });
+
+        // Act
+        long start = System.nanoTime();
+        AccommodationDetailDTO detail = service.getDetail(accommodationId, 5);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Assert
+        assertThat(elapsedMillis).isLessThan(1500);
+        assertThat(detail.getAccommodation()).isSameAs(accommodationDTO);
+        assertThat(detail.getComments().getContent()).isEmpty();
+        assertThat(detail.getAmenities()).isNull();
+        assertThat(detail.getUnavailableParts()).containsExactly("amenities");
+        assertThat(meterRegistry.get("stayhub.accommodations.detail.fallback").tag("part", "amenities")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should throw AccommodationNotFoundException when the accommodation does not exist")
+    void getDetail_NotFound_ShouldThrowException() {
+        // Arrange
+        when(accommodationRepository.findByIdAndDeletedFalse(accommodationId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.getDetail(accommodationId, 5))
+                .isInstanceOf(AccommodationNotFoundException.class)
+                .hasMessage("El alojamiento no existe");
+    }
+}
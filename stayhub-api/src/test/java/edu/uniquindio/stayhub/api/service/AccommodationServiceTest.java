@@ -1,5 +1,7 @@
 package edu.uniquindio.stayhub.api.service;
 
+import edu.uniquindio.stayhub.api.config.AccommodationResponseCache;
+import edu.uniquindio.stayhub.api.config.CacheConfig;
 import edu.uniquindio.stayhub.api.dto.accommodation.AccommodationRequestDTO;
 import edu.uniquindio.stayhub.api.dto.accommodation.AccommodationResponseDTO;
 import edu.uniquindio.stayhub.api.dto.accommodation.AccommodationUpdateDTO;
@@ -20,6 +22,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -34,6 +39,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -47,6 +53,9 @@ public class AccommodationServiceTest {
     @Mock private UserRepository userRepository;
     @Mock private AccommodationMapper accommodationMapper;
     @Mock private NotificationService notificationService;
+    @Mock private CacheManager cacheManager;
+    @Mock private Cache citiesCache;
+    @Mock private AccommodationResponseCache accommodationResponseCache;
 
     @InjectMocks private AccommodationService accommodationService;
 
@@ -83,7 +92,7 @@ public class AccommodationServiceTest {
         accommodation.setTitle("Casa en el Poblado");
         accommodation.setHost(hostUser);
         accommodation.setDeleted(false);
-        responseDTO = new AccommodationResponseDTO(accommodationId, "Casa en el Poblado", "Casa con 3 habitaciones", 4, "validUrlImage", 12.0, 12.0, "Cll 4a#123-34", "Medellín", BigDecimal.valueOf(120000), List.of("img1", "img2"));
+        responseDTO = new AccommodationResponseDTO(accommodationId, "Casa en el Poblado", "Casa con 3 habitaciones", 4, "validUrlImage", 12.0, 12.0, "Cll 4a#123-34", "Medellín", BigDecimal.valueOf(120000), List.of("img1", "img2"), 0.0, 0L, List.of(0L, 0L, 0L, 0L, 0L));
     }
 
     @Test
@@ -108,6 +117,42 @@ public class AccommodationServiceTest {
         verify(notificationService, times(1)).createNotification(any(NotificationRequestDTO.class));
     }
 
+    @Test
+    @DisplayName("Should keep the cached cities when the new accommodation is in a listed city")
+    public void createAccommodation_ListedCity_KeepsCitiesCache() throws MessagingException {
+        // Arrange
+        accommodation.setCity("Medellin");
+        when(userRepository.findByEmail(hostEmail)).thenReturn(Optional.of(hostUser));
+        when(accommodationMapper.toEntity(requestDTO)).thenReturn(accommodation);
+        when(accommodationRepository.save(any(Accommodation.class))).thenReturn(accommodation);
+        when(cacheManager.getCache(CacheConfig.CITIES)).thenReturn(citiesCache);
+        when(citiesCache.get(SimpleKey.EMPTY, List.class)).thenReturn(List.of("Armenia", "Medellin"));
+
+        // Act
+        accommodationService.createAccommodation(requestDTO, hostEmail);
+
+        // Assert
+        verify(citiesCache, never()).evict(any());
+    }
+
+    @Test
+    @DisplayName("Should evict the cached cities when the new accommodation is in a new city")
+    public void createAccommodation_NewCity_EvictsCities() throws MessagingException {
+        // Arrange
+        accommodation.setCity("Salento");
+        when(userRepository.findByEmail(hostEmail)).thenReturn(Optional.of(hostUser));
+        when(accommodationMapper.toEntity(requestDTO)).thenReturn(accommodation);
+        when(accommodationRepository.save(any(Accommodation.class))).thenReturn(accommodation);
+        when(cacheManager.getCache(CacheConfig.CITIES)).thenReturn(citiesCache);
+        when(citiesCache.get(SimpleKey.EMPTY, List.class)).thenReturn(List.of("Armenia", "Medellin"));
+
+        // Act
+        accommodationService.createAccommodation(requestDTO, hostEmail);
+
+        // Assert
+        verify(citiesCache).evict(SimpleKey.EMPTY);
+    }
+
     @Test
     @DisplayName("Should throw AccessDeniedException when a non-host user tries to create an accommodation")
     public void createAccommodation_NonHostUser_ShouldThrowAccessDenied() {
@@ -147,7 +192,7 @@ public class AccommodationServiceTest {
         updatedAccommodation.setId(accommodationId);
         updatedAccommodation.setTitle("Casa Actualizada");
         updatedAccommodation.setHost(hostUser);
-        AccommodationResponseDTO updatedResponseDTO = new AccommodationResponseDTO(accommodationId, "Casa Actualizada", "Casa renovada", 5, "newUrlImage", 13.0, 13.0, "Cll 5a#123-34", "Medellín", BigDecimal.valueOf(150000), List.of("img3", "img4"));
+        AccommodationResponseDTO updatedResponseDTO = new AccommodationResponseDTO(accommodationId, "Casa Actualizada", "Casa renovada", 5, "newUrlImage", 13.0, 13.0, "Cll 5a#123-34", "Medellín", BigDecimal.valueOf(150000), List.of("img3", "img4"), 0.0, 0L, List.of(0L, 0L, 0L, 0L, 0L));
 
         when(userRepository.findByEmail(hostEmail)).thenReturn(Optional.of(hostUser));
         when(accommodationRepository.findById(accommodationId)).thenReturn(Optional.of(accommodation));
@@ -169,7 +214,31 @@ public class AccommodationServiceTest {
         verify(accommodationMapper, times(1)).updateEntity(updateDTO, accommodation);
 //        verify(accommodationRepository, times(1)).save(updatedAccommodation);
         verify(accommodationRepository, times(1)).save(any(Accommodation.class));
+        verify(accommodationResponseCache).invalidate(accommodationId);
         verify(notificationService, times(1)).createNotification(any(NotificationRequestDTO.class));
+        // Moved even when only the images change, which does not dirty the accommodation row
+        assertThat(accommodation.getContentUpdatedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should evict the cached cities when an accommodation moves to another city")
+    public void updateAccommodation_CityChanged_EvictsCities() throws MessagingException {
+        // Arrange
+        accommodation.setCity("Medellin");
+        when(userRepository.findByEmail(hostEmail)).thenReturn(Optional.of(hostUser));
+        when(accommodationRepository.findById(accommodationId)).thenReturn(Optional.of(accommodation));
+        doAnswer(invocation -> {
+            accommodation.setCity("Pereira");
+            return null;
+        }).when(accommodationMapper).updateEntity(updateDTO, accommodation);
+        when(accommodationRepository.save(any(Accommodation.class))).thenReturn(accommodation);
+        when(cacheManager.getCache(CacheConfig.CITIES)).thenReturn(citiesCache);
+
+        // Act
+        accommodationService.updateAccommodation(accommodationId, updateDTO, hostEmail);
+
+        // Assert
+        verify(citiesCache).evict(SimpleKey.EMPTY);
     }
 
     @Test
@@ -224,6 +293,7 @@ public class AccommodationServiceTest {
         verify(userRepository, times(1)).findByEmail(hostEmail);
         verify(accommodationRepository, times(1)).findById(accommodationId);
         verify(accommodationRepository, times(1)).save(accommodation);
+        verify(accommodationResponseCache).invalidate(accommodationId);
         verify(notificationService, times(1)).createNotification(any(NotificationRequestDTO.class));
     }
 
@@ -0,0 +1,50 @@
+package edu.uniquindio.stayhub.api.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should always find the values added")
+    void mightContain_AddedValues_AlwaysTrue() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        String[] values = new String[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.add(values[i]);
+        }
+
+        // Act & Assert
+        for (String value : values) {
+            assertThat(filter.mightContain(value)).isTrue();
+        }
+        assertThat(filter.size()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Should keep the false-positive rate close to the target when filled to capacity")
+    void mightContain_OtherValues_FalsePositiveRateNearTarget() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UUID.randomUUID().toString());
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+}
@@ -1,19 +1,24 @@
 package edu.uniquindio.stayhub.api.service;
 
+import edu.uniquindio.stayhub.api.dto.comment.CommentModerationDTO;
+import edu.uniquindio.stayhub.api.dto.comment.CommentModerationResultDTO;
 import edu.uniquindio.stayhub.api.dto.comment.CommentReplyDTO;
 import edu.uniquindio.stayhub.api.dto.comment.CommentRequestDTO;
 import edu.uniquindio.stayhub.api.dto.comment.CommentResponseDTO;
 import edu.uniquindio.stayhub.api.dto.comment.CommentUpdateDTO;
+import edu.uniquindio.stayhub.api.dto.responses.CursorPageDTO;
 import edu.uniquindio.stayhub.api.exception.CommentNotFoundException;
 import edu.uniquindio.stayhub.api.exception.UnauthorizedCommentAccessException;
 import edu.uniquindio.stayhub.api.mapper.CommentMapper;
 import edu.uniquindio.stayhub.api.model.Accommodation;
 import edu.uniquindio.stayhub.api.model.Comment;
+import edu.uniquindio.stayhub.api.model.RatingSummary;
 import edu.uniquindio.stayhub.api.model.Role;
 import edu.uniquindio.stayhub.api.model.User;
 import edu.uniquindio.stayhub.api.repository.AccommodationRepository;
 import edu.uniquindio.stayhub.api.repository.CommentRepository;
 import edu.uniquindio.stayhub.api.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,21 +26,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,6 +59,7 @@ public class CommentServiceTest {
     @Mock private UserRepository userRepository;
     @Mock private AccommodationRepository accommodationRepository;
     @Mock private CommentMapper commentMapper;
+    @Mock private RankingService rankingService;
 
     @InjectMocks private CommentService commentService;
 
@@ -85,6 +100,7 @@ public class CommentServiceTest {
         accommodation = new Accommodation();
         accommodation.setId(accommodationId);
         accommodation.setHost(hostUser);
+        accommodation.setCity("Armenia");
 
         // 3. Comentario
         comment = new Comment();
@@ -111,9 +127,8 @@ public class CommentServiceTest {
         // Arrange
         when(userRepository.findByEmail(guestEmail)).thenReturn(Optional.of(guestUser));
         when(accommodationRepository.findById(accommodationId)).thenReturn(Optional.of(accommodation));
-        when(commentRepository.existsByUserIdAndAccommodationIdAndDeletedFalse(guestId, accommodationId)).thenReturn(false);
         when(commentMapper.toEntity(requestDTO)).thenReturn(comment);
-        when(commentRepository.save(comment)).thenReturn(comment);
+        when(commentRepository.saveAndFlush(comment)).thenReturn(comment);
         when(commentMapper.toResponseDto(comment)).thenReturn(responseDTO);
 
         // Act
@@ -122,7 +137,11 @@ public class CommentServiceTest {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getRating()).isEqualTo(4);
-        verify(commentRepository, times(1)).save(comment);
+        verify(commentRepository, times(1)).saveAndFlush(comment);
+        assertThat(comment.getReviewSlot()).isEqualTo(guestId);
+        verify(accommodationRepository).applyRatingDelta(eq(accommodationId), eq(1L), eq(5L), eq(0L), eq(0L), eq(0L), eq(0L), eq(1L),
+                any(LocalDateTime.class));
+        verify(rankingService).rescoreAccommodation(accommodationId, accommodation.getCity());
     }
 
     @Test
@@ -159,13 +178,31 @@ public class CommentServiceTest {
         // Arrange
         when(userRepository.findByEmail(guestEmail)).thenReturn(Optional.of(guestUser));
         when(accommodationRepository.findById(accommodationId)).thenReturn(Optional.of(accommodation));
-        when(commentRepository.existsByUserIdAndAccommodationIdAndDeletedFalse(guestId, accommodationId)).thenReturn(true);
+        when(commentMapper.toEntity(requestDTO)).thenReturn(comment);
+        when(commentRepository.saveAndFlush(comment)).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), "UK_COMMENTS_REVIEW_SLOT")));
 
         // Act & Assert
         assertThatThrownBy(() -> commentService.createComment(requestDTO, guestEmail))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessage("El usuario ya ha comentado sobre este alojamiento");
-        verify(commentRepository, never()).save(any());
+        verify(accommodationRepository, never()).applyRatingDelta(any(), anyLong(), anyLong(), anyLong(), anyLong(),
+                anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should rethrow integrity violations of other constraints")
+    void createComment_OtherViolation_ShouldRethrow() {
+        // Arrange
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("not null", new SQLException(), "comments_text_not_null"));
+        when(userRepository.findByEmail(guestEmail)).thenReturn(Optional.of(guestUser));
+        when(accommodationRepository.findById(accommodationId)).thenReturn(Optional.of(accommodation));
+        when(commentMapper.toEntity(requestDTO)).thenReturn(comment);
+        when(commentRepository.saveAndFlush(comment)).thenThrow(violation);
+
+        // Act & Assert
+        assertThatThrownBy(() -> commentService.createComment(requestDTO, guestEmail)).isSameAs(violation);
     }
 
     // ----------------------------------------------------------------------
@@ -173,20 +210,57 @@ public class CommentServiceTest {
     // ----------------------------------------------------------------------
 
     @Test
-    @DisplayName("Should return a list of comments for a valid accommodation")
+    @DisplayName("Should return the last page of the feed without a next cursor")
     void getCommentsByAccommodation_Success() {
         // Arrange
-        List<Comment> comments = List.of(comment);
-        when(accommodationRepository.findById(accommodationId)).thenReturn(Optional.of(accommodation));
-        when(commentRepository.findByAccommodationIdAndDeletedFalseOrderByCreatedAtDesc(accommodationId)).thenReturn(comments);
-        when(commentMapper.toResponseDto(comment)).thenReturn(responseDTO);
+        when(accommodationRepository.existsById(accommodationId)).thenReturn(true);
+        when(commentRepository.findFeedByAccommodationId(accommodationId, Limit.of(21))).thenReturn(List.of(responseDTO));
+
+        // Act
+        CursorPageDTO<CommentResponseDTO> result = commentService.getCommentsByAccommodation(accommodationId, null, 20);
+
+        // Assert
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().getFirst().getId()).isEqualTo(commentId);
+        assertThat(result.getNextCursor()).isNull();
+        verify(accommodationRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should return a cursor that continues the feed right after the last comment of the page")
+    void getCommentsByAccommodation_MorePages_ReturnsCursor() {
+        // Arrange
+        LocalDateTime newest = LocalDateTime.of(2025, 5, 15, 10, 30);
+        CommentResponseDTO first = new CommentResponseDTO(30L, guestId, accommodationId, "A", 5, newest);
+        CommentResponseDTO second = new CommentResponseDTO(29L, guestId, accommodationId, "B", 4, newest.minusHours(1));
+        CommentResponseDTO third = new CommentResponseDTO(28L, guestId, accommodationId, "C", 3, newest.minusHours(2));
+        when(accommodationRepository.existsById(accommodationId)).thenReturn(true);
+        when(commentRepository.findFeedByAccommodationId(accommodationId, Limit.of(3))).thenReturn(List.of(first, second, third));
+        when(commentRepository.findFeedByAccommodationIdAfter(accommodationId, newest.minusHours(1), 29L, Limit.of(3)))
+                .thenReturn(List.of(third));
 
         // Act
-        List<CommentResponseDTO> result = commentService.getCommentsByAccommodation(accommodationId);
+        CursorPageDTO<CommentResponseDTO> firstPage = commentService.getCommentsByAccommodation(accommodationId, null, 2);
+        CursorPageDTO<CommentResponseDTO> secondPage =
+                commentService.getCommentsByAccommodation(accommodationId, firstPage.getNextCursor(), 2);
 
         // Assert
-        assertThat(result).hasSize(1);
-        assertThat(result.getFirst().getId()).isEqualTo(commentId);
+        assertThat(firstPage.getContent()).containsExactly(first, second);
+        assertThat(firstPage.getNextCursor()).isNotNull();
+        assertThat(secondPage.getContent()).containsExactly(third);
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void getCommentsByAccommodation_InvalidCursor_ShouldThrowException() {
+        // Arrange
+        when(accommodationRepository.existsById(accommodationId)).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> commentService.getCommentsByAccommodation(accommodationId, "not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor inválido");
     }
 
     @Test
@@ -196,7 +270,7 @@ public class CommentServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
         Page<Comment> commentPage = new PageImpl<>(List.of(comment), pageable, 1);
 
-        when(accommodationRepository.findById(accommodationId)).thenReturn(Optional.of(accommodation));
+        when(accommodationRepository.existsById(accommodationId)).thenReturn(true);
         when(commentRepository.findByAccommodationIdAndDeletedFalseOrderByCreatedAtDesc(accommodationId, pageable)).thenReturn(commentPage);
         when(commentMapper.toResponseDto(comment)).thenReturn(responseDTO);
 
@@ -212,13 +286,13 @@ public class CommentServiceTest {
     @DisplayName("Should throw IllegalArgumentException when accommodation is not found for comment listing")
     void getCommentsByAccommodation_AccommodationNotFound_ShouldThrowException() {
         // Arrange
-        when(accommodationRepository.findById(accommodationId)).thenReturn(Optional.empty());
+        when(accommodationRepository.existsById(accommodationId)).thenReturn(false);
 
         // Act & Assert
-        assertThatThrownBy(() -> commentService.getCommentsByAccommodation(accommodationId))
+        assertThatThrownBy(() -> commentService.getCommentsByAccommodation(accommodationId, null, 20))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Alojamiento no encontrado");
-        verify(commentRepository, never()).findByAccommodationIdAndDeletedFalseOrderByCreatedAtDesc(any());
+        verify(commentRepository, never()).findFeedByAccommodationId(any(), any());
     }
 
     // ----------------------------------------------------------------------
@@ -226,20 +300,18 @@ public class CommentServiceTest {
     // ----------------------------------------------------------------------
 
     @Test
-    @DisplayName("Should return list of comments for the authenticated user")
+    @DisplayName("Should return the comment feed of the authenticated user")
     void getCommentsByUser_Success() {
         // Arrange
-        List<Comment> comments = List.of(comment);
         when(userRepository.findByEmail(guestEmail)).thenReturn(Optional.of(guestUser));
-        when(commentRepository.findByUserIdAndDeletedFalse(guestId)).thenReturn(comments);
-        when(commentMapper.toResponseDto(comment)).thenReturn(responseDTO);
+        when(commentRepository.findFeedByUserId(guestId, Limit.of(21))).thenReturn(List.of(responseDTO));
 
         // Act
-        List<CommentResponseDTO> result = commentService.getCommentsByUser(guestId, guestEmail);
+        CursorPageDTO<CommentResponseDTO> result = commentService.getCommentsByUser(guestId, null, 20, guestEmail);
 
         // Assert
-        assertThat(result).hasSize(1);
-        assertThat(result.getFirst().getUserId()).isEqualTo(guestId);
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().getFirst().getUserId()).isEqualTo(guestId);
     }
 
     @Test
@@ -249,10 +321,10 @@ public class CommentServiceTest {
         when(userRepository.findByEmail(guestEmail)).thenReturn(Optional.of(guestUser));
 
         // Act & Assert
-        assertThatThrownBy(() -> commentService.getCommentsByUser(otherUser.getId(), guestEmail))
+        assertThatThrownBy(() -> commentService.getCommentsByUser(otherUser.getId(), null, 20, guestEmail))
                 .isInstanceOf(UnauthorizedCommentAccessException.class)
                 .hasMessage("Usuario no autorizado para ver estos comentarios");
-        verify(commentRepository, never()).findByUserIdAndDeletedFalse(any());
+        verify(commentRepository, never()).findFeedByUserId(any(), any());
     }
 
     // ----------------------------------------------------------------------
@@ -260,18 +332,18 @@ public class CommentServiceTest {
     // ----------------------------------------------------------------------
 
     @Test
-    @DisplayName("Should return the correct average rating")
+    @DisplayName("Should return the average rating from the stored summary without scanning comments")
     void getAverageRatingByAccommodation_Success() {
         // Arrange
-        Double expectedAverage = 4.5;
+        accommodation.setRatingSummary(new RatingSummary(2, 9, 0, 0, 0, 1, 1));
         when(accommodationRepository.findById(accommodationId)).thenReturn(Optional.of(accommodation));
-        when(commentRepository.findAverageRatingByAccommodationId(accommodationId)).thenReturn(expectedAverage);
 
         // Act
         Double result = commentService.getAverageRatingByAccommodation(accommodationId);
 
         // Assert
-        assertThat(result).isEqualTo(expectedAverage);
+        assertThat(result).isEqualTo(4.5);
+        verifyNoInteractions(commentRepository);
     }
 
     @Test
@@ -279,7 +351,6 @@ public class CommentServiceTest {
     void getAverageRatingByAccommodation_NoComments_ShouldReturnZero() {
         // Arrange
         when(accommodationRepository.findById(accommodationId)).thenReturn(Optional.of(accommodation));
-        when(commentRepository.findAverageRatingByAccommodationId(accommodationId)).thenReturn(null);
 
         // Act
         Double result = commentService.getAverageRatingByAccommodation(accommodationId);
@@ -289,18 +360,18 @@ public class CommentServiceTest {
     }
 
     @Test
-    @DisplayName("Should return the correct comment count")
+    @DisplayName("Should return the comment count from the stored summary")
     void getCommentCountByAccommodation_Success() {
         // Arrange
-        Long expectedCount = 5L;
+        accommodation.setRatingSummary(new RatingSummary(5, 20, 0, 0, 1, 3, 1));
         when(accommodationRepository.findById(accommodationId)).thenReturn(Optional.of(accommodation));
-        when(commentRepository.countByAccommodationIdAndDeletedFalse(accommodationId)).thenReturn(expectedCount);
 
         // Act
         long result = commentService.getCommentCountByAccommodation(accommodationId);
 
         // Assert
-        assertThat(result).isEqualTo(expectedCount);
+        assertThat(result).isEqualTo(5L);
+        verifyNoInteractions(commentRepository);
     }
 
     // ----------------------------------------------------------------------
@@ -326,6 +397,27 @@ public class CommentServiceTest {
         verify(commentRepository, times(1)).save(comment);
     }
 
+    @Test
+    @DisplayName("Should move the rating in the accommodation summary when the rating changes")
+    void updateComment_RatingChanged_UpdatesSummary() {
+        // Arrange
+        CommentUpdateDTO updateDTO = new CommentUpdateDTO("Updated text", 3);
+        when(commentRepository.findById(commentId)).thenReturn(Optional.of(comment));
+        when(userRepository.findByEmail(guestEmail)).thenReturn(Optional.of(guestUser));
+        doAnswer(invocation -> {
+            comment.setRating(3);
+            return null;
+        }).when(commentMapper).updateEntity(updateDTO, comment);
+        when(commentRepository.save(comment)).thenReturn(comment);
+
+        // Act
+        commentService.updateComment(commentId, updateDTO, guestEmail);
+
+        // Assert
+        verify(accommodationRepository).applyRatingDelta(eq(accommodationId), eq(0L), eq(-2L), eq(0L), eq(0L), eq(1L), eq(0L), eq(-1L),
+                any(LocalDateTime.class));
+    }
+
     @Test
     @DisplayName("Should throw UnauthorizedCommentAccessException when a non-owner tries to update")
     void updateComment_NonOwner_ShouldThrowException() {
@@ -370,7 +462,10 @@ public class CommentServiceTest {
 
         // Assert
         assertThat(comment.isDeleted()).isTrue();
+        assertThat(comment.getReviewSlot()).isNull();
         verify(commentRepository, times(1)).save(comment);
+        verify(accommodationRepository).applyRatingDelta(eq(accommodationId), eq(-1L), eq(-5L), eq(0L), eq(0L), eq(0L), eq(0L), eq(-1L),
+                any(LocalDateTime.class));
     }
 
     @Test
@@ -401,6 +496,7 @@ public class CommentServiceTest {
         when(commentRepository.findById(commentId)).thenReturn(Optional.of(comment));
         when(commentRepository.save(comment)).thenReturn(comment);
         when(commentMapper.toResponseDto(comment)).thenReturn(responseDTO);
+        when(rankingService.helpfulnessScore(any(LocalDateTime.class), eq(true))).thenReturn(42.0);
 
         // Act
         CommentResponseDTO result = commentService.replyToComment(commentId, replyDTO, hostEmail);
@@ -410,6 +506,7 @@ public class CommentServiceTest {
         // Verifica que los campos dé respuesta se hallan seteado
         assertThat(comment.getHostReplyText()).isEqualTo(replyDTO.getReplyText());
         assertThat(comment.getReplyDate()).isNotNull();
+        assertThat(comment.getHelpfulnessScore()).isEqualTo(42.0);
         verify(commentRepository, times(1)).save(comment);
     }
 
@@ -460,4 +557,135 @@ public class CommentServiceTest {
                 .isInstanceOf(CommentNotFoundException.class)
                 .hasMessage("Comentario no encontrado");
     }
-}
\ No newline at end of file
+
+    // ----------------------------------------------------------------------
+    // Tests para moderateComments (Moderación masiva)
+    // ----------------------------------------------------------------------
+
+    @Test
+    @DisplayName("Should delete the comments of an accommodation window and move its rating summary by the counts")
+    void moderateComments_HostDeletesWindow_Success() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2025, 6, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        CommentModerationDTO moderationDTO = new CommentModerationDTO(CommentModerationDTO.Action.DELETE,
+                null, null, accommodationId, from, to);
+        when(userRepository.findByEmail(hostEmail)).thenReturn(Optional.of(hostUser));
+        when(commentRepository.countRatingsForModeration(false, null, null, accommodationId, from, to, hostUser.getId()))
+                .thenReturn(List.of(new Object[]{accommodationId, "Armenia", 1, 300L}, new Object[]{accommodationId, "Armenia", 5, 2L}));
+        when(commentRepository.moderate(eq(false), eq(true), eq(null), eq(null), eq(accommodationId), eq(from), eq(to),
+                eq(hostUser.getId()), any(LocalDateTime.class))).thenReturn(302);
+
+        // Act
+        CommentModerationResultDTO result = commentService.moderateComments(moderationDTO, hostEmail);
+
+        // Assert
+        assertThat(result.getUpdated()).isEqualTo(302);
+        assertThat(result.getAccommodations()).isEqualTo(1);
+        verify(accommodationRepository).applyRatingDelta(eq(accommodationId), eq(-302L), eq(-310L), eq(-300L), eq(0L), eq(0L), eq(0L), eq(-2L),
+                any(LocalDateTime.class));
+        verify(rankingService).rescoreAccommodation(accommodationId, "Armenia");
+    }
+
+    @Test
+    @DisplayName("Should let an administrator restore comments of any host by ID")
+    void moderateComments_AdminRestoresIds_Success() {
+        // Arrange
+        User admin = new User();
+        admin.setId(50L);
+        admin.setEmail("admin@test.com");
+        admin.setRole(Role.ADMIN);
+        Set<Long> ids = Set.of(commentId, 21L);
+        CommentModerationDTO moderationDTO = new CommentModerationDTO(CommentModerationDTO.Action.RESTORE,
+                ids, null, null, null, null);
+        when(userRepository.findByEmail(admin.getEmail())).thenReturn(Optional.of(admin));
+        when(commentRepository.countRatingsForModeration(true, ids, null, null, null, null, null))
+                .thenReturn(List.of(new Object[]{accommodationId, "Armenia", 4, 1L}, new Object[]{11L, "Pereira", 2, 1L}));
+        when(commentRepository.moderate(eq(true), eq(false), eq(ids), eq(null), eq(null), eq(null), eq(null),
+                eq(null), any(LocalDateTime.class))).thenReturn(2);
+
+        // Act
+        CommentModerationResultDTO result = commentService.moderateComments(moderationDTO, admin.getEmail());
+
+        // Assert
+        assertThat(result.getUpdated()).isEqualTo(2);
+        assertThat(result.getAccommodations()).isEqualTo(2);
+        verify(accommodationRepository).applyRatingDelta(eq(accommodationId), eq(1L), eq(4L), eq(0L), eq(0L), eq(0L), eq(1L), eq(0L),
+                any(LocalDateTime.class));
+        verify(accommodationRepository).applyRatingDelta(eq(11L), eq(1L), eq(2L), eq(0L), eq(1L), eq(0L), eq(0L), eq(0L),
+                any(LocalDateTime.class));
+        verify(rankingService).rescoreAccommodation(11L, "Pereira");
+    }
+
+    @Test
+    @DisplayName("Should count a single review when a restore matches two deleted reviews of a user on one accommodation")
+    void moderateComments_RestoreDeletedSiblings_RestoresOne() {
+        // Arrange
+        User admin = new User();
+        admin.setId(50L);
+        admin.setEmail("admin@test.com");
+        admin.setRole(Role.ADMIN);
+        CommentModerationDTO moderationDTO = new CommentModerationDTO(CommentModerationDTO.Action.RESTORE,
+                null, guestId, null, null, null);
+        when(userRepository.findByEmail(admin.getEmail())).thenReturn(Optional.of(admin));
+        // The filter keeps only the latest of the two deleted reviews
+        when(commentRepository.countRatingsForModeration(true, null, guestId, null, null, null, null))
+                .thenReturn(List.<Object[]>of(new Object[]{accommodationId, "Armenia", 5, 1L}));
+        when(commentRepository.moderate(eq(true), eq(false), eq(null), eq(guestId), eq(null), eq(null), eq(null),
+                eq(null), any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        CommentModerationResultDTO result = commentService.moderateComments(moderationDTO, admin.getEmail());
+
+        // Assert
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getAccommodations()).isEqualTo(1);
+        verify(accommodationRepository).applyRatingDelta(eq(accommodationId), eq(1L), eq(5L), eq(0L), eq(0L), eq(0L), eq(0L), eq(1L),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should not touch anything when no comment matches the selection")
+    void moderateComments_NoMatch_ReturnsZero() {
+        // Arrange
+        CommentModerationDTO moderationDTO = new CommentModerationDTO(CommentModerationDTO.Action.DELETE,
+                null, guestId, null, null, null);
+        when(userRepository.findByEmail(hostEmail)).thenReturn(Optional.of(hostUser));
+        when(commentRepository.countRatingsForModeration(false, null, guestId, null, null, null, hostUser.getId()))
+                .thenReturn(List.of());
+
+        // Act
+        CommentModerationResultDTO result = commentService.moderateComments(moderationDTO, hostEmail);
+
+        // Assert
+        assertThat(result.getUpdated()).isZero();
+        verify(commentRepository, never()).moderate(anyBoolean(), anyBoolean(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject bulk moderation by guests")
+    void moderateComments_Guest_ShouldThrowException() {
+        // Arrange
+        CommentModerationDTO moderationDTO = new CommentModerationDTO(CommentModerationDTO.Action.DELETE,
+                null, null, accommodationId, null, null);
+        when(userRepository.findByEmail(guestEmail)).thenReturn(Optional.of(guestUser));
+
+        // Act & Assert
+        assertThatThrownBy(() -> commentService.moderateComments(moderationDTO, guestEmail))
+                .isInstanceOf(UnauthorizedCommentAccessException.class);
+        verify(commentRepository, never()).moderate(anyBoolean(), anyBoolean(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should require exactly one selector")
+    void moderateComments_TwoSelectors_ShouldThrowException() {
+        // Arrange
+        CommentModerationDTO moderationDTO = new CommentModerationDTO(CommentModerationDTO.Action.DELETE,
+                null, guestId, accommodationId, null, null);
+        when(userRepository.findByEmail(hostEmail)).thenReturn(Optional.of(hostUser));
+
+        // Act & Assert
+        assertThatThrownBy(() -> commentService.moderateComments(moderationDTO, hostEmail))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -76,7 +77,7 @@ public class EmailServiceTest {
         String expectedLink = FRONTEND_URL + "/reset-password?token=" + token;
 
         // Act
-        emailService.sendPasswordResetEmail(email, token);
+        emailService.sendPasswordResetEmail(email, token, "Test");
 
         // Assert
         // Verify and capture the arguments in one call
@@ -168,4 +169,35 @@ public class EmailServiceTest {
         Map<String, Object> variables = variablesCaptor.getValue();
         assertThat(variables.get("message")).isEqualTo(message);
     }
-}
\ No newline at end of file
+
+    // ----------------------------------------------------------------------
+    // Tests para sendDigestEmail
+    // ----------------------------------------------------------------------
+
+    @Test
+    @DisplayName("Should send a single digest email listing every coalesced message")
+    void sendDigestEmail_Success() {
+        // Arrange
+        String recipientEmail = "host@test.com";
+        List<String> messages = List.of("Nueva solicitud 1", "Nueva solicitud 2", "Nueva solicitud 3");
+
+        // Act
+        emailService.sendDigestEmail(recipientEmail, NotificationType.RESERVATION_REQUESTED, messages);
+
+        // Assert
+        verify(emailService, times(1)).sendEmailWithTemplate(
+                toCaptor.capture(),
+                subjectCaptor.capture(),
+                templateNameCaptor.capture(),
+                variablesCaptor.capture()
+        );
+
+        assertThat(toCaptor.getValue()).isEqualTo(recipientEmail);
+        assertThat(subjectCaptor.getValue()).isEqualTo("Nueva Solicitud de Reserva en StayHub (3)");
+        assertThat(templateNameCaptor.getValue()).isEqualTo("emails/notification-digest");
+
+        Map<String, Object> variables = variablesCaptor.getValue();
+        assertThat(variables.get("messages")).isEqualTo(messages);
+        assertThat(variables.get("count")).isEqualTo(3);
+    }
+}
@@ -299,4 +299,77 @@ public class JwtServiceTest {
         // Act & Assert
         assertFalse(jwtService.isTokenValid(expiredToken, testUserDetails));
     }
-}
\ No newline at end of file
+
+    // ----------------------------------------------------------------------
+    // Tests para parse
+    // ----------------------------------------------------------------------
+
+    @Test
+    @DisplayName("parse should decode every claim of a valid token in a single call")
+    void parse_ValidToken_ReturnsAllClaims() {
+        // Arrange
+        String token = jwtService.generateToken(testUser);
+
+        // Act
+        JwtService.ParsedToken parsed = jwtService.parse(token);
+
+        // Assert
+        assertThat(parsed.username()).isEqualTo("test@stayhub.com");
+        assertThat(parsed.userId()).isEqualTo(10L);
+        assertThat(parsed.role()).isEqualTo("HOST");
+        assertThat(parsed.tokenVersion()).isZero();
+        assertThat(parsed.isExpired()).isFalse();
+        assertThat(parsed.tokenId()).isNotBlank();
+        assertThat(jwtService.parse(jwtService.generateToken(testUser)).tokenId()).isNotEqualTo(parsed.tokenId());
+    }
+
+    @Test
+    @DisplayName("toPrincipal should build the principal from the claims of a user token")
+    void toPrincipal_UserToken_BuildsPrincipalFromClaims() {
+        // Arrange
+        testUser.setTokenVersion(3);
+        JwtService.ParsedToken parsed = jwtService.parse(jwtService.generateToken(testUser));
+
+        // Act
+        UserDetails principal = jwtService.toPrincipal(parsed);
+
+        // Assert
+        assertThat(parsed.tokenVersion()).isEqualTo(3);
+        assertThat(principal.getUsername()).isEqualTo("test@stayhub.com");
+        assertThat(principal.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_HOST");
+    }
+
+    @Test
+    @DisplayName("toPrincipal should return null for tokens without a userId claim")
+    void toPrincipal_UserDetailsToken_ReturnsNull() {
+        // Arrange
+        JwtService.ParsedToken parsed = jwtService.parse(jwtService.generateToken(testUserDetails));
+
+        // Act & Assert
+        assertThat(jwtService.toPrincipal(parsed)).isNull();
+    }
+
+    @Test
+    @DisplayName("parse should reject a token signed with a different key")
+    void parse_WrongSignature_ThrowsJwtException() {
+        // Arrange
+        JwtService otherService = new JwtService("another-very-long-and-secure-secret-key-for-testing-purposes-0987654321", EXPIRATION_TIME_NORMAL);
+        String token = otherService.generateToken(testUser);
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> jwtService.parse(token));
+    }
+
+    @Test
+    @DisplayName("isTokenValid should accept an already parsed token matching the user details")
+    void isTokenValid_ParsedToken_MatchesUser_ReturnsTrue() {
+        // Arrange
+        JwtService.ParsedToken parsed = jwtService.parse(jwtService.generateToken(testUser));
+        UserDetails matchingUserDetails = new org.springframework.security.core.userdetails.User(
+                testUser.getEmail(), "any-password", Collections.emptyList());
+
+        // Act & Assert
+        assertTrue(jwtService.isTokenValid(parsed, matchingUserDetails));
+        assertFalse(jwtService.isTokenValid(parsed, testUserDetails));
+    }
+}
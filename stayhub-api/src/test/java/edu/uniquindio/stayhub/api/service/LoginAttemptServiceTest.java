@@ -0,0 +1,156 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.catalina.Valve;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatWebServerFactoryCustomizer;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LoginAttemptServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoginAttemptService loginAttemptService =
+            new LoginAttemptService(3, 5, Duration.ofMinutes(10), 1000, meterRegistry);
+
+    @Test
+    @DisplayName("Should block an account after the threshold of failures, whatever the client IP")
+    void checkAllowed_AccountOverThreshold_Blocked() {
+        // Arrange
+        loginAttemptService.recordFailure("john@example.com", "10.0.0.1");
+        loginAttemptService.recordFailure("john@example.com", "10.0.0.2");
+        assertThatCode(() -> loginAttemptService.checkAllowed("john@example.com", "10.0.0.3")).doesNotThrowAnyException();
+        loginAttemptService.recordFailure("JOHN@example.com", "10.0.0.3");
+
+        // Act & Assert
+        assertThatThrownBy(() -> loginAttemptService.checkAllowed("john@example.com", "10.0.0.4"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isBetween(60L, 600L));
+        assertThatCode(() -> loginAttemptService.checkAllowed("jane@example.com", "10.0.0.4")).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("stayhub.login.blocked").tag("reason", "account").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should block a client IP that fails on many accounts")
+    void checkAllowed_IpOverThreshold_Blocked() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            loginAttemptService.recordFailure("user" + i + "@example.com", "10.0.0.9");
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> loginAttemptService.checkAllowed("new@example.com", "10.0.0.9"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> loginAttemptService.checkAllowed("new@example.com", "10.0.0.10")).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("stayhub.login.blocked").tag("reason", "ip").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should count two clients behind the production proxy separately")
+    void checkAllowed_ClientsBehindProxy_CountedSeparately() throws Exception {
+        // Arrange
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new PropertiesPropertySource("prod",
+                PropertiesLoaderUtils.loadProperties(new ClassPathResource("application-prod.properties"))));
+        ServerProperties serverProperties = Binder.get(environment).bind("server", ServerProperties.class).get();
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory();
+        new TomcatWebServerFactoryCustomizer(environment, serverProperties).customize(factory);
+        String attacker = remoteAddr(factory, "10.0.0.1", "203.0.113.5");
+        String client = remoteAddr(factory, "10.0.0.1", "198.51.100.7");
+        for (int i = 0; i < 5; i++) {
+            loginAttemptService.recordFailure("user" + i + "@example.com", attacker);
+        }
+
+        // Act & Assert
+        assertThat(attacker).isEqualTo("203.0.113.5");
+        assertThatThrownBy(() -> loginAttemptService.checkAllowed("new@example.com", attacker))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> loginAttemptService.checkAllowed("new@example.com", client)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should clear the account failures on a successful login")
+    void recordSuccess_ClearsAccountFailures() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.recordFailure("john@example.com", null);
+        }
+
+        // Act
+        loginAttemptService.recordSuccess("john@example.com");
+
+        // Assert
+        assertThatCode(() -> loginAttemptService.checkAllowed("john@example.com", null)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should estimate the hashing time saved from the average password verification")
+    void checkAllowed_Blocked_RecordsHashingTimeSaved() {
+        // Arrange
+        Timer.builder("stayhub.password.hashing").tag("operation", "matches").register(meterRegistry)
+                .record(Duration.ofMillis(250));
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.recordFailure("john@example.com", null);
+        }
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> loginAttemptService.checkAllowed("john@example.com", null))
+                    .isInstanceOf(TooManyRequestsException.class);
+        }
+
+        // Assert
+        assertThat(meterRegistry.get("stayhub.login.hashing.saved").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    /**
+     * Passes a request from a proxy through the valves of the server and returns the remote address
+     * the application sees.
+     */
+    private static String remoteAddr(TomcatServletWebServerFactory factory, String proxy, String forwardedFor)
+            throws Exception {
+        AtomicReference<String> remoteAddr = new AtomicReference<>();
+        Valve first = null;
+        Valve previous = null;
+        for (Valve valve : factory.getEngineValves()) {
+            if (previous == null) {
+                first = valve;
+            } else {
+                previous.setNext(valve);
+            }
+            previous = valve;
+        }
+        assertThat(first).isNotNull();
+        previous.setNext(new ValveBase() {
+            @Override
+            public void invoke(Request request, Response response) {
+                remoteAddr.set(request.getRemoteAddr());
+            }
+        });
+        Request request = new Request(new Connector());
+        request.setCoyoteRequest(new org.apache.coyote.Request());
+        request.setRemoteAddr(proxy);
+        request.getCoyoteRequest().getMimeHeaders().addValue("X-Forwarded-For").setString(forwardedFor);
+        first.invoke(request, new Response());
+        return remoteAddr.get();
+    }
+}
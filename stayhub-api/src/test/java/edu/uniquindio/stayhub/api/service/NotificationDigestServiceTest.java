@@ -0,0 +1,142 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.dto.notification.NotificationRequestDTO;
+import edu.uniquindio.stayhub.api.model.NotificationStatus;
+import edu.uniquindio.stayhub.api.model.NotificationType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationDigestServiceTest {
+
+    @Mock
+    private EmailService emailService;
+
+    private final Long hostId = 1L;
+    private final String hostEmail = "host@test.com";
+    private final Set<NotificationType> digestTypes = Set.of(NotificationType.RESERVATION_REQUESTED, NotificationType.RESERVATION_UPDATED);
+
+    // Tests para submit
+
+    @Test
+    @DisplayName("Should send notifications of non-digest types immediately")
+    void submit_NonDigestType_SendsImmediately() {
+        // Arrange
+        NotificationDigestService digestService = new NotificationDigestService(emailService, 600000L, digestTypes, 50);
+        NotificationRequestDTO welcome = request(NotificationType.WELCOME, "Bienvenido");
+
+        // Act
+        digestService.submit(welcome, hostEmail);
+
+        // Assert
+        verify(emailService, times(1)).sendEmailNotification(welcome, hostEmail);
+        assertThat(digestService.getPendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should buffer digest types until their window closes")
+    void submit_DigestType_IsBuffered() {
+        // Arrange
+        NotificationDigestService digestService = new NotificationDigestService(emailService, 600000L, digestTypes, 50);
+
+        // Act
+        digestService.submit(request(NotificationType.RESERVATION_REQUESTED, "Solicitud 1"), hostEmail);
+        digestService.submit(request(NotificationType.RESERVATION_REQUESTED, "Solicitud 2"), hostEmail);
+        digestService.flushDue();
+
+        // Assert
+        assertThat(digestService.getPendingCount()).isEqualTo(2);
+        verify(emailService, never()).sendEmailNotification(any(), anyString());
+        verify(emailService, never()).sendDigestEmail(anyString(), any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should send the batch as soon as it reaches the maximum size")
+    void submit_MaxBatchSizeReached_SendsDigest() {
+        // Arrange
+        NotificationDigestService digestService = new NotificationDigestService(emailService, 600000L, digestTypes, 2);
+
+        // Act
+        digestService.submit(request(NotificationType.RESERVATION_UPDATED, "Cambio 1"), hostEmail);
+        digestService.submit(request(NotificationType.RESERVATION_UPDATED, "Cambio 2"), hostEmail);
+
+        // Assert
+        verify(emailService, times(1)).sendDigestEmail(hostEmail, NotificationType.RESERVATION_UPDATED, List.of("Cambio 1", "Cambio 2"));
+        assertThat(digestService.getPendingCount()).isZero();
+    }
+
+    // Tests para flushDue
+
+    @Test
+    @DisplayName("Should send one digest per type once the window has closed")
+    void flushDue_WindowClosed_SendsOneDigestPerType() {
+        // Arrange
+        NotificationDigestService digestService = new NotificationDigestService(emailService, 0L, digestTypes, 50);
+        digestService.submit(request(NotificationType.RESERVATION_REQUESTED, "Solicitud 1"), hostEmail);
+        digestService.submit(request(NotificationType.RESERVATION_REQUESTED, "Solicitud 2"), hostEmail);
+        digestService.submit(request(NotificationType.RESERVATION_REQUESTED, "Solicitud 3"), hostEmail);
+        digestService.submit(request(NotificationType.RESERVATION_UPDATED, "Cambio 1"), hostEmail);
+        digestService.submit(request(NotificationType.RESERVATION_UPDATED, "Cambio 2"), hostEmail);
+
+        // Act
+        digestService.flushDue();
+
+        // Assert
+        verify(emailService, times(1)).sendDigestEmail(hostEmail, NotificationType.RESERVATION_REQUESTED,
+                List.of("Solicitud 1", "Solicitud 2", "Solicitud 3"));
+        verify(emailService, times(1)).sendDigestEmail(hostEmail, NotificationType.RESERVATION_UPDATED,
+                List.of("Cambio 1", "Cambio 2"));
+        assertThat(digestService.getPendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should send a regular email when only one notification was buffered")
+    void flushDue_SingleNotification_SendsRegularEmail() {
+        // Arrange
+        NotificationDigestService digestService = new NotificationDigestService(emailService, 0L, digestTypes, 50);
+        NotificationRequestDTO single = request(NotificationType.RESERVATION_REQUESTED, "Solicitud 1");
+        digestService.submit(single, hostEmail);
+
+        // Act
+        digestService.flushDue();
+
+        // Assert
+        verify(emailService, times(1)).sendEmailNotification(single, hostEmail);
+        verify(emailService, never()).sendDigestEmail(anyString(), any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should send every pending digest on shutdown")
+    void flushAll_SendsPendingDigests() {
+        // Arrange
+        NotificationDigestService digestService = new NotificationDigestService(emailService, 600000L, digestTypes, 50);
+        digestService.submit(request(NotificationType.RESERVATION_REQUESTED, "Solicitud 1"), hostEmail);
+        digestService.submit(request(NotificationType.RESERVATION_REQUESTED, "Solicitud 2"), hostEmail);
+
+        // Act
+        digestService.flushAll();
+
+        // Assert
+        verify(emailService, times(1)).sendDigestEmail(hostEmail, NotificationType.RESERVATION_REQUESTED,
+                List.of("Solicitud 1", "Solicitud 2"));
+        assertThat(digestService.getPendingCount()).isZero();
+    }
+
+    private NotificationRequestDTO request(NotificationType type, String message) {
+        return new NotificationRequestDTO(hostId, type, message, NotificationStatus.UNREAD);
+    }
+}
@@ -0,0 +1,120 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.repository.ArchivedNotificationRepository;
+import edu.uniquindio.stayhub.api.repository.NotificationRepository;
+import edu.uniquindio.stayhub.api.service.NotificationRetentionService.RetentionMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationRetentionServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private ArchivedNotificationRepository archivedNotificationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should archive and then delete each batch until no candidates are left")
+    void applyRetention_ArchiveMode_ArchivesInBatches() {
+        // Arrange
+        NotificationRetentionService service = service(RetentionMode.ARCHIVE, 2, 10);
+        when(notificationRepository.findRetentionCandidates(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(notificationRepository.deleteByIdIn(List.of(1L, 2L))).thenReturn(2);
+        when(notificationRepository.deleteByIdIn(List.of(3L))).thenReturn(1);
+
+        // Act
+        int processed = service.applyRetention();
+
+        // Assert
+        assertThat(processed).isEqualTo(3);
+        verify(archivedNotificationRepository, times(1)).archive(eq(List.of(1L, 2L)), any());
+        verify(archivedNotificationRepository, times(1)).archive(eq(List.of(3L)), any());
+        // El segundo lote fue incompleto, así que no se hace una tercera consulta
+        verify(notificationRepository, times(2)).findRetentionCandidates(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should only delete when the retention mode is DELETE")
+    void applyRetention_DeleteMode_DoesNotArchive() {
+        // Arrange
+        NotificationRetentionService service = service(RetentionMode.DELETE, 500, 10);
+        when(notificationRepository.findRetentionCandidates(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(1L));
+        when(notificationRepository.deleteByIdIn(List.of(1L))).thenReturn(1);
+
+        // Act
+        service.applyRetention();
+
+        // Assert
+        verify(archivedNotificationRepository, never()).archive(anyCollection(), any());
+        verify(notificationRepository, times(1)).deleteByIdIn(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should use the retention period as cutoff and stop after the maximum number of batches")
+    void applyRetention_MaxBatchesReached_Stops() {
+        // Arrange
+        NotificationRetentionService service = service(RetentionMode.ARCHIVE, 1, 2);
+        when(notificationRepository.findRetentionCandidates(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(1L));
+        when(notificationRepository.deleteByIdIn(anyCollection())).thenReturn(1);
+        ArgumentCaptor<LocalDateTime> cutoffCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+
+        // Act
+        int processed = service.applyRetention();
+
+        // Assert
+        assertThat(processed).isEqualTo(2);
+        verify(notificationRepository, times(2)).findRetentionCandidates(cutoffCaptor.capture(), any());
+        assertThat(cutoffCaptor.getValue()).isBefore(LocalDateTime.now().minusDays(89));
+        assertThat(meterRegistry.counter("stayhub.notifications.retention.processed", "mode", "archive").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when there are no old notifications")
+    void applyRetention_NoCandidates_DoesNothing() {
+        // Arrange
+        NotificationRetentionService service = service(RetentionMode.ARCHIVE, 500, 10);
+        when(notificationRepository.findRetentionCandidates(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // Act
+        int processed = service.applyRetention();
+
+        // Assert
+        assertThat(processed).isZero();
+        verify(notificationRepository, never()).deleteByIdIn(anyCollection());
+    }
+
+    private NotificationRetentionService service(RetentionMode mode, int batchSize, int maxBatches) {
+        return new NotificationRetentionService(notificationRepository, archivedNotificationRepository,
+                transactionManager, meterRegistry, mode, 90, batchSize, maxBatches);
+    }
+}
@@ -3,6 +3,7 @@ package edu.uniquindio.stayhub.api.service;
 import edu.uniquindio.stayhub.api.dto.notification.NotificationRequestDTO;
 import edu.uniquindio.stayhub.api.dto.notification.NotificationResponseDTO;
 import edu.uniquindio.stayhub.api.dto.notification.NotificationUpdateDTO;
+import edu.uniquindio.stayhub.api.event.NotificationCreatedEvent;
 import edu.uniquindio.stayhub.api.exception.AccessDeniedException;
 import edu.uniquindio.stayhub.api.exception.NotificationNotFoundException;
 import edu.uniquindio.stayhub.api.exception.UserNotFoundException;
@@ -17,9 +18,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -41,7 +44,8 @@ public class NotificationServiceTest {
     @Mock private NotificationRepository notificationRepository;
     @Mock private UserRepository userRepository;
     @Mock private NotificationMapper notificationMapper;
-    @Mock private EmailService emailService;
+    @Mock private NotificationDigestService notificationDigestService;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks private NotificationService notificationService;
 
@@ -83,13 +87,14 @@ public class NotificationServiceTest {
 
 
     @Test
-    @DisplayName("Should create notification, save it, and send email successfully")
+    @DisplayName("Should create notification, save it, and queue its email successfully")
     void createNotification_Success(){
         // Arrange
         when(userRepository.findById(ownerId)).thenReturn(Optional.of(ownerUser));
         when(notificationMapper.toEntity(requestDTO)).thenReturn(notification);
         when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
-        doNothing().when(emailService).sendEmailNotification(any(NotificationRequestDTO.class), anyString());
+        when(notificationMapper.toResponseDTO(notification)).thenReturn(responseDTO);
+        doNothing().when(notificationDigestService).submit(any(NotificationRequestDTO.class), anyString());
 
         // Act
         notificationService.createNotification(requestDTO);
@@ -97,7 +102,10 @@ public class NotificationServiceTest {
         // Assert
         verify(userRepository, times(1)).findById(ownerId);
         verify(notificationRepository, times(1)).save(notification);
-        verify(emailService, times(1)).sendEmailNotification(requestDTO, ownerEmail);
+        verify(notificationDigestService, times(1)).submit(requestDTO, ownerEmail);
+        ArgumentCaptor<NotificationCreatedEvent> eventCaptor = ArgumentCaptor.forClass(NotificationCreatedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().notification()).isSameAs(responseDTO);
     }
 
     @Test
@@ -113,7 +121,8 @@ public class NotificationServiceTest {
                 .isInstanceOf(UserNotFoundException.class)
                 .hasMessage("Usuario con ID " + nonExistentId + " no encontrado");
         verify(notificationRepository, never()).save(any());
-        verify(emailService, never()).sendEmailNotification(any(), anyString());
+        verify(notificationDigestService, never()).submit(any(), anyString());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -0,0 +1,153 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.dto.notification.NotificationResponseDTO;
+import edu.uniquindio.stayhub.api.event.NotificationCreatedEvent;
+import edu.uniquindio.stayhub.api.exception.UserNotFoundException;
+import edu.uniquindio.stayhub.api.mapper.NotificationMapper;
+import edu.uniquindio.stayhub.api.model.Notification;
+import edu.uniquindio.stayhub.api.model.NotificationStatus;
+import edu.uniquindio.stayhub.api.model.NotificationType;
+import edu.uniquindio.stayhub.api.model.User;
+import edu.uniquindio.stayhub.api.repository.NotificationRepository;
+import edu.uniquindio.stayhub.api.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationStreamServiceTest {
+
+    @Mock private NotificationRepository notificationRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private NotificationMapper notificationMapper;
+
+    private NotificationStreamService notificationStreamService;
+
+    private User user;
+    private final Long userId = 1L;
+    private final String email = "guest@test.com";
+
+    @BeforeEach
+    void setup() {
+        notificationStreamService = new NotificationStreamService(notificationRepository, userRepository, notificationMapper, 60000L, 16);
+        user = new User();
+        user.setId(userId);
+        user.setEmail(email);
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationStreamService.shutdown();
+    }
+
+    // Tests para subscribe
+
+    @Test
+    @DisplayName("Should open a stream without replaying when no Last-Event-ID is sent")
+    void subscribe_WithoutLastEventId_DoesNotReplay() {
+        // Arrange
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+
+        // Act
+        SseEmitter emitter = notificationStreamService.subscribe(email, null);
+
+        // Assert
+        assertThat(emitter).isNotNull();
+        assertThat(notificationStreamService.getActiveConnections()).isEqualTo(1);
+        verify(notificationRepository, never()).findTop100ByUserIdAndIdGreaterThanAndDeletedFalseOrderByIdAsc(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should replay notifications newer than the Last-Event-ID on reconnect")
+    void subscribe_WithLastEventId_ReplaysMissedNotifications() {
+        // Arrange
+        Notification missed = new Notification();
+        missed.setId(11L);
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+        when(notificationRepository.findTop100ByUserIdAndIdGreaterThanAndDeletedFalseOrderByIdAsc(userId, 10L))
+                .thenReturn(List.of(missed));
+        when(notificationMapper.toResponseDTO(missed)).thenReturn(notification(11L));
+
+        // Act
+        notificationStreamService.subscribe(email, 10L);
+
+        // Assert
+        verify(notificationRepository).findTop100ByUserIdAndIdGreaterThanAndDeletedFalseOrderByIdAsc(userId, 10L);
+        verify(notificationMapper).toResponseDTO(missed);
+    }
+
+    @Test
+    @DisplayName("Should page through the missed notifications until the backlog is exhausted")
+    void subscribe_BacklogLargerThanPage_ReplaysEveryPage() {
+        // Arrange
+        notificationStreamService = new NotificationStreamService(notificationRepository, userRepository, notificationMapper, 60000L, 256);
+        List<Notification> firstPage = new ArrayList<>();
+        for (long id = 11; id <= 110; id++) {
+            Notification missed = new Notification();
+            missed.setId(id);
+            firstPage.add(missed);
+        }
+        Notification last = new Notification();
+        last.setId(111L);
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+        when(notificationRepository.findTop100ByUserIdAndIdGreaterThanAndDeletedFalseOrderByIdAsc(userId, 10L))
+                .thenReturn(firstPage);
+        when(notificationRepository.findTop100ByUserIdAndIdGreaterThanAndDeletedFalseOrderByIdAsc(userId, 110L))
+                .thenReturn(List.of(last));
+        when(notificationMapper.toResponseDTO(any(Notification.class)))
+                .thenAnswer(invocation -> notification(invocation.<Notification>getArgument(0).getId()));
+
+        // Act
+        notificationStreamService.subscribe(email, 10L);
+
+        // Assert
+        verify(notificationRepository).findTop100ByUserIdAndIdGreaterThanAndDeletedFalseOrderByIdAsc(userId, 110L);
+        verify(notificationMapper).toResponseDTO(last);
+        assertThat(notificationStreamService.getActiveConnections()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should throw UserNotFoundException when the authenticated user does not exist")
+    void subscribe_UserNotFound_ThrowsException() {
+        // Arrange
+        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> notificationStreamService.subscribe(email, null))
+                .isInstanceOf(UserNotFoundException.class);
+        assertThat(notificationStreamService.getActiveConnections()).isZero();
+    }
+
+    // Tests para publish
+
+    @Test
+    @DisplayName("Should ignore notifications for users without open streams")
+    void onNotificationCreated_NoSubscribers_DoesNothing() {
+        // Act
+        notificationStreamService.onNotificationCreated(new NotificationCreatedEvent(notification(5L)));
+
+        // Assert
+        assertThat(notificationStreamService.getActiveConnections()).isZero();
+    }
+
+    private NotificationResponseDTO notification(Long id) {
+        return new NotificationResponseDTO(id, userId, NotificationType.MESSAGE, "Mensaje " + id, NotificationStatus.UNREAD, null);
+    }
+}
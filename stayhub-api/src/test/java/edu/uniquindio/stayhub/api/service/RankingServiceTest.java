@@ -0,0 +1,154 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.repository.AccommodationRepository;
+import edu.uniquindio.stayhub.api.repository.CommentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RankingServiceTest {
+
+    @Mock
+    private AccommodationRepository accommodationRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RankingService rankingService;
+
+    @BeforeEach
+    void setUp() {
+        rankingService = new RankingService(accommodationRepository, commentRepository, transactionManager,
+                meterRegistry, 10, Duration.ofDays(30), 1.0, 2);
+    }
+
+    @Test
+    @DisplayName("Should pull city priors toward the global average and rescore the cities whose prior moved")
+    void refresh_NewPriors_RescoresCities() {
+        // Arrange
+        when(accommodationRepository.sumRatingsByCity()).thenReturn(List.of(
+                new Object[]{"Armenia", 45L, 10L},
+                new Object[]{"Pereira", 15L, 5L}));
+        when(accommodationRepository.updateRankingScores(any(), anyDouble(), anyDouble(), anyBoolean(), any())).thenReturn(3);
+        when(commentRepository.findUnscoredComments(any(Limit.class))).thenReturn(List.of());
+
+        // Act
+        rankingService.refresh();
+
+        // Assert
+        verify(accommodationRepository).updateRankingScores(eq("Armenia"), eq(4.25), eq(10.0), eq(false), any(LocalDateTime.class));
+        verify(accommodationRepository).updateRankingScores(eq("Pereira"), eq(55.0 / 15), eq(10.0), eq(false), any(LocalDateTime.class));
+        assertThat(meterRegistry.get("stayhub.ranking.rescored").counter().count()).isEqualTo(6.0);
+    }
+
+    @Test
+    @DisplayName("Should only score new accommodations when the prior of a city did not move")
+    void refresh_UnchangedPrior_ScoresOnlyUnscored() {
+        // Arrange
+        when(accommodationRepository.sumRatingsByCity()).thenReturn(List.<Object[]>of(new Object[]{"Armenia", 45L, 10L}));
+        when(commentRepository.findUnscoredComments(any(Limit.class))).thenReturn(List.of());
+        rankingService.refresh();
+
+        // Act
+        rankingService.refresh();
+
+        // Assert
+        verify(accommodationRepository).updateRankingScores(eq("Armenia"), eq(4.5), eq(10.0), eq(false), any(LocalDateTime.class));
+        verify(accommodationRepository).updateRankingScores(eq("Armenia"), eq(4.5), eq(10.0), eq(true), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should rescore an accommodation with the prior of its city, or the global one if unknown")
+    void rescoreAccommodation_UsesCityPrior() {
+        // Arrange
+        when(accommodationRepository.sumRatingsByCity()).thenReturn(List.of(
+                new Object[]{"Armenia", 45L, 10L},
+                new Object[]{"Pereira", 15L, 5L}));
+        when(commentRepository.findUnscoredComments(any(Limit.class))).thenReturn(List.of());
+        rankingService.refresh();
+
+        // Act
+        rankingService.rescoreAccommodation(1L, "Armenia");
+        rankingService.rescoreAccommodation(2L, "Salento");
+
+        // Assert
+        verify(accommodationRepository).updateRankingScore(1L, 4.25, 10.0);
+        verify(accommodationRepository).updateRankingScore(2L, 4.0, 10.0);
+    }
+
+    @Test
+    @DisplayName("Should use the default prior before any rating exists")
+    void rescoreAccommodation_NoRatings_UsesDefaultPrior() {
+        // Act
+        rankingService.rescoreAccommodation(1L, "Armenia");
+
+        // Assert
+        verify(accommodationRepository).updateRankingScore(1L, RankingService.DEFAULT_PRIOR, 10.0);
+    }
+
+    @Test
+    @DisplayName("Should rank a replied comment like one a host-reply weight of half-lives newer")
+    void helpfulnessScore_HostReply_WorthOneHalfLife() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        // Act
+        double replied = rankingService.helpfulnessScore(createdAt, true);
+        double sameAge = rankingService.helpfulnessScore(createdAt, false);
+        double twentyDaysNewer = rankingService.helpfulnessScore(createdAt.plusDays(20), false);
+        double fortyDaysNewer = rankingService.helpfulnessScore(createdAt.plusDays(40), false);
+
+        // Assert
+        assertThat(replied - sameAge).isCloseTo(1.0, within(1e-9));
+        assertThat(fortyDaysNewer - twentyDaysNewer).isCloseTo(20.0 / 30, within(1e-9));
+        assertThat(replied).isGreaterThan(twentyDaysNewer).isLessThan(fortyDaysNewer);
+    }
+
+    @Test
+    @DisplayName("Should backfill the helpfulness of unscored comments in batches")
+    void refresh_UnscoredComments_Backfilled() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 0, 0);
+        when(accommodationRepository.sumRatingsByCity()).thenReturn(List.of());
+        when(commentRepository.findUnscoredComments(Limit.of(2))).thenReturn(
+                List.of(new Object[]{1L, createdAt, null}, new Object[]{2L, createdAt, createdAt.plusDays(1)}),
+                List.<Object[]>of(new Object[]{3L, createdAt, null}));
+
+        // Act
+        rankingService.refresh();
+
+        // Assert
+        double score = rankingService.helpfulnessScore(createdAt, false);
+        verify(commentRepository).updateHelpfulnessScore(1L, score);
+        verify(commentRepository).updateHelpfulnessScore(2L, score + 1.0);
+        verify(commentRepository).updateHelpfulnessScore(3L, score);
+        verify(accommodationRepository, never()).updateRankingScore(anyLong(), anyDouble(), anyDouble());
+    }
+}
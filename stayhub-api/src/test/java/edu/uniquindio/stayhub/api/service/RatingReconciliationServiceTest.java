@@ -0,0 +1,90 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.model.RatingSummary;
+import edu.uniquindio.stayhub.api.repository.AccommodationRepository;
+import edu.uniquindio.stayhub.api.repository.CommentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RatingReconciliationServiceTest {
+
+    @Mock
+    private AccommodationRepository accommodationRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private RankingService rankingService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should correct and rescore only the summaries that differ from the comments, by the difference")
+    void reconcile_DriftedSummary_Corrected() {
+        // Arrange
+        RatingReconciliationService service = new RatingReconciliationService(accommodationRepository, commentRepository,
+                rankingService, transactionManager, meterRegistry, 2, true);
+        when(accommodationRepository.findRatingSummariesAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new Object[]{1L, "Armenia", new RatingSummary(2, 9, 0, 0, 0, 1, 1)},
+                new Object[]{2L, "Salento", new RatingSummary(1, 5, 0, 0, 0, 0, 1)}));
+        when(accommodationRepository.findRatingSummariesAfter(eq(2L), any(Pageable.class))).thenReturn(List.of());
+        when(commentRepository.countRatingsByAccommodationIdBetween(1L, 2L)).thenReturn(List.of(
+                new Object[]{1L, 4, 1L},
+                new Object[]{1L, 5, 1L},
+                new Object[]{2L, 3, 2L}));
+
+        // Act
+        int corrected = service.reconcile();
+
+        // Assert
+        assertThat(corrected).isEqualTo(1);
+        verify(accommodationRepository, never()).applyRatingDelta(eq(1L), anyLong(), anyLong(), anyLong(), anyLong(),
+                anyLong(), anyLong(), anyLong(), any());
+        verify(accommodationRepository).applyRatingDelta(eq(2L), eq(1L), eq(1L), eq(0L), eq(0L), eq(2L), eq(0L), eq(-1L),
+                any(LocalDateTime.class));
+        verify(rankingService).rescoreAccommodation(2L, "Salento");
+        verify(rankingService, never()).rescoreAccommodation(eq(1L), any());
+        assertThat(meterRegistry.get("stayhub.ratings.drift").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reconcile at startup only when enabled")
+    void backfill_OnStartupFlag_Respected() {
+        // Arrange
+        RatingReconciliationService disabled = new RatingReconciliationService(accommodationRepository, commentRepository,
+                rankingService, transactionManager, meterRegistry, 2, false);
+        RatingReconciliationService enabled = new RatingReconciliationService(accommodationRepository, commentRepository,
+                rankingService, transactionManager, meterRegistry, 2, true);
+        when(accommodationRepository.findRatingSummariesAfter(eq(0L), any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        disabled.backfill();
+        enabled.backfill();
+
+        // Assert
+        verify(accommodationRepository, times(1)).findRatingSummariesAfter(eq(0L), any(Pageable.class));
+    }
+}
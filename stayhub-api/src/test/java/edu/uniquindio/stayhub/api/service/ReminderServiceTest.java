@@ -1,31 +1,41 @@
 package edu.uniquindio.stayhub.api.service;
 
+import edu.uniquindio.stayhub.api.event.ReservationTimedEvent;
 import edu.uniquindio.stayhub.api.model.Accommodation;
 import edu.uniquindio.stayhub.api.model.Reservation;
+import edu.uniquindio.stayhub.api.model.ScheduledEventType;
 import edu.uniquindio.stayhub.api.model.User;
 import edu.uniquindio.stayhub.api.repository.ReservationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mail.MailException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -39,9 +49,12 @@ public class ReminderServiceTest {
     @Mock
     private JavaMailSender mailSender;
 
-    // Usamos @Spy y @InjectMocks para poder interceptar la llamada al método privado sendEmail
-    @Spy
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    // Usamos un spy para poder interceptar la llamada al método sendEmail
     private ReminderService reminderService;
 
     private Reservation mockReservation;
@@ -50,8 +63,12 @@ public class ReminderServiceTest {
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reminderService = spy(new ReminderService(reservationRepository, mailSender, transactionManager, meterRegistry,
+                Duration.ofHours(24), 4));
+
         // Simular 'mañana' (la fecha de búsqueda) para el test
-        tomorrow = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        tomorrow = LocalDate.now().plusDays(1).atTime(15, 0);
 
         // 2. Usuarios
         User guest = new User();
@@ -69,10 +86,9 @@ public class ReminderServiceTest {
 
         // 4. Reserva
         mockReservation = new Reservation();
+        mockReservation.setId(1L);
         mockReservation.setGuest(guest);
         mockReservation.setAccommodation(accommodation);
-        // Aunque el servicio busca con la fecha actual + 1, solo nos interesa
-        // que el repositorio devuelva esta reserva.
         mockReservation.setCheckInDate(tomorrow);
     }
 
@@ -81,81 +97,173 @@ public class ReminderServiceTest {
     // ----------------------------------------------------------------------
 
     @Test
-    @DisplayName("Should send two emails (guest and host) for one upcoming reservation")
-    void sendCheckInReminders_OneReservation_SendsTwoEmails() {
+    @DisplayName("Should only catch up on the reminders already due, with a check-in within the lead from now")
+    void sendCheckInReminders_QueriesOnlyDueReminders() {
         // Arrange
-        doNothing().when(reminderService).sendEmail(anyString(), anyString(), anyString());
-
-        List<Reservation> upcomingReservations = List.of(mockReservation);
+        when(reservationRepository.streamCheckInRemindersDue(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Stream.empty());
+        ArgumentCaptor<LocalDateTime> fromCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> toCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
 
-        // Mockear la respuesta del repositorio. Usamos any() porque la fecha exacta de 'tomorrow'
-        // puede variar ligeramente en la hora/minuto/segundo al ejecutar, aunque el día será el mismo.
-        // Si el repositorio usa solo el componente de fecha, sería más fácil.
-        // Para este caso, Mockito.any() es seguro para verificar la invocación.
-        when(reservationRepository.findByCheckInDate(any(LocalDateTime.class))).thenReturn(upcomingReservations);
+        LocalDateTime before = LocalDateTime.now();
 
         // Act
         reminderService.sendCheckInReminders();
 
         // Assert
-        // Se espera que el repositorio sea llamado una vez con la fecha de mañana.
-        verify(reservationRepository, times(1)).findByCheckInDate(any(LocalDateTime.class));
+        verify(reservationRepository).streamCheckInRemindersDue(fromCaptor.capture(), toCaptor.capture());
+        assertThat(fromCaptor.getValue()).isBetween(before, LocalDateTime.now());
+        assertThat(toCaptor.getValue()).isEqualTo(fromCaptor.getValue().plusHours(24));
+    }
 
+    @Test
+    @DisplayName("Should send two emails (guest and host) for one upcoming reservation and mark it as reminded")
+    void sendCheckInReminders_OneReservation_SendsTwoEmails() {
+        // Arrange
+        doReturn(true).when(reminderService).sendEmail(anyString(), anyString(), anyString());
+        when(reservationRepository.streamCheckInRemindersDue(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Stream.of(mockReservation));
+
+        // Act
+        reminderService.sendCheckInReminders();
+
+        // Assert
         // Se espera que el método sendEmail sea llamado dos veces (una para el huésped, otra para el anfitrión).
         verify(reminderService, times(2)).sendEmail(anyString(), anyString(), anyString());
 
-        // Verificación de los argumentos del correo al Huésped (1er llamado)
+        // Verificación de los argumentos del correo al Huésped
         verify(reminderService, times(1)).sendEmail(
                 Mockito.eq("laura@guest.com"),
                 Mockito.eq("Recordatorio de Check-In"),
                 Mockito.contains("Laura, le recordamos que su check-in para el alojamiento Villa Hermosa")
         );
 
-        // Verificación de los argumentos del correo al Anfitrión (2.º llamado)
+        // Verificación de los argumentos del correo al Anfitrión
         verify(reminderService, times(1)).sendEmail(
                 Mockito.eq("rafael@host.com"),
                 Mockito.eq("Recordatorio de Huésped"),
                 Mockito.contains("Rafael, un huésped llegará mañana a su alojamiento Villa Hermosa")
         );
+
+        verify(reservationRepository, times(1)).markCheckInGuestReminderSent(Mockito.argThat(ids -> ids.size() == 1 && ids.contains(1L)), any(LocalDateTime.class));
+        verify(reservationRepository, times(1)).markCheckInHostReminderSent(Mockito.argThat(ids -> ids.size() == 1 && ids.contains(1L)), any(LocalDateTime.class));
+        assertThat(meterRegistry.counter("stayhub.reminders.check_in.sent").count()).isEqualTo(1.0);
     }
 
     @Test
     @DisplayName("Should send four emails for two upcoming reservations")
     void sendCheckInReminders_TwoReservations_SendsFourEmails() {
         // Arrange
-        doNothing().when(reminderService).sendEmail(anyString(), anyString(), anyString());
+        doReturn(true).when(reminderService).sendEmail(anyString(), anyString(), anyString());
 
         Reservation secondReservation = new Reservation();
+        secondReservation.setId(2L);
         secondReservation.setGuest(new User("Carlos", "carlos@guest.com"));
         secondReservation.setAccommodation(new Accommodation("Apartamento Central", host));
         secondReservation.setCheckInDate(tomorrow);
 
-        List<Reservation> upcomingReservations = List.of(mockReservation, secondReservation);
-
-        when(reservationRepository.findByCheckInDate(any(LocalDateTime.class))).thenReturn(upcomingReservations);
+        when(reservationRepository.streamCheckInRemindersDue(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Stream.of(mockReservation, secondReservation));
 
         // Act
         reminderService.sendCheckInReminders();
 
         // Assert
-        // El ciclo debe iterar dos veces, llamando a sendEmail dos veces en cada iteración.
         verify(reminderService, times(4)).sendEmail(anyString(), anyString(), anyString());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> idsCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(reservationRepository).markCheckInGuestReminderSent(idsCaptor.capture(), any(LocalDateTime.class));
+        assertThat(idsCaptor.getValue()).containsExactlyInAnyOrder(1L, 2L);
     }
 
     @Test
     @DisplayName("Should not send any email if no upcoming reservations are found")
     void sendCheckInReminders_NoReservations_SendsZeroEmails() {
         // Arrange
-        // Don't stub sendEmail here since it won't be called
+        when(reservationRepository.streamCheckInRemindersDue(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Stream.empty());
+
+        // Act
+        reminderService.sendCheckInReminders();
+
+        // Assert
+        verify(reminderService, never()).sendEmail(anyString(), anyString(), anyString());
+        verify(reservationRepository, never()).markCheckInGuestReminderSent(anyCollection(), any());
+        verify(reservationRepository, never()).markCheckInHostReminderSent(anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("Should mark only the email that was sent when the other one fails, so the next run retries that one")
+    void sendCheckInReminders_HostEmailFails_MarksGuestOnlyAndCountsFailure() {
+        // Arrange
+        doReturn(true).when(reminderService).sendEmail(Mockito.eq("laura@guest.com"), anyString(), anyString());
+        doReturn(false).when(reminderService).sendEmail(Mockito.eq("rafael@host.com"), anyString(), anyString());
+        when(reservationRepository.streamCheckInRemindersDue(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Stream.of(mockReservation));
+
+        // Act
+        reminderService.sendCheckInReminders();
+
+        // Assert
+        verify(reservationRepository).markCheckInGuestReminderSent(Mockito.eq(List.of(1L)), any(LocalDateTime.class));
+        verify(reservationRepository, never()).markCheckInHostReminderSent(anyCollection(), any());
+        assertThat(meterRegistry.counter("stayhub.reminders.check_in.failed").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("stayhub.reminders.check_in.sent").count()).isZero();
+    }
 
-        when(reservationRepository.findByCheckInDate(any(LocalDateTime.class))).thenReturn(Collections.emptyList());
+    @Test
+    @DisplayName("Should only retry the host email when the guest was already reminded")
+    void sendCheckInReminders_GuestAlreadyReminded_SendsHostOnly() {
+        // Arrange
+        mockReservation.setCheckInGuestReminderSentAt(LocalDateTime.now().minusHours(1));
+        doReturn(true).when(reminderService).sendEmail(anyString(), anyString(), anyString());
+        when(reservationRepository.streamCheckInRemindersDue(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Stream.of(mockReservation));
 
         // Act
         reminderService.sendCheckInReminders();
 
         // Assert
-        verify(reservationRepository, times(1)).findByCheckInDate(any(LocalDateTime.class));
+        verify(reminderService, times(1)).sendEmail(Mockito.eq("rafael@host.com"), anyString(), anyString());
+        verify(reminderService, never()).sendEmail(Mockito.eq("laura@guest.com"), anyString(), anyString());
+        verify(reservationRepository, never()).markCheckInGuestReminderSent(anyCollection(), any());
+        verify(reservationRepository).markCheckInHostReminderSent(Mockito.eq(List.of(1L)), any(LocalDateTime.class));
+        assertThat(meterRegistry.counter("stayhub.reminders.check_in.sent").count()).isEqualTo(1.0);
+    }
+
+    // ----------------------------------------------------------------------
+    // Tests para sendCheckInReminder (Evento de la reserva)
+    // ----------------------------------------------------------------------
+
+    @Test
+    @DisplayName("Should send the reminder of a single reservation when its timed event fires")
+    void onCheckInReminderDue_ReservationDue_SendsAndMarks() {
+        // Arrange
+        doReturn(true).when(reminderService).sendEmail(anyString(), anyString(), anyString());
+        when(reservationRepository.findCheckInReminderDue(1L)).thenReturn(Optional.of(mockReservation));
+
+        // Act
+        reminderService.onCheckInReminderDue(new ReservationTimedEvent(1L, ScheduledEventType.CHECK_IN_REMINDER));
+
+        // Assert
+        verify(reminderService, times(2)).sendEmail(anyString(), anyString(), anyString());
+        verify(reservationRepository, times(1)).markCheckInGuestReminderSent(Mockito.eq(List.of(1L)), any(LocalDateTime.class));
+        verify(reservationRepository, times(1)).markCheckInHostReminderSent(Mockito.eq(List.of(1L)), any(LocalDateTime.class));
+        assertThat(meterRegistry.counter("stayhub.reminders.check_in.sent").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should skip a reservation that was cancelled or already reminded")
+    void sendCheckInReminder_NotDue_SendsNothing() {
+        // Arrange
+        when(reservationRepository.findCheckInReminderDue(1L)).thenReturn(Optional.empty());
+
+        // Act
+        reminderService.sendCheckInReminder(1L);
+
+        // Assert
         verify(reminderService, never()).sendEmail(anyString(), anyString(), anyString());
+        verify(reservationRepository, never()).markCheckInGuestReminderSent(anyCollection(), any());
     }
 
     // ----------------------------------------------------------------------
@@ -166,17 +274,15 @@ public class ReminderServiceTest {
     @DisplayName("sendEmail should handle MailException gracefully without stopping the application")
     void sendEmail_MailException_IsCaught() {
         // Arrange
-        // Re-stubbing el método privado para simular un fallo en el envío del correo real
-        // Necesitamos deshabilitar el doNothing() del @BeforeEach primero.
-        Mockito.reset(reminderService);
-
-        // El método privado 'sendEmail' llama a mailSender.send(message)
+        // El método 'sendEmail' llama a mailSender.send(message)
         doThrow(new MailException("Simulated mail failure") {}).when(mailSender).send(any(SimpleMailMessage.class));
 
-        // Act & Assert
+        // Act
         // El test pasa si el método se ejecuta sin lanzar una excepción (la excepción se captura internamente)
-        reminderService.sendEmail("test@fail.com", "Test", "Body");
+        boolean sent = reminderService.sendEmail("test@fail.com", "Test", "Body");
 
+        // Assert
+        assertThat(sent).isFalse();
         verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,208 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.event.ReservationTimedEvent;
+import edu.uniquindio.stayhub.api.model.Reservation;
+import edu.uniquindio.stayhub.api.model.ReservationStatus;
+import edu.uniquindio.stayhub.api.model.ScheduledEvent;
+import edu.uniquindio.stayhub.api.model.ScheduledEventType;
+import edu.uniquindio.stayhub.api.repository.ScheduledEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationEventSchedulerTest {
+
+    @Mock
+    private ScheduledEventRepository scheduledEventRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReservationEventScheduler scheduler;
+    private Reservation reservation;
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ReservationEventScheduler(scheduledEventRepository, eventPublisher, transactionManager,
+                Duration.ofHours(24), Duration.ofHours(48), Duration.ofHours(24), Duration.ofHours(6), 10);
+
+        reservation = new Reservation();
+        reservation.setId(100L);
+        reservation.setStatus(ReservationStatus.PENDING);
+        reservation.setCheckInDate(LocalDateTime.now().plusDays(5));
+        reservation.setCheckOutDate(LocalDateTime.now().plusDays(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    // Tests para registerReservation
+
+    @Test
+    @DisplayName("Should store the check-in reminder, hold expiry and review prompt of a pending reservation")
+    void registerReservation_Pending_SchedulesThreeEvents() {
+        // Arrange
+        stubSave();
+        ArgumentCaptor<ScheduledEvent> captor = ArgumentCaptor.forClass(ScheduledEvent.class);
+
+        // Act
+        scheduler.registerReservation(reservation);
+
+        // Assert
+        verify(scheduledEventRepository, times(3)).save(captor.capture());
+        assertThat(captor.getAllValues()).extracting(ScheduledEvent::getType).containsExactly(
+                ScheduledEventType.CHECK_IN_REMINDER, ScheduledEventType.PENDING_HOLD_EXPIRY, ScheduledEventType.REVIEW_PROMPT);
+        assertThat(captor.getAllValues().getFirst().getDueAt()).isEqualTo(reservation.getCheckInDate().minusHours(24));
+        // Ninguno vence dentro del horizonte, así que sólo quedan en la tabla
+        assertThat(scheduler.getPendingInMemory()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep in memory the events due within the preload horizon")
+    void registerReservation_DueWithinHorizon_IsAddedToWheel() {
+        // Arrange
+        when(scheduledEventRepository.findByDueAtBeforeOrderByDueAtAsc(any())).thenReturn(List.of());
+        stubSave();
+        scheduler.refill();
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        reservation.setCheckInDate(LocalDateTime.now().plusHours(26));
+
+        // Act
+        scheduler.registerReservation(reservation);
+
+        // Assert
+        assertThat(scheduler.getPendingInMemory()).isEqualTo(1);
+    }
+
+    // Tests para onStatusChanged
+
+    @Test
+    @DisplayName("Should only cancel the hold expiry when a reservation is confirmed")
+    void onStatusChanged_Confirmed_CancelsHoldExpiry() {
+        // Arrange
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        ScheduledEvent hold = event(ScheduledEventType.PENDING_HOLD_EXPIRY, LocalDateTime.now().plusDays(2));
+        when(scheduledEventRepository.findByReservationIdAndTypeIn(100L, EnumSet.of(ScheduledEventType.PENDING_HOLD_EXPIRY)))
+                .thenReturn(List.of(hold));
+
+        // Act
+        scheduler.onStatusChanged(reservation);
+
+        // Assert
+        verify(scheduledEventRepository, times(1)).deleteAll(List.of(hold));
+    }
+
+    @Test
+    @DisplayName("Should cancel every event of a cancelled reservation, including those in memory")
+    void onStatusChanged_Cancelled_CancelsAllEvents() {
+        // Arrange
+        ScheduledEvent reminder = event(ScheduledEventType.CHECK_IN_REMINDER, LocalDateTime.now().plusHours(1));
+        when(scheduledEventRepository.findByDueAtBeforeOrderByDueAtAsc(any())).thenReturn(List.of(reminder));
+        scheduler.refill();
+        assertThat(scheduler.getPendingInMemory()).isEqualTo(1);
+        reservation.setStatus(ReservationStatus.CANCELLED);
+        when(scheduledEventRepository.findByReservationIdAndTypeIn(100L, EnumSet.allOf(ScheduledEventType.class)))
+                .thenReturn(List.of(reminder));
+
+        // Act
+        scheduler.onStatusChanged(reservation);
+
+        // Assert
+        verify(scheduledEventRepository, times(1)).deleteAll(List.of(reminder));
+        assertThat(scheduler.getPendingInMemory()).isZero();
+    }
+
+    // Tests para tick y fire
+
+    @Test
+    @DisplayName("Should claim and publish the events that became due")
+    void tick_EventDue_IsClaimedAndPublished() throws InterruptedException {
+        // Arrange
+        ScheduledEvent reminder = event(ScheduledEventType.CHECK_IN_REMINDER, LocalDateTime.now().plusNanos(20_000_000));
+        when(scheduledEventRepository.findByDueAtBeforeOrderByDueAtAsc(any())).thenReturn(List.of(reminder));
+        when(scheduledEventRepository.claim(reminder.getId())).thenReturn(1);
+        scheduler.refill();
+        Thread.sleep(50);
+
+        // Act
+        scheduler.tick();
+
+        // Assert
+        verify(eventPublisher, timeout(1000)).publishEvent(new ReservationTimedEvent(100L, ScheduledEventType.CHECK_IN_REMINDER));
+        assertThat(scheduler.getPendingInMemory()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not publish an event already claimed by another node")
+    void fire_AlreadyClaimed_IsNotPublished() {
+        // Arrange
+        when(scheduledEventRepository.claim(1L)).thenReturn(0);
+
+        // Act
+        scheduler.fire(new ReservationEventScheduler.PendingEvent(1L, 100L, ScheduledEventType.REVIEW_PROMPT));
+
+        // Assert
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should roll the claim back when a handler fails, so the event is kept for a retry")
+    void fire_HandlerFails_ClaimRolledBack() {
+        // Arrange
+        when(scheduledEventRepository.claim(1L)).thenReturn(1);
+        doThrow(new IllegalStateException("Mail server down")).when(eventPublisher).publishEvent(any(ReservationTimedEvent.class));
+
+        // Act
+        scheduler.fire(new ReservationEventScheduler.PendingEvent(1L, 100L, ScheduledEventType.CHECK_IN_REMINDER));
+
+        // Assert
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    private void stubSave() {
+        when(scheduledEventRepository.save(any(ScheduledEvent.class))).thenAnswer(invocation -> {
+            ScheduledEvent saved = invocation.getArgument(0);
+            saved.setId(ids.incrementAndGet());
+            return saved;
+        });
+    }
+
+    private ScheduledEvent event(ScheduledEventType type, LocalDateTime dueAt) {
+        return ScheduledEvent.builder()
+                .id(ids.incrementAndGet())
+                .reservationId(100L)
+                .type(type)
+                .dueAt(dueAt)
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import edu.uniquindio.stayhub.api.dto.notification.NotificationRequestDTO;
 import edu.uniquindio.stayhub.api.dto.reservation.ReservationRequestDTO;
 import edu.uniquindio.stayhub.api.dto.reservation.ReservationResponseDTO;
 import edu.uniquindio.stayhub.api.dto.reservation.ReservationUpdateDTO;
+import edu.uniquindio.stayhub.api.event.ReservationTimedEvent;
 import edu.uniquindio.stayhub.api.exception.AccessDeniedException;
 import edu.uniquindio.stayhub.api.exception.AccommodationNotFoundException;
 import edu.uniquindio.stayhub.api.exception.InvalidReservationDatesException;
@@ -36,6 +37,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -50,6 +52,7 @@ public class ReservationServiceTest {
     @Mock private UserRepository userRepository;
     @Mock private NotificationService notificationService;
     @Mock private ReservationMapper reservationMapper;
+    @Mock private ReservationEventScheduler reservationEventScheduler;
 
     @InjectMocks private ReservationService reservationService;
 
@@ -153,6 +156,7 @@ public class ReservationServiceTest {
         assertThat(result.getAccommodationTitle()).isEqualTo(accommodation.getTitle());
         assertThat(result.getId()).isEqualTo(reservationId);
         verify(reservationRepository, times(1)).save(reservation);
+        verify(reservationEventScheduler, times(1)).registerReservation(reservation);
         verify(notificationService, times(2)).createNotification(any(NotificationRequestDTO.class));
     }
 
@@ -259,6 +263,7 @@ public class ReservationServiceTest {
         assertThat(result).isNotNull();
         verify(reservationMapper, times(1)).updateEntity(updateDTO, reservation);
         verify(reservationRepository, times(1)).save(reservation);
+        verify(reservationEventScheduler, times(1)).onStatusChanged(reservation);
         // Debe notificar al huésped y al anfitrión
         verify(notificationService, times(2)).createNotification(any(NotificationRequestDTO.class));
     }
@@ -312,6 +317,7 @@ public class ReservationServiceTest {
         assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.CANCELLED);
         assertThat(reservation.isDeleted()).isTrue();
         verify(reservationRepository, times(1)).save(reservation);
+        verify(reservationEventScheduler, times(1)).cancelAll(reservationId);
         // Debe notificar al huésped y al anfitrión
         verify(notificationService, times(2)).createNotification(any(NotificationRequestDTO.class));
     }
@@ -464,4 +470,56 @@ public class ReservationServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Estado de reserva inválido: INVALID_STATUS");
     }
-}
\ No newline at end of file
+
+    // ----------------------------------------------------------------------
+    // Tests para onReservationTimedEvent
+    // ----------------------------------------------------------------------
+
+    @Test
+    @DisplayName("Should cancel a reservation still pending when its hold expires and notify guest and host")
+    void onReservationTimedEvent_PendingHoldExpired_CancelsReservation() {
+        // Arrange
+        when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(reservation));
+
+        // Act
+        reservationService.onReservationTimedEvent(new ReservationTimedEvent(reservationId, ScheduledEventType.PENDING_HOLD_EXPIRY));
+
+        // Assert
+        assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.CANCELLED);
+        assertThat(reservation.isDeleted()).isTrue();
+        verify(reservationRepository, times(1)).save(reservation);
+        verify(reservationEventScheduler, times(1)).cancelAll(reservationId);
+        verify(notificationService, times(2)).createNotification(any(NotificationRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should ignore an expired hold when the reservation was already confirmed")
+    void onReservationTimedEvent_PendingHoldExpiredButConfirmed_DoesNothing() {
+        // Arrange
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(reservation));
+
+        // Act
+        reservationService.onReservationTimedEvent(new ReservationTimedEvent(reservationId, ScheduledEventType.PENDING_HOLD_EXPIRY));
+
+        // Assert
+        assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+        verify(reservationRepository, never()).save(any());
+        verify(notificationService, never()).createNotification(any());
+    }
+
+    @Test
+    @DisplayName("Should invite the guest to review the accommodation after the stay")
+    void onReservationTimedEvent_ReviewPrompt_NotifiesGuest() {
+        // Arrange
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(reservation));
+
+        // Act
+        reservationService.onReservationTimedEvent(new ReservationTimedEvent(reservationId, ScheduledEventType.REVIEW_PROMPT));
+
+        // Assert
+        verify(notificationService, times(1)).createNotification(argThat(request ->
+                request.getUserId().equals(guestId) && request.getNotificationType() == NotificationType.REMINDER));
+    }
+}
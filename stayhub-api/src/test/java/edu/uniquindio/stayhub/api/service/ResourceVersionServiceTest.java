@@ -0,0 +1,106 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.repository.AccommodationRepository;
+import edu.uniquindio.stayhub.api.repository.CommentRepository;
+import edu.uniquindio.stayhub.api.repository.UserRepository;
+import edu.uniquindio.stayhub.api.service.ResourceVersionService.ResourceVersion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ResourceVersionServiceTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 5, 15, 10, 30);
+
+    @Mock
+    private AccommodationRepository accommodationRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private ResourceVersionService resourceVersionService;
+
+    @Test
+    @DisplayName("Should date the accommodation page by its latest part and tag it with a weak ETag")
+    void getAccommodationDetailVersion_LatestPart_LastModified() {
+        // Arrange
+        LocalDateTime lastComment = UPDATED_AT.plusHours(2);
+        when(accommodationRepository.findDetailUpdatedAtById(1L)).thenReturn(List.<Object[]>of(
+                new Object[]{UPDATED_AT, UPDATED_AT.minusDays(1), null, lastComment, UPDATED_AT.minusDays(3)}));
+
+        // Act
+        Optional<ResourceVersion> version = resourceVersionService.getAccommodationDetailVersion(1L);
+
+        // Assert
+        assertThat(version).isPresent();
+        assertThat(version.get().lastModified())
+                .isEqualTo(lastComment.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        assertThat(version.get().etag()).startsWith("W/\"").endsWith("\"");
+    }
+
+    @Test
+    @DisplayName("Should change the ETag when a part changes without moving the latest date")
+    void getAccommodationDetailVersion_OlderPartChanged_NewEtag() {
+        // Arrange
+        LocalDateTime lastComment = UPDATED_AT.plusHours(2);
+        when(accommodationRepository.findDetailUpdatedAtById(1L)).thenReturn(
+                List.<Object[]>of(new Object[]{UPDATED_AT, UPDATED_AT, null, lastComment, null}),
+                List.<Object[]>of(new Object[]{UPDATED_AT, UPDATED_AT.plusHours(1), null, lastComment, null}));
+
+        // Act
+        ResourceVersion before = resourceVersionService.getAccommodationDetailVersion(1L).orElseThrow();
+        ResourceVersion after = resourceVersionService.getAccommodationDetailVersion(1L).orElseThrow();
+
+        // Assert
+        assertThat(after.lastModified()).isEqualTo(before.lastModified());
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+    }
+
+    @Test
+    @DisplayName("Should give different resources with the same dates different ETags")
+    void versions_SameDates_DifferentEtags() {
+        // Arrange
+        when(accommodationRepository.findContentUpdatedAtById(1L)).thenReturn(Optional.of(UPDATED_AT));
+        when(accommodationRepository.findLastContentUpdatedAt()).thenReturn(UPDATED_AT);
+
+        // Act
+        ResourceVersion accommodation = resourceVersionService.getAccommodationVersion(1L).orElseThrow();
+        ResourceVersion listing = resourceVersionService.getListingVersion().orElseThrow();
+
+        // Assert
+        assertThat(accommodation.lastModified()).isEqualTo(listing.lastModified());
+        assertThat(accommodation.etag()).isNotEqualTo(listing.etag());
+    }
+
+    @Test
+    @DisplayName("Should have no version for missing resources or the comments of another user")
+    void versions_NotFound_Empty() {
+        // Arrange
+        when(accommodationRepository.findDetailUpdatedAtById(1L)).thenReturn(List.of());
+        when(accommodationRepository.findLastContentUpdatedAt()).thenReturn(null);
+        when(commentRepository.findUserFeedUpdatedAt(2L, "otro@example.com")).thenReturn(List.of());
+        when(userRepository.findProfileUpdatedAtById(3L)).thenReturn(List.of());
+
+        // Act & Assert
+        assertThat(resourceVersionService.getAccommodationDetailVersion(1L)).isEmpty();
+        assertThat(resourceVersionService.getListingVersion()).isEmpty();
+        assertThat(resourceVersionService.getUserCommentsVersion(2L, "otro@example.com")).isEmpty();
+        assertThat(resourceVersionService.getProfileVersion(3L)).isEmpty();
+    }
+}
@@ -0,0 +1,116 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.model.RevokedToken;
+import edu.uniquindio.stayhub.api.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, transactionManager, meterRegistry,
+                Duration.ofMinutes(1), 1000, 0.001);
+    }
+
+    @Test
+    @DisplayName("Should clear tokens that were never revoked without querying the database")
+    void isRevoked_NotRevoked_NoDatabaseQuery() {
+        // Act & Assert
+        for (int i = 0; i < 100; i++) {
+            assertThat(tokenRevocationService.isRevoked("jti-" + i)).isFalse();
+        }
+        assertThat(tokenRevocationService.isRevoked(null)).isFalse();
+        verify(revokedTokenRepository, never()).existsById(anyString());
+        assertThat(meterRegistry.get("stayhub.tokens.revocation.checks").tag("result", "clear")
+                .counter().count()).isEqualTo(101.0);
+    }
+
+    @Test
+    @DisplayName("Should persist a revocation and reject the token, confirming it once against the database")
+    void revoke_TokenRejected() {
+        // Arrange
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        JwtService.ParsedToken token = new JwtService.ParsedToken("user@stayhub.com", 1L, "GUEST", 0, expiration, "jti-1");
+        when(revokedTokenRepository.existsById("jti-1")).thenReturn(true);
+        ArgumentCaptor<RevokedToken> captor = ArgumentCaptor.forClass(RevokedToken.class);
+
+        // Act
+        tokenRevocationService.revoke(token);
+
+        // Assert
+        verify(revokedTokenRepository).save(captor.capture());
+        assertThat(captor.getValue().getJti()).isEqualTo("jti-1");
+        assertThat(captor.getValue().getUserId()).isEqualTo(1L);
+        assertThat(tokenRevocationService.isRevoked("jti-1")).isTrue();
+        assertThat(tokenRevocationService.isRevoked("jti-1")).isTrue();
+        verify(revokedTokenRepository, times(1)).existsById("jti-1");
+    }
+
+    @Test
+    @DisplayName("Should apply revocations made on other nodes on refresh, looking back by the overlap")
+    void refresh_LoadsRevocationsFromOtherNodes() {
+        // Arrange
+        when(revokedTokenRepository.findJtisRevokedSince(any(), any())).thenReturn(List.of("jti-remote"));
+        when(revokedTokenRepository.existsById("jti-remote")).thenReturn(true);
+        ArgumentCaptor<LocalDateTime> sinceCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        LocalDateTime beforeRefresh = LocalDateTime.now();
+
+        // Act
+        tokenRevocationService.refresh();
+
+        // Assert
+        assertThat(tokenRevocationService.isRevoked("jti-remote")).isTrue();
+        verify(revokedTokenRepository).findJtisRevokedSince(sinceCaptor.capture(), any());
+        assertThat(sinceCaptor.getValue()).isBefore(beforeRefresh.minusSeconds(59));
+    }
+
+    @Test
+    @DisplayName("Should delete expired revocations and rebuild the filter from the active ones")
+    void rebuild_DropsExpiredRevocations() {
+        // Arrange
+        tokenRevocationService.revoke(new JwtService.ParsedToken("user@stayhub.com", 1L, "GUEST", 0,
+                new Date(System.currentTimeMillis() + 60_000), "jti-expired"));
+        when(revokedTokenRepository.deleteExpired(any())).thenReturn(1);
+        when(revokedTokenRepository.findActiveJtis(any())).thenReturn(List.of("jti-active"));
+        when(revokedTokenRepository.existsById("jti-active")).thenReturn(true);
+
+        // Act
+        tokenRevocationService.rebuild();
+
+        // Assert
+        assertThat(tokenRevocationService.isRevoked("jti-active")).isTrue();
+        assertThat(tokenRevocationService.isRevoked("jti-expired")).isFalse();
+        verify(revokedTokenRepository, never()).existsById("jti-expired");
+    }
+}
@@ -0,0 +1,82 @@
+package edu.uniquindio.stayhub.api.service;
+
+import edu.uniquindio.stayhub.api.model.User;
+import edu.uniquindio.stayhub.api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenVersionServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenVersionService tokenVersionService;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersionService = new TokenVersionService(userRepository, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should accept tokens of users that were never revoked, including tokens without a version")
+    void isCurrent_NeverRevoked_ReturnsTrue() {
+        assertThat(tokenVersionService.isCurrent(1L, 0)).isTrue();
+        assertThat(tokenVersionService.isCurrent(1L, null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject tokens issued before a revocation and accept the new ones")
+    void revokeAll_OldTokenRejected_NewTokenAccepted() {
+        // Arrange
+        User user = new User();
+        user.setId(1L);
+        user.setTokenVersion(2);
+
+        // Act
+        tokenVersionService.revokeAll(user);
+
+        // Assert
+        assertThat(user.getTokenVersion()).isEqualTo(3);
+        assertThat(tokenVersionService.isCurrent(1L, 2)).isFalse();
+        assertThat(tokenVersionService.isCurrent(1L, null)).isFalse();
+        assertThat(tokenVersionService.isCurrent(1L, 3)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should apply revocations made on other nodes on refresh, looking back by the overlap")
+    void refresh_LoadsChangedVersions() {
+        // Arrange
+        when(userRepository.findTokenVersionsChangedSince(any()))
+                .thenReturn(List.<Object[]>of(new Object[]{5L, 1}), List.<Object[]>of(new Object[]{6L, 4}));
+        ArgumentCaptor<LocalDateTime> sinceCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+
+        // Act
+        tokenVersionService.load();
+        LocalDateTime beforeSecondRefresh = LocalDateTime.now();
+        tokenVersionService.refresh();
+
+        // Assert
+        assertThat(tokenVersionService.isCurrent(5L, 0)).isFalse();
+        assertThat(tokenVersionService.isCurrent(6L, 3)).isFalse();
+        assertThat(tokenVersionService.isCurrent(6L, 4)).isTrue();
+        verify(userRepository, times(2)).findTokenVersionsChangedSince(sinceCaptor.capture());
+        assertThat(sinceCaptor.getAllValues().get(0)).isEqualTo(LocalDateTime.of(1970, 1, 1, 0, 0));
+        assertThat(sinceCaptor.getAllValues().get(1)).isBefore(beforeSecondRefresh.minusSeconds(59));
+    }
+}
@@ -1,5 +1,6 @@
 package edu.uniquindio.stayhub.api.service;
 
+import edu.uniquindio.stayhub.api.config.UserPrincipalCache;
 import edu.uniquindio.stayhub.api.dto.auth.TokenResponseDTO;
 import edu.uniquindio.stayhub.api.dto.auth.passwordReset.PasswordResetRequestDTO;
 import edu.uniquindio.stayhub.api.dto.auth.passwordReset.ResetPasswordDTO;
@@ -10,6 +11,7 @@ import edu.uniquindio.stayhub.api.dto.user.UserResponseDTO;
 import edu.uniquindio.stayhub.api.exception.EmailAlreadyExistsException;
 import edu.uniquindio.stayhub.api.exception.InvalidPasswordException;
 import edu.uniquindio.stayhub.api.exception.InvalidTokenException;
+import edu.uniquindio.stayhub.api.exception.TooManyRequestsException;
 import edu.uniquindio.stayhub.api.exception.UserNotFoundException;
 import edu.uniquindio.stayhub.api.mapper.UserMapper;
 import edu.uniquindio.stayhub.api.model.PasswordResetToken;
@@ -24,12 +26,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -39,6 +46,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -54,12 +62,17 @@ public class UserServiceTest {
     @Mock private UserMapper userMapper;
     @Mock private JwtService jwtService;
     @Mock private EmailService emailService;
+    @Mock private TokenVersionService tokenVersionService;
+    @Mock private LoginAttemptService loginAttemptService;
+    @Mock private TokenRevocationService tokenRevocationService;
+    @Spy private UserPrincipalCache userPrincipalCache = new UserPrincipalCache(Duration.ofMinutes(5), 100, new SimpleMeterRegistry());
 
     @InjectMocks private UserService userService;
 
     private User user;
     private final Long userId = 1L;
     private final String email = "test@user.com";
+    private final String clientIp = "203.0.113.7";
     private final String rawPassword = "password123";
     private final String encodedPassword = "$2a$10$encodedhash";
 
@@ -68,6 +81,7 @@ public class UserServiceTest {
         user = new User();
         user.setId(userId);
         user.setEmail(email);
+        user.setName("Test User");
         user.setPassword(encodedPassword);
         user.setRole(Role.GUEST);
     }
@@ -103,6 +117,36 @@ public class UserServiceTest {
                 .hasMessageContaining("Usuario no encontrado con email");
     }
 
+    @Test
+    @DisplayName("Should serve repeated lookups of the same user from the principal cache")
+    void loadUserByUsername_RepeatedLookups_HitDatabaseOnce() {
+        // Arrange
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+
+        // Act
+        UserDetails first = userService.loadUserByUsername(email);
+        UserDetails second = userService.loadUserByUsername(email);
+
+        // Assert
+        assertThat(second.getUsername()).isEqualTo(first.getUsername());
+        assertThat(second).isNotSameAs(first);
+        verify(userRepository, times(1)).findByEmail(email);
+    }
+
+    @Test
+    @DisplayName("Should not cache a user that does not exist")
+    void loadUserByUsername_NotFound_IsNotCached() {
+        // Arrange
+        when(userRepository.findByEmail(email)).thenReturn(Optional.empty(), Optional.of(user));
+
+        // Act
+        assertThatThrownBy(() -> userService.loadUserByUsername(email)).isInstanceOf(UsernameNotFoundException.class);
+        UserDetails userDetails = userService.loadUserByUsername(email);
+
+        // Assert
+        assertThat(userDetails.getUsername()).isEqualTo(email);
+    }
+
     // ----------------------------------------------------------------------
     // Tests para registerUser
     // ----------------------------------------------------------------------
@@ -149,6 +193,19 @@ public class UserServiceTest {
         verify(userRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Should reject registering an administrator")
+    void registerUser_Admin_ThrowsException() {
+        // Arrange
+        UserRegistrationDTO registrationDTO = new UserRegistrationDTO("Test", email, rawPassword, Role.ADMIN);
+        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.registerUser(registrationDTO))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(userRepository, never()).save(any());
+    }
+
     // ----------------------------------------------------------------------
     // Tests para loginUser
     // ----------------------------------------------------------------------
@@ -165,10 +222,11 @@ public class UserServiceTest {
         when(jwtService.generateToken(user)).thenReturn(token);
 
         // Act
-        TokenResponseDTO result = userService.loginUser(loginDTO);
+        TokenResponseDTO result = userService.loginUser(loginDTO, clientIp);
 
         // Assert
         assertThat(result.getToken()).isEqualTo(token);
+        verify(loginAttemptService).recordSuccess(email);
     }
 
     @Test
@@ -179,10 +237,11 @@ public class UserServiceTest {
         when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> userService.loginUser(loginDTO))
+        assertThatThrownBy(() -> userService.loginUser(loginDTO, clientIp))
                 .isInstanceOf(UserNotFoundException.class)
                 .hasMessageContaining("Usuario no encontrado");
         verify(jwtService, never()).generateToken((User) any());
+        verify(loginAttemptService).recordFailure(email, clientIp);
     }
 
     @Test
@@ -194,10 +253,26 @@ public class UserServiceTest {
         when(passwordEncoder.matches(rawPassword, encodedPassword)).thenReturn(false);
 
         // Act & Assert
-        assertThatThrownBy(() -> userService.loginUser(loginDTO))
+        assertThatThrownBy(() -> userService.loginUser(loginDTO, clientIp))
                 .isInstanceOf(InvalidPasswordException.class)
                 .hasMessageContaining("Correo electrónico o contraseña incorrectos");
         verify(jwtService, never()).generateToken((User) any());
+        verify(loginAttemptService).recordFailure(email, clientIp);
+    }
+
+    @Test
+    @DisplayName("Should reject blocked login attempts before looking up the user or hashing the password")
+    void loginUser_Blocked_RejectedBeforeHashing() {
+        // Arrange
+        UserLoginDTO loginDTO = new UserLoginDTO(email, rawPassword);
+        doThrow(new TooManyRequestsException("Demasiados intentos fallidos", 30))
+                .when(loginAttemptService).checkAllowed(email, clientIp);
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.loginUser(loginDTO, clientIp))
+                .isInstanceOf(TooManyRequestsException.class);
+        verify(userRepository, never()).findByEmail(any());
+        verify(passwordEncoder, never()).matches(any(), any());
     }
 
     // ----------------------------------------------------------------------
@@ -225,6 +300,7 @@ public class UserServiceTest {
         verify(userMapper, times(1)).updateUser(updateDTO, user);
         verify(userMapper, times(1)).updateHostProfile(updateDTO, user);
         verify(userRepository, times(1)).save(user);
+        verify(userPrincipalCache, times(1)).invalidate(email);
     }
 
     @Test
@@ -254,7 +330,7 @@ public class UserServiceTest {
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
         when(passwordResetTokenRepository.countByUserAndUsedFalse(user)).thenReturn(0L);
         when(passwordResetTokenRepository.save(any(PasswordResetToken.class))).thenAnswer(i -> i.getArgument(0));
-        doNothing().when(emailService).sendPasswordResetEmail(eq(email), anyString());
+        doNothing().when(emailService).sendPasswordResetEmail(eq(email), anyString(), any());
 
         // Usamos Mockito.mockStatic para interceptar LocalDateTime.now()
         try (MockedStatic<LocalDateTime> mockedStatic = mockStatic(LocalDateTime.class)) {
@@ -266,7 +342,7 @@ public class UserServiceTest {
             // Assert
             verify(passwordResetTokenRepository, times(1)).deleteByUser(user);
             verify(passwordResetTokenRepository, times(1)).save(any(PasswordResetToken.class));
-            verify(emailService, times(1)).sendPasswordResetEmail(eq(email), anyString());
+            verify(emailService, times(1)).sendPasswordResetEmail(eq(email), anyString(), any());
         }
     }
 
@@ -296,7 +372,7 @@ public class UserServiceTest {
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("Demasiadas solicitudes de restablecimiento");
         verify(passwordResetTokenRepository, never()).deleteByUser(any());
-        verify(emailService, never()).sendPasswordResetEmail(anyString(), anyString());
+        verify(emailService, never()).sendPasswordResetEmail(anyString(), anyString(), any());
     }
 
     // ----------------------------------------------------------------------
@@ -326,6 +402,8 @@ public class UserServiceTest {
         verify(passwordEncoder, times(1)).encode(newPassword);
         verify(userRepository, times(1)).save(user);
         verify(passwordResetTokenRepository, times(1)).save(resetToken);
+        verify(userPrincipalCache, times(1)).invalidate(email);
+        verify(tokenVersionService, times(1)).revokeAll(user);
         assertThat(resetToken.isUsed()).isTrue();
     }
 
@@ -364,6 +442,72 @@ public class UserServiceTest {
         verify(userRepository, never()).save(any());
     }
 
+    // ----------------------------------------------------------------------
+    // Tests para logoutAll
+    // ----------------------------------------------------------------------
+
+    @Test
+    @DisplayName("Should revoke every token of the user and save the new token version")
+    void logoutAll_Success() {
+        // Arrange
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+
+        // Act
+        userService.logoutAll(email);
+
+        // Assert
+        verify(tokenVersionService, times(1)).revokeAll(user);
+        verify(userRepository, times(1)).save(user);
+    }
+
+    @Test
+    @DisplayName("Should throw UserNotFoundException when logging out a non-existent user")
+    void logoutAll_UserNotFound_ThrowsException() {
+        // Arrange
+        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.logoutAll(email))
+                .isInstanceOf(UserNotFoundException.class);
+        verify(tokenVersionService, never()).revokeAll(any());
+    }
+
+    // ----------------------------------------------------------------------
+    // Tests para logout
+    // ----------------------------------------------------------------------
+
+    @Test
+    @DisplayName("Should revoke only the token used for the request")
+    void logout_TokenWithId_RevokesToken() {
+        // Arrange
+        JwtService.ParsedToken parsedToken = new JwtService.ParsedToken(email, userId, "GUEST", 0,
+                new Date(System.currentTimeMillis() + 60_000), "jti-1");
+        when(jwtService.parse("raw.jwt.token")).thenReturn(parsedToken);
+
+        // Act
+        userService.logout("raw.jwt.token");
+
+        // Assert
+        verify(tokenRevocationService, times(1)).revoke(parsedToken);
+        verify(tokenVersionService, never()).revokeAll(any());
+    }
+
+    @Test
+    @DisplayName("Should revoke every token of the user when the token has no ID")
+    void logout_TokenWithoutId_RevokesAllTokens() {
+        // Arrange
+        when(jwtService.parse("raw.jwt.token")).thenReturn(new JwtService.ParsedToken(email, userId, "GUEST", 0,
+                new Date(System.currentTimeMillis() + 60_000), null));
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+
+        // Act
+        userService.logout("raw.jwt.token");
+
+        // Assert
+        verify(tokenRevocationService, never()).revoke(any());
+        verify(tokenVersionService, times(1)).revokeAll(user);
+    }
+
     // ----------------------------------------------------------------------
     // Tests para getProfile
     // ----------------------------------------------------------------------